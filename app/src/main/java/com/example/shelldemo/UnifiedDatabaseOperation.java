@@ -7,28 +7,61 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.regex.Pattern;
 
 import com.example.shelldemo.parser.SqlScriptParser;
-import com.example.shelldemo.parser.SqlScriptParser.StoredProcedureInfo;
+import com.example.shelldemo.parser.SqlStatementList;
+import com.example.shelldemo.parser.SqlStatementReader;
 import com.example.shelldemo.exception.DatabaseException;
 import com.example.shelldemo.exception.DatabaseException.ErrorType;
 import com.example.shelldemo.exception.ParseException;
+import com.example.shelldemo.exception.BatchProcessingException;
 import com.example.shelldemo.connection.DatabaseConnectionFactory;
 import com.example.shelldemo.connection.ConnectionConfig;
+import com.example.shelldemo.connection.ConnectionPool;
+import com.example.shelldemo.connection.SnapshotCoordinator;
 import com.example.shelldemo.config.ConfigurationHolder;
+import com.example.shelldemo.config.FetchSettings;
+import com.example.shelldemo.config.VendorConfig;
 import com.example.shelldemo.validate.DatabaserOperationValidator;
+import com.example.shelldemo.spi.BulkLoadSource;
+import com.example.shelldemo.spi.DatabaseVendor;
+import com.example.shelldemo.spi.DatabaseVendorRegistry;
 
 import com.example.shelldemo.sqlhandling.ResultSetProcessor;
 import com.example.shelldemo.sqlhandling.DatabaseErrorHandler;
 import com.example.shelldemo.sqlhandling.BatchExecutor;
+import com.example.shelldemo.sqlhandling.BatchOptions;
+import com.example.shelldemo.sqlhandling.BatchCheckpoint;
+import com.example.shelldemo.sqlhandling.ConcurrentBatchProcessor;
+import com.example.shelldemo.sqlhandling.ProcedureCallRegistry;
+import com.example.shelldemo.sqlhandling.ColumnarBulkSource;
+import com.example.shelldemo.sqlhandling.ColumnarFileReader;
+import com.example.shelldemo.sqlhandling.CsvBulkSource;
+import com.example.shelldemo.sqlhandling.StatementCache;
 import com.example.shelldemo.sqlhandling.StatementExecutor;
 import com.example.shelldemo.sqlhandling.DatabaseConfig;
 import com.example.shelldemo.sqlhandling.ResultSetStreamer;
+import com.example.shelldemo.sqlhandling.TableOutputHandler;
+import com.example.shelldemo.sqlhandling.CsvOutputHandler;
+import com.example.shelldemo.sqlhandling.ColumnarOutputHandler;
+import com.example.shelldemo.sqlhandling.ResultSetProcessor.ResultSetProcessingException;
+import com.example.shelldemo.sqlhandling.StatementPipeline;
+import com.example.shelldemo.sqlhandling.StatementGraph;
+import com.example.shelldemo.sqlhandling.ParallelScriptExecutor;
+import com.example.shelldemo.sqlhandling.PageIterator;
+import com.example.shelldemo.sqlhandling.KeyRangePartitioner;
+import com.example.shelldemo.sqlhandling.KeyRangePartitioner.KeyRange;
 
 
 /**
@@ -41,26 +74,52 @@ public class UnifiedDatabaseOperation implements AutoCloseable {
     private static final Logger logger = LogManager.getLogger(UnifiedDatabaseOperation.class);
     
     private final Connection connection;
+    private final ConnectionConfig connectionConfig;
     private final StatementExecutor statementExecutor;
-    private final BatchExecutor batchExecutor;
     private final DatabaseErrorHandler errorHandler;
     private final ResultSetProcessor resultSetProcessor;
     private final String dbType;
+    private final DatabaseVendor vendor;
+    private final VendorConfig vendorConfig;
+    private final FetchSettings fetchSettings;
+    private final ProcedureCallRegistry procedureCalls;
+    private final StatementCache statementCache;
 
     private static final int DEFAULT_BATCH_SIZE = 1000;
+    private static final Pattern ROW_LIMIT_PATTERN = Pattern.compile("\\b(?:LIMIT|OFFSET|FETCH)\\b", Pattern.CASE_INSENSITIVE);
 
     // Dedicated logger for result set output
     private static final Logger resultSetLogger = LogManager.getLogger("com.example.shelldemo.resultset");
+    private final ResultSetStreamer queryOutput;
+    private final boolean nativeExport;
+    private final Path outputFile;
+    private final boolean partitionFiles;
+    private final boolean columnarOutput;
+    private final boolean consistentSnapshot;
 
     /**
      * Use UnifiedDatabaseOperationBuilder to construct instances.
      */
     private UnifiedDatabaseOperation(DatabaseConfig config) {
         this.dbType = config.getDbType().toLowerCase();
+        this.vendor = DatabaseVendorRegistry.getVendorOrThrow(dbType);
+        this.vendorConfig = ConfigurationHolder.getInstance().getVendorConfig(dbType);
+        this.fetchSettings = config.getFetchSize() > 0
+            ? vendorConfig.fetch().withFetchSize(config.getFetchSize())
+            : vendorConfig.fetch();
+        this.procedureCalls = new ProcedureCallRegistry(vendorConfig.sqlTemplate("procedure"));
         DatabaseConnectionFactory connectionFactory = new DatabaseConnectionFactory();
         
+        Connection opened = null;
         try {
-            ConnectionConfig connConfig = ConnectionConfig.builder()
+            this.nativeExport = config.isNativeExport();
+            this.partitionFiles = config.isPartitionFiles();
+            this.columnarOutput = config.getColumnarOutputFile() != null;
+            this.consistentSnapshot = config.isConsistentSnapshot();
+            this.outputFile = config.getCsvOutputFile() != null ? Path.of(config.getCsvOutputFile())
+                : config.getColumnarOutputFile() != null ? Path.of(config.getColumnarOutputFile())
+                : null;
+            this.connectionConfig = ConnectionConfig.builder()
                 .dbType(config.getDbType())
                 .host(config.getHost())
                 .port(config.getPort())
@@ -70,40 +129,71 @@ public class UnifiedDatabaseOperation implements AutoCloseable {
                 .connectionType(config.getConnectionType())
                 .build();
             
-            this.connection = connectionFactory.createConnection(connConfig);
-            this.statementExecutor = new StatementExecutor(connection, new DatabaserOperationValidator(dbType));
-            this.batchExecutor = new BatchExecutor(connection);
+            opened = config.getConnectionPool() != null
+                ? config.getConnectionPool().borrow()
+                : connectionFactory.createConnection(connectionConfig);
+            this.connection = opened;
+            this.statementCache = config.getStatementCacheSize() > 0
+                ? new StatementCache(connection, config.getStatementCacheSize())
+                : null;
+            this.statementExecutor = new StatementExecutor(connection, new DatabaserOperationValidator(dbType),
+                statementCache);
             this.errorHandler = new DatabaseErrorHandler(dbType);
             this.resultSetProcessor = new ResultSetProcessor();
+            // Opened last, so a failed connection leaves an existing output file untouched
+            this.queryOutput = openQueryOutput(config);
             
             logger.info("Database operation initialized successfully for {}", this.dbType);
+        } catch (IOException e) {
+            closeAfterFailure(opened, e);
+            throw new DatabaseException("Failed to open query output file", e, ErrorType.CONFIG_INVALID);
         } catch (SQLException e) {
+            closeAfterFailure(opened, e);
             String errorMessage = "Failed to create database connection";
             logger.error(errorMessage, e);
             throw new DatabaseException(errorMessage, e, ErrorType.CONN_FAILED);
+        } catch (RuntimeException e) {
+            closeAfterFailure(opened, e);
+            throw e;
+        }
+    }
+
+    private static void closeAfterFailure(Connection opened, Exception failure) {
+        if (opened == null) {
+            return;
+        }
+        try {
+            opened.close();
+        } catch (SQLException closeEx) {
+            failure.addSuppressed(closeEx);
         }
     }
 
+    private static ResultSetStreamer openQueryOutput(DatabaseConfig config) throws IOException {
+        if (config.getCsvOutputFile() != null && config.getColumnarOutputFile() != null) {
+            throw new IllegalArgumentException("Only one of CSV and columnar output can be specified");
+        }
+        if (config.isPartitionFiles()) {
+            // Each key range opens its own file next to the configured one
+            return new TableOutputHandler(resultSetLogger);
+        }
+        if (config.getCsvOutputFile() != null) {
+            return new CsvOutputHandler(Path.of(config.getCsvOutputFile()));
+        }
+        if (config.getColumnarOutputFile() != null) {
+            return new ColumnarOutputHandler(Path.of(config.getColumnarOutputFile()));
+        }
+        return new TableOutputHandler(resultSetLogger);
+    }
+
     @FunctionalInterface
     public interface SqlFunction<T> {
         T apply(Connection conn) throws SQLException;
     }
 
-    private StoredProcedureInfo parseStoredProcedure(String procedureName) {
-        try {
-            return SqlScriptParser.parseStoredProcedure(procedureName);
-        } catch (IllegalArgumentException e) {
-            throw new DatabaseException(
-                "Failed to parse stored procedure: " + procedureName,
-                e,
-                ErrorType.PARSE_PROCEDURE
-            );
-        }
-    }
-    
-    private Map<Integer, String> parseScriptFile(File scriptFile) {
+    private SqlStatementList parseScriptFile(File scriptFile) {
         try {
-            Map<Integer, String> parsedScripts = SqlScriptParser.parseSqlFile(scriptFile);
+            SqlStatementList parsedScripts = SqlScriptParser.parseSqlFile(scriptFile);
             logger.debug("Found {} SQL statements in script", parsedScripts.size());
             return parsedScripts;
         } catch (DatabaseException e) {
@@ -138,6 +228,14 @@ public class UnifiedDatabaseOperation implements AutoCloseable {
                 logger.error("Failed to roll back transaction after error", rollbackEx);
             }
             throw errorHandler.handleSQLException(e, "transaction");
+        } catch (RuntimeException e) {
+            try {
+                connection.rollback();
+                logger.warn("Transaction rolled back due to error");
+            } catch (SQLException rollbackEx) {
+                logger.error("Failed to roll back transaction after error", rollbackEx);
+            }
+            throw e;
         } finally {
             try {
                 connection.setAutoCommit(originalAutoCommit);
@@ -150,73 +248,114 @@ public class UnifiedDatabaseOperation implements AutoCloseable {
     public List<Map<String, Object>> executeQuery(String sql, int pageSize, int pageNumber, Object... params) {
         logger.debug("Executing paginated query: {} with page size: {} and page number: {}", sql, pageSize, pageNumber);
         String paginatedSql = addPagination(sql, pageSize, pageNumber);
-        return execute(conn -> {
+        // Prepared statements are forward-only and read-only by default, as streaming needs
+        return execute(conn -> statementExecutor.withPreparedStatement(paginatedSql, stmt -> {
+            for (int i = 0; i < params.length; i++) {
+                stmt.setObject(i + 1, params[i]);
+            }
+            applyFetchSettings(stmt);
+
             List<Map<String, Object>> results = new ArrayList<>();
-            try (PreparedStatement stmt = conn.prepareStatement(paginatedSql)) {
-                for (int i = 0; i < params.length; i++) {
-                    stmt.setObject(i + 1, params[i]);
-                }
-                
-                try (ResultSet rs = stmt.executeQuery()) {
-                    while (rs.next()) {
-                        results.add(resultSetProcessor.processRow(rs));
-                    }
-                    logger.debug("Query returned {} rows for page {}", results.size(), pageNumber);
+            try (ResultSet rs = stmt.executeQuery()) {
+                adaptFetchSize(rs);
+                while (rs.next()) {
+                    results.add(resultSetProcessor.processRow(rs));
                 }
+                logger.debug("Query returned {} rows for page {}", results.size(), pageNumber);
             }
             return results;
-        });
+        }));
     }
 
     public List<Map<String, Object>> executeQuery(String sql, Object... params) {
         return executeQuery(sql, DEFAULT_BATCH_SIZE, 1, params);
     }
 
+    /**
+     * Returns the pages of a query using keyset pagination on the given key columns,
+     * so each page costs the same however deep into the result it is.
+     * See {@link PageIterator} for what the query and keys must satisfy.
+     *
+     * @param sql the query, without ORDER BY or row limit
+     * @param keyColumns select-list columns that are non-null and unique together
+     * @param pageSize maximum rows per page
+     * @param params bind values of the query
+     */
+    public PageIterator pages(String sql, List<String> keyColumns, int pageSize, Object... params) {
+        return new PageIterator(connection, vendor, stripTrailingSemicolon(sql), keyColumns, pageSize, params);
+    }
+
     public int executeUpdate(String sql, Object... params) {
         logger.debug("Executing update: {}", sql);
-        return execute(conn -> {
-            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-                for (int i = 0; i < params.length; i++) {
-                    stmt.setObject(i + 1, params[i]);
-                }
-                int affected = stmt.executeUpdate();
-                logger.debug("Update affected {} rows", affected);
-                return affected;
+        return execute(conn -> statementExecutor.withPreparedStatement(sql, stmt -> {
+            for (int i = 0; i < params.length; i++) {
+                stmt.setObject(i + 1, params[i]);
             }
-        });
+            int affected = stmt.executeUpdate();
+            logger.debug("Update affected {} rows", affected);
+            return affected;
+        }));
     }
 
+    /**
+     * Calls a stored procedure or function through the vendor procedure template.
+     *
+     * @param procedureName a plain or qualified name, or a {@code CREATE} definition
+     */
     public Object callStoredProcedure(String procedureName, Object... params) {
         logger.debug("Calling stored procedure: {} with {} parameters", procedureName, params.length);
-        return execute(conn -> {
-            StoredProcedureInfo procInfo = parseStoredProcedure(procedureName);
-            String template = ConfigurationHolder.getInstance().getSqlTemplate(dbType, "procedure");
-            String paramPlaceholders = String.join(",", java.util.Collections.nCopies(params.length, "?"));
-            String callString = String.format(template, procInfo.name(), paramPlaceholders);
-            logger.debug("Prepared procedure call: {}", callString);
+        String callString = procedureCalls.callString(procedureName, params.length);
+        return execute(conn -> statementExecutor.withCallableStatement(callString, stmt -> {
+            for (int i = 0; i < params.length; i++) {
+                stmt.setObject(i + 1, params[i]);
+            }
             
-            try (var stmt = conn.prepareCall(callString)) {
-                for (int i = 0; i < params.length; i++) {
-                    stmt.setObject(i + 1, params[i]);
-                }
-                
-                boolean hasResultSet = stmt.execute();
-                if (hasResultSet) {
-                    logger.debug("Procedure returned a result set");
-                    return stmt.getResultSet();
-                } else {
-                    int updateCount = stmt.getUpdateCount();
-                    logger.debug("Procedure affected {} rows", updateCount);
-                    return updateCount;
+            boolean hasResultSet = stmt.execute();
+            if (hasResultSet) {
+                logger.debug("Procedure returned a result set");
+                return stmt.getResultSet();
+            } else {
+                int updateCount = stmt.getUpdateCount();
+                logger.debug("Procedure affected {} rows", updateCount);
+                return updateCount;
+            }
+        }));
+    }
+
+    /**
+     * Calls a stored procedure once per parameter row as a single JDBC batch, in one
+     * transaction. Every row must have the same number of parameters; procedures with
+     * OUT parameters or return values cannot be batched.
+     *
+     * @param procedureName a plain or qualified name, or a {@code CREATE} definition
+     * @return the update count of each call, as reported by the driver
+     */
+    public int[] callStoredProcedureBatch(String procedureName, List<Object[]> paramRows) {
+        if (paramRows.isEmpty()) {
+            return new int[0];
+        }
+        int paramCount = paramRows.get(0).length;
+        if (paramRows.stream().anyMatch(row -> row.length != paramCount)) {
+            throw new IllegalArgumentException("Every call in a procedure batch needs " + paramCount + " parameters");
+        }
+        logger.debug("Calling stored procedure {} in a batch of {} calls", procedureName, paramRows.size());
+        String callString = procedureCalls.batchCallString(procedureName, paramCount);
+        return execute(conn -> executeInTransaction(tx -> statementExecutor.withCallableStatement(callString, stmt -> {
+            for (Object[] row : paramRows) {
+                for (int i = 0; i < row.length; i++) {
+                    stmt.setObject(i + 1, row[i]);
                 }
+                stmt.addBatch();
             }
-        });
+            int[] counts = stmt.executeBatch();
+            logger.debug("Procedure batch executed {} calls", counts.length);
+            return counts;
+        })));
     }
 
     public Object executeStoredProcedure(String procedureName, boolean isFunction, Object... params) {
         logger.info("Executing stored procedure: {}", procedureName);
-        StoredProcedureInfo procInfo = parseStoredProcedure(procedureName);
-        Object result = callStoredProcedure(procInfo.name(), params);
+        Object result = callStoredProcedure(procedureName, params);
         
         if (isFunction) {
             logger.info("Function execution successful, result: {}", result);
@@ -232,10 +371,10 @@ public class UnifiedDatabaseOperation implements AutoCloseable {
     }
 
     public void executeScript(File scriptFile, boolean transactional) {
-        Map<Integer, String> parsedScripts = parseScriptFile(scriptFile);
+        SqlStatementList parsedScripts = parseScriptFile(scriptFile);
         List<String> dmlStatements = new ArrayList<>();
         List<String> otherStatements = new ArrayList<>();
-        for (String sql : parsedScripts.values()) {
+        for (String sql : parsedScripts.texts()) {
             if (isDmlStatement(sql)) {
                 dmlStatements.add(sql);
             } else {
@@ -246,6 +385,256 @@ public class UnifiedDatabaseOperation implements AutoCloseable {
         executeDmlStatements(dmlStatements, transactional);
     }
 
+    /**
+     * Executes a script while it is still being parsed.
+     * A background parser feeds a bounded queue and statements run in script order
+     * as soon as they are available, so the first statement does not wait for the
+     * whole file to be parsed.
+     *
+     * @param scriptFile the script to execute
+     * @param transactional whether to run all statements in a single transaction
+     */
+    public void executeScriptPipelined(File scriptFile, boolean transactional) {
+        executeScriptPipelined(scriptFile, transactional, StatementPipeline.DEFAULT_CAPACITY);
+    }
+
+    public void executeScriptPipelined(File scriptFile, boolean transactional, int queueCapacity) {
+        logger.info("Executing script in pipelined mode: {}", scriptFile.getAbsolutePath());
+        StatementPipeline pipeline = new StatementPipeline(queueCapacity);
+        SqlFunction<Integer> run = conn -> pipeline.run(openScriptReader(scriptFile),
+            statement -> executeSingleStatement(statement.getText()));
+        try {
+            int executed = transactional ? executeInTransaction(run) : run.apply(connection);
+            logger.info("Pipelined execution completed - {} statements executed", executed);
+        } catch (SQLException e) {
+            logger.error("Failed to execute script in pipelined mode", e);
+            throw new DatabaseException("Failed to execute script: " + scriptFile.getName(), e, ErrorType.OP_QUERY);
+        }
+    }
+
+    /**
+     * Executes a script on several connections at once.
+     * Statements that name the same tables, and any DDL, PL/SQL or other statement
+     * whose effects cannot be analyzed, keep their script order; independent DML runs
+     * concurrently. Each statement commits on its own. Dependencies through views,
+     * synonyms, triggers and foreign keys are not detected, see
+     * {@link com.example.shelldemo.parser.TableAccess}.
+     *
+     * @param scriptFile the script to execute
+     * @param parallelism maximum number of connections and concurrently running statements
+     */
+    public void executeScriptParallel(File scriptFile, int parallelism) {
+        logger.info("Executing script in parallel mode: {}", scriptFile.getAbsolutePath());
+        StatementGraph graph = StatementGraph.build(parseScriptFile(scriptFile));
+        ConnectionPool.Builder poolSettings = ConnectionPool.builder().maxSize(parallelism);
+        try (ConnectionPool pool = new DatabaseConnectionFactory().createPool(connectionConfig, poolSettings)) {
+            int executed = new ParallelScriptExecutor(pool, parallelism).execute(graph, conn -> {
+                StatementExecutor executor = new StatementExecutor(conn, new DatabaserOperationValidator(dbType));
+                return statement -> executeSingleStatement(executor, statement.getText());
+            });
+            logger.info("Parallel execution completed - {} statements executed", executed);
+        } catch (SQLException e) {
+            logger.error("Failed to execute script in parallel mode", e);
+            throw new DatabaseException("Failed to execute script: " + scriptFile.getName(), e, ErrorType.OP_QUERY);
+        }
+    }
+
+    /**
+     * Exports the single query of a script on several pooled connections, reading it in
+     * ranges of a numeric or date split column, see {@link KeyRangePartitioner}. The
+     * column's MIN and MAX are read first, then each range is queried and streamed on
+     * its own connection. With partition files every range is written to its own file,
+     * named after the output file with {@code .partN} before its extension; otherwise
+     * the ranges are written to temporary CSV files beside the CSV output and appended
+     * to it in key order under one header line.
+     *
+     * <p>Without a consistent snapshot the ranges are read in separate transactions, so
+     * rows changed during the export may be missed or read twice.</p>
+     *
+     * @param splitColumn a numeric, date or timestamp column of the query's result
+     * @param partitions number of key ranges, besides the range of NULL keys
+     * @param parallelism maximum number of connections and concurrently read ranges
+     */
+    public void exportPartitioned(File scriptFile, String splitColumn, int partitions, int parallelism) {
+        KeyRangePartitioner partitioner = new KeyRangePartitioner(parseSingleQuery(scriptFile), splitColumn);
+        exportParts(conn -> {
+            List<ExportPart> parts = readKeyRanges(conn, partitioner, partitions).stream()
+                .map(range -> new ExportPart(partitioner.rangeSql(range), range.parameters()))
+                .toList();
+            logger.info("Exporting {} key ranges of {} on up to {} connections", parts.size(), splitColumn, parallelism);
+            return parts;
+        }, parallelism);
+    }
+
+    /**
+     * Exports all rows of a table on several pooled connections, reading it in chunks of
+     * its storage cut by the vendor, see {@link DatabaseVendor#physicalChunks}. Unlike key
+     * ranges, the chunks are of even size whatever the distribution of the keys and
+     * need no index. Output files are written as by {@link #exportPartitioned}.
+     *
+     * @param table the table, optionally schema-qualified
+     * @param chunks number of chunks to cut the table into
+     * @param parallelism maximum number of connections and concurrently read chunks
+     */
+    public void exportTableChunks(String table, int chunks, int parallelism) {
+        exportParts(conn -> {
+            List<ExportPart> parts = vendor.physicalChunks(conn, table, chunks).stream()
+                .map(chunk -> new ExportPart("SELECT * FROM " + table + " WHERE " + chunk.predicate(), chunk.parameters()))
+                .toList();
+            logger.info("Exporting {} in {} physical chunks on up to {} connections", table, parts.size(), parallelism);
+            return parts;
+        }, parallelism);
+    }
+
+    /**
+     * One query of a partitioned export, with the values of its parameters.
+     */
+    private record ExportPart(String sql, List<Object> parameters) {}
+
+    /**
+     * Plans the parts on a reader connection, so that with a consistent snapshot the
+     * plan sees the same data as the parts, then reads the parts in parallel.
+     */
+    private void exportParts(SqlFunction<List<ExportPart>> planParts, int parallelism) {
+        if (outputFile == null) {
+            throw new IllegalStateException("Partitioned export needs a CSV or columnar output file");
+        }
+        if (!partitionFiles && !(queryOutput instanceof CsvOutputHandler)) {
+            throw new IllegalStateException("Only CSV output can be merged; write columnar output as partition files");
+        }
+        List<Path> files = new ArrayList<>();
+        // The snapshot coordinator holds one more connection for as long as the readers run
+        ConnectionPool.Builder poolSettings = ConnectionPool.builder()
+            .maxSize(consistentSnapshot ? parallelism + 1 : parallelism);
+        try (ConnectionPool pool = new DatabaseConnectionFactory().createPool(connectionConfig, poolSettings);
+             SnapshotCoordinator snapshot = consistentSnapshot ? new SnapshotCoordinator(pool, vendor) : null) {
+            ConnectionPool.ConnectionSource readers = snapshot != null ? snapshot::borrow : pool::borrow;
+            List<ExportPart> parts;
+            try (Connection conn = readers.connect()) {
+                parts = planParts.apply(conn);
+            }
+            for (int i = 1; i <= parts.size(); i++) {
+                files.add(partitionFiles
+                    ? partitionFile(outputFile, i)
+                    : Files.createTempFile(outputFile.toAbsolutePath().getParent(), ".partition-", ".csv"));
+            }
+            ConcurrentBatchProcessor<Integer> processor = new ConcurrentBatchProcessor<>(1,
+                batch -> exportPart(readers, parts.get(batch.get(0)), files.get(batch.get(0))),
+                parallelism);
+            try {
+                for (int i = 0; i < parts.size(); i++) {
+                    processor.add(i);
+                }
+            } finally {
+                // close() waits for running parts and throws the failure of the first part in order
+                processor.close();
+            }
+            if (!partitionFiles) {
+                CsvOutputHandler csv = (CsvOutputHandler) queryOutput;
+                for (int i = 0; i < files.size(); i++) {
+                    csv.appendFile(files.get(i), i > 0);
+                }
+            }
+            logger.info("Partitioned export completed - {} parts written", parts.size());
+        } catch (SQLException e) {
+            throw new DatabaseException("Failed to export query in parts", e, ErrorType.OP_QUERY);
+        } catch (IOException e) {
+            throw new DatabaseException("Failed to write query results", e, ErrorType.OP_QUERY);
+        } finally {
+            if (!partitionFiles) {
+                deleteQuietly(files);
+            }
+        }
+    }
+
+    private String parseSingleQuery(File scriptFile) {
+        List<String> statements = parseScriptFile(scriptFile).texts();
+        if (statements.size() != 1 || !isQueryStatement(statements.get(0))) {
+            throw new IllegalArgumentException("Partitioned export needs a script holding exactly one query");
+        }
+        return stripTrailingSemicolon(statements.get(0));
+    }
+
+    private List<KeyRange> readKeyRanges(Connection conn, KeyRangePartitioner partitioner, int partitions)
+            throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(partitioner.boundsSql())) {
+            rs.next();
+            Object min = rs.getObject(1);
+            Object max = rs.getObject(2);
+            logger.debug("Split column ranges from {} to {}", min, max);
+            return KeyRangePartitioner.split(min, max, partitions);
+        }
+    }
+
+    /**
+     * Streams the rows of one part on a reader connection into its own file.
+     */
+    private void exportPart(ConnectionPool.ConnectionSource readers, ExportPart part, Path file)
+            throws BatchProcessingException {
+        try (Connection conn = readers.connect();
+             PreparedStatement stmt = conn.prepareStatement(part.sql(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            if (vendor.requiresTransactionForStreaming()) {
+                // The pool or snapshot rolls back and restores auto-commit when the connection is closed
+                conn.setAutoCommit(false);
+            }
+            applyFetchSettings(stmt);
+            for (int i = 0; i < part.parameters().size(); i++) {
+                stmt.setObject(i + 1, part.parameters().get(i));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                adaptFetchSize(rs);
+                writePartition(rs, file);
+            }
+            logger.debug("Exported {} {} into {}", part.sql(), part.parameters(), file);
+        } catch (SQLException | IOException e) {
+            throw new BatchProcessingException(
+                String.format("Failed to export %s %s: %s", part.sql(), part.parameters(), e.getMessage()), e, 1, -1);
+        }
+    }
+
+    private void writePartition(ResultSet rs, Path file) throws SQLException, IOException {
+        if (columnarOutput) {
+            try (ColumnarOutputHandler out = new ColumnarOutputHandler(file)) {
+                out.stream(rs, DEFAULT_BATCH_SIZE);
+            }
+        } else {
+            try (CsvOutputHandler out = new CsvOutputHandler(file)) {
+                out.stream(rs, DEFAULT_BATCH_SIZE);
+            }
+        }
+    }
+
+    /**
+     * Inserts {@code .partN} before the extensions of a file name, so that
+     * {@code orders.csv.gz} becomes {@code orders.part3.csv.gz}.
+     */
+    static Path partitionFile(Path file, int partition) {
+        String name = file.getFileName().toString();
+        int dot = name.indexOf('.', 1);
+        String partitioned = dot < 0
+            ? name + ".part" + partition
+            : name.substring(0, dot) + ".part" + partition + name.substring(dot);
+        return file.resolveSibling(partitioned);
+    }
+
+    private static void deleteQuietly(List<Path> files) {
+        for (Path file : files) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                logger.warn("Failed to delete temporary partition file {}", file, e);
+            }
+        }
+    }
+
+    private SqlStatementReader openScriptReader(File scriptFile) {
+        if (scriptFile == null || !scriptFile.isFile()) {
+            throw new ParseException("Script file does not exist", scriptFile != null ? scriptFile.getPath() : "null");
+        }
+        return SqlStatementReader.open(scriptFile);
+    }
+
     private void executeNonTransactionalStatements(List<String> statements) {
         for (String sql : statements) {
             logger.info("Executing non-transactional statement: {}", sql);
@@ -285,20 +674,37 @@ public class UnifiedDatabaseOperation implements AutoCloseable {
 
 
     private void executeSingleStatement(String sql) {
+        executeSingleStatement(statementExecutor, sql);
+    }
+
+    private void executeSingleStatement(StatementExecutor executor, String sql) {
         try {
-            String sqlToExecute = statementExecutor.isPLSQL(sql)
+            String sqlToExecute = executor.isPLSQL(sql)
                 ? sql
                 : stripTrailingSemicolon(sql);
     
-            statementExecutor.executeStatement(sqlToExecute, (stmt, sqlStatement) -> {
-                if (stmt.execute(sqlStatement)) {
-                    try (ResultSet rs = stmt.getResultSet()) {
-                        List<Map<String, Object>> results = resultSetProcessor.processResultSet(rs);
-                        printQueryResults(results);
+            executor.executeStatement(sqlToExecute, (stmt, sqlStatement) -> {
+                Connection conn = stmt.getConnection();
+                boolean streamInTransaction = vendor.requiresTransactionForStreaming()
+                    && isQueryStatement(sqlStatement) && conn.getAutoCommit();
+                if (!streamInTransaction) {
+                    executeAndStream(stmt, sqlStatement);
+                    return;
+                }
+                // The driver only streams rows with auto-commit off
+                conn.setAutoCommit(false);
+                try {
+                    executeAndStream(stmt, sqlStatement);
+                    conn.commit();
+                } catch (SQLException | RuntimeException e) {
+                    try {
+                        conn.rollback();
+                    } catch (SQLException rollbackEx) {
+                        e.addSuppressed(rollbackEx);
                     }
-                } else {
-                    int affected = stmt.getUpdateCount();
-                    logger.info("Statement affected {} rows", affected);
+                    throw e;
+                } finally {
+                    conn.setAutoCommit(true);
                 }
             });
         } catch (SQLException e) {
@@ -316,60 +722,140 @@ public class UnifiedDatabaseOperation implements AutoCloseable {
         }
     }
 
-    private void printQueryResults(List<Map<String, Object>> results) {
-        if (results.isEmpty()) {
-            logger.info("No results.");
+
+
+
+    /**
+     * Executes a statement with the vendor's streaming fetch settings and writes any
+     * result set to the query output while its rows are read.
+     */
+    private void executeAndStream(Statement stmt, String sql) throws SQLException {
+        if (nativeExport && queryOutput instanceof CsvOutputHandler csv && isQueryStatement(sql)
+                && exportNatively(stmt.getConnection(), csv, sql)) {
             return;
         }
-        StringBuilder output = new StringBuilder();
-        Map<String, Object> firstRow = results.get(0);
-        String[] headers = firstRow.keySet().toArray(new String[0]);
-        for (String header : headers) {
-            output.append(String.format("%-20s", header));
-        }
-        output.append(System.lineSeparator());
-        for (int i = 0; i < headers.length; i++) {
-            output.append("--------------------");
-        }
-        output.append(System.lineSeparator());
-        for (Map<String, Object> row : results) {
-            for (String header : headers) {
-                Object value = row.get(header);
-                output.append(String.format("%-20s", value != null ? value.toString() : "(null)"));
+        applyFetchSettings(stmt);
+        // A prepared statement already holds its SQL, and drivers may reject execute(String) on one
+        boolean hasResultSet = stmt instanceof PreparedStatement prepared ? prepared.execute() : stmt.execute(sql);
+        if (hasResultSet) {
+            // Parallel workers share the output, so one result set is written at a time
+            try (ResultSet rs = stmt.getResultSet()) {
+                adaptFetchSize(rs);
+                synchronized (queryOutput) {
+                    resultSetProcessor.streamResultSet(rs, queryOutput, DEFAULT_BATCH_SIZE);
+                }
+            } catch (IOException | ResultSetProcessingException e) {
+                throw new DatabaseException("Failed to write query results", e, ErrorType.OP_QUERY);
             }
-            output.append(System.lineSeparator());
+        } else {
+            int affected = stmt.getUpdateCount();
+            logger.info("Statement affected {} rows", affected);
         }
-        String table = System.lineSeparator() + output.toString() + System.lineSeparator();
-        resultSetLogger.info(table); // Only prints to console, not to file logs
     }
 
+    /**
+     * Writes a query to the CSV output through the vendor's native export.
+     *
+     * @return false if the vendor has none, and the query must be read through a cursor
+     */
+    private boolean exportNatively(Connection conn, CsvOutputHandler csv, String sql) throws SQLException {
+        try {
+            synchronized (queryOutput) {
+                return csv.append(writer -> vendor.exportCsv(conn, sql, writer)) >= 0;
+            }
+        } catch (IOException e) {
+            throw new DatabaseException("Failed to write query results", e, ErrorType.OP_QUERY);
+        }
+    }
 
+    private void applyFetchSettings(Statement stmt) throws SQLException {
+        vendor.configureStreaming(stmt, fetchSettings.fetchSize());
+        if (fetchSettings.lobPrefetchSize() > 0) {
+            vendor.configureLobPrefetch(stmt, fetchSettings.lobPrefetchSize());
+        }
+    }
 
+    /**
+     * In adaptive mode, resizes the remaining fetches of a result set to its row width.
+     */
+    private void adaptFetchSize(ResultSet rs) throws SQLException {
+        if (fetchSettings.adaptive()) {
+            int adapted = fetchSettings.fetchSizeFor(rs.getMetaData());
+            logger.debug("Adaptive fetch size: {} rows", adapted);
+            vendor.adjustFetchSize(rs, adapted);
+        }
+    }
+
+    private boolean isQueryStatement(String sql) {
+        String trimmed = sql.trim().toLowerCase();
+        return trimmed.startsWith("select") || trimmed.startsWith("with");
+    }
+
+    /**
+     * Loads a CSV or columnar file into an existing table in one transaction, through
+     * the vendor's native bulk path where it has one, see {@link DatabaseVendor#bulkLoad}.
+     * Columnar files are recognized by their header and anything else is read as CSV.
+     *
+     * @param file the data file; its column names must be columns of the table
+     * @param table the target table, optionally schema-qualified
+     * @param batchSize rows sent per round-trip where the vendor path is batched
+     * @return the number of rows loaded
+     */
+    public long importFile(Path file, String table, int batchSize) {
+        logger.info("Bulk loading {} into {}", file, table);
+        try (BulkLoadSource source = ColumnarFileReader.isColumnarFile(file)
+                ? new ColumnarBulkSource(file)
+                : new CsvBulkSource(file)) {
+            long rows = execute(conn -> executeInTransaction(tx -> {
+                try {
+                    return vendor.bulkLoad(tx, table, source, batchSize);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+            logger.info("Bulk loaded {} rows into {}", rows, table);
+            return rows;
+        } catch (IOException | UncheckedIOException e) {
+            throw new DatabaseException("Failed to read bulk load file: " + file, e, ErrorType.OP_BATCH);
+        }
+    }
 
     public void executeDmlScriptWithBatching(File scriptFile, boolean printStatements) {
+        executeDmlScriptWithBatching(scriptFile, printStatements, BatchOptions.DEFAULTS);
+    }
+
+    /**
+     * Executes the DML statements of a script in batches, committing in chunks as set by
+     * {@code options}. On failure only the uncommitted chunk is rolled back; with a
+     * checkpoint file a rerun of the same script resumes after the last commit.
+     */
+    public void executeDmlScriptWithBatching(File scriptFile, boolean printStatements, BatchOptions options) {
         logger.info("Executing DML script with batching: {}", scriptFile.getAbsolutePath());
-        
-        List<String> statements = new ArrayList<>(parseScriptFile(scriptFile).values());
-        logger.debug("Found {} SQL statements in script", statements.size());
-        
-        if (statements.isEmpty()) {
-            throw new IllegalArgumentException("SQL statements list cannot be empty");
+        List<String> batchableStatements = parseBatchableStatements(scriptFile);
+
+        BatchCheckpoint checkpoint = options.checkpointFile() != null
+            ? BatchCheckpoint.open(options.checkpointFile(), batchableStatements)
+            : null;
+        int fromIndex = checkpoint != null ? checkpoint.resumeIndex() : 0;
+        if (fromIndex > 0) {
+            logger.info("Resuming from checkpoint at statement {} of {}", fromIndex + 1, batchableStatements.size());
         }
 
-        List<String> batchableStatements = statements.stream()
-            .filter(sql -> !statementExecutor.isPLSQL(sql))
-            .toList();
-        
-        if (batchableStatements.isEmpty()) {
-            throw new IllegalStateException("No DML statements found. Use executeScript instead for PL/SQL blocks");
-        }
-        
+        BatchExecutor executor = new BatchExecutor(connection, vendor, options.batchSize(), options.batchBytes());
         try {
             executeInTransaction(conn -> {
-                int totalExecuted = executeBatch(batchableStatements, printStatements);
+                int totalExecuted = executor.executeCommitted(batchableStatements, fromIndex,
+                    options.commitInterval(), options.commitBytes(), printStatements, next -> {
+                        if (checkpoint != null) {
+                            checkpoint.save(next);
+                        }
+                    });
                 logger.info("Batch execution completed successfully - {} DML statements executed", totalExecuted);
                 return null;
             });
+            if (checkpoint != null) {
+                checkpoint.delete();
+            }
         } catch (SQLException e) {
             logger.error("Failed to execute batch statements", e);
             throw new DatabaseException(
@@ -380,36 +866,102 @@ public class UnifiedDatabaseOperation implements AutoCloseable {
         }
     }
 
-    private int executeBatch(List<String> sqlStatements, boolean printStatements) throws SQLException {
-        return batchExecutor.executeBatch(sqlStatements, printStatements);
+    /**
+     * Loads the DML statements of a script on several pooled connections. The statements
+     * are cut into batches of {@code options.batchSize()}, and each batch runs on its own
+     * connection and is committed on its own, so batches complete in no particular order.
+     * This suits bulk loads whose statements do not depend on each other. When batches
+     * fail, the earliest failing batch in script order is reported.
+     *
+     * @param parallelism maximum number of connections and concurrently running batches
+     */
+    public void executeDmlScriptParallel(File scriptFile, boolean printStatements, BatchOptions options,
+            int parallelism) {
+        if (options.checkpointFile() != null || options.commitsInChunks()) {
+            throw new IllegalArgumentException("Parallel batch loading commits per batch and cannot use a checkpoint or commit interval");
+        }
+        logger.info("Executing DML script with {} parallel batch loaders: {}", parallelism, scriptFile.getAbsolutePath());
+        List<String> batchableStatements = parseBatchableStatements(scriptFile);
+
+        ConnectionPool.Builder poolSettings = ConnectionPool.builder().maxSize(parallelism);
+        try (ConnectionPool pool = new DatabaseConnectionFactory().createPool(connectionConfig, poolSettings)) {
+            // Each item is already a whole batch, so the processor only schedules them
+            ConcurrentBatchProcessor<StatementRange> processor = new ConcurrentBatchProcessor<>(1,
+                batch -> loadBatch(pool, batchableStatements, batch.get(0), options, printStatements),
+                parallelism);
+            try {
+                int size = batchableStatements.size();
+                for (int from = 0; from < size; from += options.batchSize()) {
+                    processor.add(new StatementRange(from, Math.min(options.batchSize(), size - from)));
+                }
+            } finally {
+                // close() waits for running batches and throws the earliest failure in script order
+                processor.close();
+            }
+            logger.info("Parallel batch execution completed successfully - {} DML statements executed",
+                batchableStatements.size());
+        } catch (SQLException e) {
+            logger.error("Failed to execute batch statements in parallel", e);
+            throw new DatabaseException("Failed to execute DML script: " + scriptFile.getName(), e, ErrorType.OP_BATCH);
+        }
     }
 
-    public void executeQueryWithStreaming(String sql, ResultSetStreamer streamer, int batchSize, Object... params) throws SQLException, IOException {
-        try (PreparedStatement stmt = prepareStatement(sql, params);
-             ResultSet rs = stmt.executeQuery()) {
-            streamer.stream(rs, batchSize);
+    /**
+     * Consecutive statements of a script, starting at index {@code from}.
+     */
+    private record StatementRange(int from, int count) {}
+
+    /**
+     * Executes and commits one batch of consecutive statements on a pooled connection.
+     */
+    private void loadBatch(ConnectionPool pool, List<String> statements, StatementRange range,
+            BatchOptions options, boolean printStatements) throws BatchProcessingException {
+        int from = range.from();
+        int count = range.count();
+        try (Connection conn = pool.borrow()) {
+            conn.setAutoCommit(false);
+            new BatchExecutor(conn, vendor, options.batchSize(), options.batchBytes())
+                .executeBatch(statements.subList(from, from + count), printStatements);
+            conn.commit();
+            logger.debug("Committed statements {} to {}", from + 1, from + count);
+        } catch (SQLException e) {
+            throw new BatchProcessingException(
+                String.format("Failed to execute statements %d to %d: %s", from + 1, from + count, e.getMessage()),
+                e, count, -1);
         }
     }
 
+    private List<String> parseBatchableStatements(File scriptFile) {
+        List<String> statements = parseScriptFile(scriptFile).texts();
+        logger.debug("Found {} SQL statements in script", statements.size());
+        
+        if (statements.isEmpty()) {
+            throw new IllegalArgumentException("SQL statements list cannot be empty");
+        }
+
+        List<String> batchableStatements = statements.stream()
+            .filter(sql -> !statementExecutor.isPLSQL(sql))
+            .toList();
+        
+        if (batchableStatements.isEmpty()) {
+            throw new IllegalStateException("No DML statements found. Use executeScript instead for PL/SQL blocks");
+        }
+        return batchableStatements;
+    }
+
     public StatementExecutor getStatementExecutor() {
         return statementExecutor;
     }
 
+    /**
+     * Adds the vendor's row limit for one page. Skipping rows costs time proportional to
+     * the offset; use {@link #pages} to walk a large result.
+     */
     private String addPagination(String sql, int pageSize, int pageNumber) {
-        int offset = (pageNumber - 1) * pageSize;
-        if (sql.toLowerCase().contains("limit") || sql.toLowerCase().contains("offset")) {
-            throw new IllegalArgumentException("SQL query already contains LIMIT or OFFSET clause");
-        }
-        return String.format("%s LIMIT %d OFFSET %d", sql, pageSize, offset);
-    }
-
-    private PreparedStatement prepareStatement(String sql, Object... params) throws SQLException {
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            for (int i = 0; i < params.length; i++) {
-                stmt.setObject(i + 1, params[i]);
-            }
-            return stmt;
+        if (ROW_LIMIT_PATTERN.matcher(sql).find()) {
+            throw new IllegalArgumentException("SQL query already contains a LIMIT, OFFSET or FETCH clause");
         }
+        return vendor.paginate(sql, (long) (pageNumber - 1) * pageSize, pageSize);
     }
 
     public static String stripTrailingSemicolon(String sql) {
@@ -423,6 +975,17 @@ public class UnifiedDatabaseOperation implements AutoCloseable {
 
     @Override
     public void close() {
+        if (queryOutput instanceof Closeable outputFile) {
+            try {
+                outputFile.close();
+            } catch (IOException e) {
+                logger.error("Failed to close query output file", e);
+            }
+        }
+        // Cached statements must not outlive a connection that goes back to a pool
+        if (statementCache != null) {
+            statementCache.close();
+        }
         try {
             if (connection != null && !connection.isClosed()) {
                 connection.close();
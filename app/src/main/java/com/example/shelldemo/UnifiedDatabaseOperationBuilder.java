@@ -1,5 +1,6 @@
 package com.example.shelldemo;
 
+import com.example.shelldemo.connection.ConnectionPool;
 import com.example.shelldemo.sqlhandling.DatabaseConfig;
 public class UnifiedDatabaseOperationBuilder {
     private String host;
@@ -9,6 +10,14 @@ public class UnifiedDatabaseOperationBuilder {
     private String dbType;
     private String connectionType;
     private String serviceName;
+    private int fetchSize;
+    private int statementCacheSize;
+    private boolean nativeExport;
+    private boolean partitionFiles;
+    private boolean consistentSnapshot;
+    private String csvOutputFile;
+    private String columnarOutputFile;
+    private ConnectionPool connectionPool;
 
     public UnifiedDatabaseOperationBuilder host(String host) { this.host = host; return this; }
     public UnifiedDatabaseOperationBuilder port(int port) { this.port = port; return this; }
@@ -17,6 +26,19 @@ public class UnifiedDatabaseOperationBuilder {
     public UnifiedDatabaseOperationBuilder dbType(String dbType) { this.dbType = dbType; return this; }
     public UnifiedDatabaseOperationBuilder connectionType(String connectionType) { this.connectionType = connectionType; return this; }
     public UnifiedDatabaseOperationBuilder serviceName(String serviceName) { this.serviceName = serviceName; return this; }
+    public UnifiedDatabaseOperationBuilder fetchSize(int fetchSize) { this.fetchSize = fetchSize; return this; }
+    /** Number of prepared statements kept open for reuse, or 0 to prepare every execution anew. */
+    public UnifiedDatabaseOperationBuilder statementCacheSize(int statementCacheSize) { this.statementCacheSize = statementCacheSize; return this; }
+    /** Lets the database write CSV output itself where it can, in its own value formats. */
+    public UnifiedDatabaseOperationBuilder nativeExport(boolean nativeExport) { this.nativeExport = nativeExport; return this; }
+    /** Writes a partitioned export to one output file per key range instead of the output file itself. */
+    public UnifiedDatabaseOperationBuilder partitionFiles(boolean partitionFiles) { this.partitionFiles = partitionFiles; return this; }
+    /** Lets all connections of a partitioned export read one consistent snapshot of the database. */
+    public UnifiedDatabaseOperationBuilder consistentSnapshot(boolean consistentSnapshot) { this.consistentSnapshot = consistentSnapshot; return this; }
+    public UnifiedDatabaseOperationBuilder csvOutput(String csvOutputFile) { this.csvOutputFile = csvOutputFile; return this; }
+    public UnifiedDatabaseOperationBuilder columnarOutput(String columnarOutputFile) { this.columnarOutputFile = columnarOutputFile; return this; }
+    /** Borrows the connection from a shared pool instead of opening a dedicated one. */
+    public UnifiedDatabaseOperationBuilder connectionPool(ConnectionPool connectionPool) { this.connectionPool = connectionPool; return this; }
 
     public UnifiedDatabaseOperation build() {
         DatabaseConfig config = new DatabaseConfig();
@@ -27,6 +49,14 @@ public class UnifiedDatabaseOperationBuilder {
         config.setPassword(password);
         config.setDatabase(serviceName);
         config.setConnectionType(connectionType);
+        config.setFetchSize(fetchSize);
+        config.setStatementCacheSize(statementCacheSize);
+        config.setNativeExport(nativeExport);
+        config.setPartitionFiles(partitionFiles);
+        config.setConsistentSnapshot(consistentSnapshot);
+        config.setCsvOutputFile(csvOutputFile);
+        config.setColumnarOutputFile(columnarOutputFile);
+        config.setConnectionPool(connectionPool);
         return UnifiedDatabaseOperation.create(config);
     }
 }
\ No newline at end of file
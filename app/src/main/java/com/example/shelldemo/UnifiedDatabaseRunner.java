@@ -1,6 +1,7 @@
 package com.example.shelldemo;
 
 import java.io.File;
+import java.nio.file.Path;
 import java.util.concurrent.Callable;
 import java.util.Scanner;
 import java.io.Console;
@@ -22,6 +23,7 @@ import com.example.shelldemo.vault.VaultSecretFetcherBuilder;
 import com.example.shelldemo.connection.ConnectionConfig;
 import com.example.shelldemo.connection.DatabaseConnectionFactory;
 import com.example.shelldemo.config.ConfigurationHolder;
+import com.example.shelldemo.sqlhandling.BatchOptions;
 import com.example.shelldemo.vault.exception.VaultException;
 
 
@@ -87,6 +89,13 @@ public class UnifiedDatabaseRunner implements Callable<Integer> {
     @Option(names = {"--csv-output"}, description = "Output file for CSV format (if query results exist)")
     private String csvOutputFile;
 
+    @Option(names = {"--native-export"}, description = "With --csv-output, let the database write the CSV itself where it can "
+        + "(PostgreSQL COPY TO STDOUT), skipping the JDBC cursor; values then use the database's text formats")
+    private boolean nativeExport;
+
+    @Option(names = {"--columnar-output"}, description = "Output file for column-oriented binary format (if query results exist)")
+    private String columnarOutputFile;
+
     @Option(names = {"--pre-flight"}, description = "Validate statements without executing them")
     private boolean preFlight;
 
@@ -96,6 +105,62 @@ public class UnifiedDatabaseRunner implements Callable<Integer> {
     @Option(names = {"--transactional"}, defaultValue = "false", description = "Execute DML statements in a transaction (default: false)")
     private boolean transactional;
 
+    @Option(names = {"--pipelined"}, defaultValue = "false", description = "Execute statements in script order while the script is still being parsed")
+    private boolean pipelined;
+
+    @Option(names = {"--parallelism"}, defaultValue = "1", description = "Execute independent script statements, or with --batch DML batches, on up to this many connections (default: 1). "
+        + "Independence is judged from table names in the statement text; views, triggers and foreign keys are not considered")
+    private int parallelism;
+
+    @Option(names = {"--batch"}, defaultValue = "false", description = "Execute the DML statements of the script in JDBC batches")
+    private boolean batch;
+
+    @Option(names = {"--batch-size"}, defaultValue = "1000", description = "Statements sent per batch round-trip (default: 1000)")
+    private int batchSize;
+
+    @Option(names = {"--batch-bytes"}, defaultValue = "0", description = "Characters of SQL text sent per batch round-trip, 0 for no limit (default: 0)")
+    private long batchBytes;
+
+    @Option(names = {"--commit-interval"}, defaultValue = "0", description = "Statements per commit in batch mode, 0 for a single transaction (default: 0)")
+    private int commitInterval;
+
+    @Option(names = {"--commit-bytes"}, defaultValue = "0", description = "Characters of SQL text per commit in batch mode, 0 for no limit (default: 0)")
+    private long commitBytes;
+
+    @Option(names = {"--checkpoint-file"}, description = "File recording the last committed statement in batch mode; a rerun resumes from it")
+    private String checkpointFile;
+
+    private BatchOptions batchOptions;
+
+    @Option(names = {"--import-table"}, description = "Bulk load TARGET, a CSV or columnar file, into this existing table "
+        + "through the database's native bulk path; --batch-size sets the rows per round-trip where the path is batched")
+    private String importTable;
+
+    @Option(names = {"--partition-by"}, description = "Export the single query of TARGET in key ranges of this numeric or date column, "
+        + "each range read on its own connection; needs --csv-output, or --columnar-output with --partition-files")
+    private String partitionBy;
+
+    @Option(names = {"--partition-physical"}, description = "Export all rows of the table named by TARGET in chunks of its storage "
+        + "(Oracle ROWID ranges, PostgreSQL ctid ranges), each read on its own connection; output as for --partition-by")
+    private boolean partitionPhysical;
+
+    @Option(names = {"--partitions"}, description = "Key ranges or chunks cut by --partition-by or --partition-physical (default: --parallelism)")
+    private int partitions;
+
+    @Option(names = {"--partition-files"}, description = "With --partition-by or --partition-physical, write each key range to its own file named after the "
+        + "output file with .partN before its extension, instead of merging the ranges into the output file")
+    private boolean partitionFiles;
+
+    @Option(names = {"--consistent-snapshot"}, description = "With --partition-by or --partition-physical, let all connections read one "
+        + "consistent image of the database (Oracle SCN flashback, PostgreSQL exported snapshot; SQL Server snapshot isolation per connection)")
+    private boolean consistentSnapshot;
+
+    @Option(names = {"--fetch-size"}, description = "Rows fetched per round-trip when streaming query results (default: fetch.size of the database type in application.yaml)")
+    private int fetchSize;
+
+    @Option(names = {"--statement-cache-size"}, defaultValue = "64", description = "Prepared statements kept open for reuse by SQL text, 0 to disable (default: 64)")
+    private int statementCacheSize;
+
     @Option(names = {"--show-connect-string"}, description = "Show the generated JDBC connection string and exit")
     private boolean showConnectString;
 
@@ -127,6 +192,11 @@ public class UnifiedDatabaseRunner implements Callable<Integer> {
             return 2;
         }
 
+        // Checked before connecting, which opens and truncates any output file
+        if (!validateBatchOptions() || !validateExecutionMode()) {
+            return 2;
+        }
+
         if (!setupPassword()) {
             return 2;
         }
@@ -154,6 +224,74 @@ public class UnifiedDatabaseRunner implements Callable<Integer> {
         return true;
     }
 
+    private boolean validateBatchOptions() {
+        if (!batch) {
+            return true;
+        }
+        try {
+            batchOptions = new BatchOptions(batchSize, batchBytes, commitInterval, commitBytes,
+                checkpointFile != null ? Path.of(checkpointFile) : null);
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid batch options: {}", e.getMessage());
+            return false;
+        }
+        return true;
+    }
+
+    private boolean validateExecutionMode() {
+        if (parallelism < 1) {
+            logger.error("--parallelism must be at least 1");
+            return false;
+        }
+        if (nativeExport && csvOutputFile == null) {
+            logger.error("--native-export requires --csv-output");
+            return false;
+        }
+        if (importTable != null && (batch || pipelined || transactional || parallelism > 1)) {
+            logger.error("--import-table cannot be combined with --batch, --pipelined, --transactional or --parallelism");
+            return false;
+        }
+        if (importTable != null && batchSize < 1) {
+            logger.error("--batch-size must be positive");
+            return false;
+        }
+        boolean partitioned = partitionBy != null || partitionPhysical;
+        if (partitionBy != null && partitionPhysical) {
+            logger.error("--partition-by cannot be combined with --partition-physical");
+            return false;
+        }
+        if (partitioned && (batch || pipelined || transactional || nativeExport || importTable != null)) {
+            logger.error("Partitioned export cannot be combined with --batch, --pipelined, --transactional, --native-export or --import-table");
+            return false;
+        }
+        if (partitioned && csvOutputFile == null && !(partitionFiles && columnarOutputFile != null)) {
+            logger.error("Partitioned export needs --csv-output, or --columnar-output with --partition-files");
+            return false;
+        }
+        if (!partitioned && (partitions != 0 || partitionFiles || consistentSnapshot)) {
+            logger.error("--partitions, --partition-files and --consistent-snapshot require --partition-by or --partition-physical");
+            return false;
+        }
+        if (partitions < 0) {
+            logger.error("--partitions must be positive");
+            return false;
+        }
+        if (batch && pipelined) {
+            logger.error("--batch cannot be combined with --pipelined");
+            return false;
+        }
+        if (parallelism > 1 && !batch && (transactional || pipelined)) {
+            logger.error("--parallelism cannot be combined with --transactional or --pipelined");
+            return false;
+        }
+        if (parallelism > 1 && batch && (batchOptions.checkpointFile() != null || batchOptions.commitsInChunks())) {
+            logger.error("--parallelism with --batch commits per batch and cannot be combined with "
+                + "--checkpoint-file, --commit-interval or --commit-bytes");
+            return false;
+        }
+        return true;
+    }
+
     private boolean setupPassword() {
         if (driverPath != null) {
             logger.info("Loading custom JDBC driver from: {}", driverPath);
@@ -238,6 +376,13 @@ public class UnifiedDatabaseRunner implements Callable<Integer> {
                 .dbType(dbType)
                 .serviceName(database)
                 .connectionType(connectionType)
+                .fetchSize(fetchSize)
+                .statementCacheSize(statementCacheSize)
+                .nativeExport(nativeExport)
+                .partitionFiles(partitionFiles)
+                .consistentSnapshot(consistentSnapshot)
+                .csvOutput(csvOutputFile)
+                .columnarOutput(columnarOutputFile)
                 .build()
             ) {
             File scriptFile = new File(target);
@@ -247,6 +392,20 @@ public class UnifiedDatabaseRunner implements Callable<Integer> {
                 return 2;
             }
 
+            if (partitionPhysical) {
+                operation.exportTableChunks(target, partitions > 0 ? partitions : parallelism, parallelism);
+                return 0;
+            }
+
+            if (importTable != null) {
+                if (!scriptFile.isFile()) {
+                    logger.error("File not found: {}", target);
+                    return 2;
+                }
+                operation.importFile(scriptFile.toPath(), importTable, batchSize);
+                return 0;
+            }
+
             if (!scriptFile.exists()) {
                 if (target.contains("/") || target.contains("\\")) {
                     logger.error("File not found: {}", target);
@@ -263,7 +422,21 @@ public class UnifiedDatabaseRunner implements Callable<Integer> {
             }
 
             logger.debug("Executing as script file: {}", scriptFile.getAbsolutePath());
-            operation.executeScript(scriptFile, transactional);
+            if (partitionBy != null) {
+                operation.exportPartitioned(scriptFile, partitionBy, partitions > 0 ? partitions : parallelism, parallelism);
+            } else if (batch) {
+                if (parallelism > 1) {
+                    operation.executeDmlScriptParallel(scriptFile, printStatements, batchOptions, parallelism);
+                } else {
+                    operation.executeDmlScriptWithBatching(scriptFile, printStatements, batchOptions);
+                }
+            } else if (parallelism > 1) {
+                operation.executeScriptParallel(scriptFile, parallelism);
+            } else if (pipelined) {
+                operation.executeScriptPipelined(scriptFile, transactional);
+            } else {
+                operation.executeScript(scriptFile, transactional);
+            }
             return 0;
         } catch (DatabaseOperationException e) {
             logger.error("Database operation failed: {}", e.getMessage(), e);
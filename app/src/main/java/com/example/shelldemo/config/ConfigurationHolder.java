@@ -24,10 +24,13 @@ public class ConfigurationHolder {
     
     private final Map<String, Object> config;
     private final Map<String, String> runtimeProperties;
+    private final Map<String, VendorConfig> vendorConfigs = new HashMap<>();
+    private final Map<String, Map<String, Object>> databaseConfigs = new HashMap<>();
 
     private ConfigurationHolder() {
         this.runtimeProperties = new ConcurrentHashMap<>();
         this.config = loadConfig();
+        bindDatabaseTypes();
         logger.info("ConfigurationHolder initialized successfully");
     }
 
@@ -84,53 +87,58 @@ public class ConfigurationHolder {
         return types != null ? types : Collections.emptyMap();
     }
 
+    /**
+     * Binds every database type once, so lookups never walk or copy the YAML tree.
+     */
     @SuppressWarnings("unchecked")
-    public Map<String, Object> getDatabaseConfig(String dbType) {
-        if (!isValidDbType(dbType)) {
+    private void bindDatabaseTypes() {
+        getDatabaseTypes().forEach((name, value) -> {
+            String dbType = name.toLowerCase();
+            Map<String, Object> yaml = value instanceof Map<?, ?> map ? (Map<String, Object>) map : Map.of();
+            databaseConfigs.put(dbType, Collections.unmodifiableMap(yaml));
+            vendorConfigs.put(dbType, VendorConfig.bind(dbType, yaml));
+        });
+    }
+
+    /**
+     * Returns the bound configuration of a database type.
+     *
+     * @throws DatabaseException if the database type is not configured
+     */
+    public VendorConfig getVendorConfig(String dbType) {
+        VendorConfig vendorConfig = dbType != null ? vendorConfigs.get(dbType.toLowerCase()) : null;
+        if (vendorConfig == null) {
             String errorMessage = "Invalid database type: " + dbType;
             logger.error(errorMessage);
             throw new DatabaseException(errorMessage, ErrorType.CONFIG_INVALID);
         }
-        
-        Map<String, Object> types = getDatabaseTypes();
-        return new HashMap<>((Map<String, Object>) types.get(dbType.toLowerCase()));
+        return vendorConfig;
+    }
+
+    /**
+     * Returns the raw, read-only YAML entry of a database type. Prefer
+     * {@link #getVendorConfig(String)}, which is already bound.
+     */
+    public Map<String, Object> getDatabaseConfig(String dbType) {
+        getVendorConfig(dbType);
+        return databaseConfigs.get(dbType.toLowerCase());
     }
 
-    @SuppressWarnings("unchecked")
     public String getJdbcClientTemplate(String dbType, String templateName) {
-        Map<String, Object> dbConfig = getDatabaseConfig(dbType);
-        Map<String, Object> templates = (Map<String, Object>) dbConfig.get("templates");
-        if (templates == null) return null;
-        
-        Map<String, Object> jdbcTemplates = (Map<String, Object>) templates.get("jdbc");
-        if (jdbcTemplates == null) return null;
-        
-        Object template = jdbcTemplates.get(templateName);
-        if (template == null) {
-            template = jdbcTemplates.get("defaultTemplate");
-        }
-        if (template == null) {
-            template = jdbcTemplates.get("default");
-        }
-        
-        return template != null ? template.toString() : null;
+        return getVendorConfig(dbType).jdbcTemplate(templateName);
     }
 
     public String getSqlTemplate(String dbType, String templateName) {
-        return getDatabaseTemplate(dbType, "sql", templateName);
+        return getVendorConfig(dbType).sqlTemplate(templateName);
     }
 
-    @SuppressWarnings("unchecked")
     public String getDatabaseTemplate(String dbType, String category, String templateName) {
-        Map<String, Object> dbConfig = getDatabaseConfig(dbType);
-        Map<String, Object> templates = (Map<String, Object>) dbConfig.get("templates");
-        if (templates == null) return null;
-        
-        Map<String, Object> categoryTemplates = (Map<String, Object>) templates.get(category);
-        if (categoryTemplates == null) return null;
-        
-        Object template = categoryTemplates.get(templateName);
-        return template != null ? template.toString() : null;
+        VendorConfig vendorConfig = getVendorConfig(dbType);
+        return switch (category) {
+            case "jdbc" -> vendorConfig.jdbcTemplates().get(templateName);
+            case "sql" -> vendorConfig.sqlTemplate(templateName);
+            default -> null;
+        };
     }
 
     public void setRuntimeProperty(String key, String value) {
@@ -146,28 +154,23 @@ public class ConfigurationHolder {
     }
 
     public boolean isValidDbType(String dbType) {
-        return dbType != null && getDatabaseTypes().containsKey(dbType.toLowerCase());
+        return dbType != null && vendorConfigs.containsKey(dbType.toLowerCase());
     }
 
     public int getDefaultPort(String dbType) {
-        Map<String, Object> dbConfig = getDatabaseConfig(dbType);
-        Object port = dbConfig.get("defaultPort");
-        return port instanceof Number number ? number.intValue() : 0;
+        return getVendorConfig(dbType).defaultPort();
+    }
+
+    /**
+     * Returns the fetch tuning of a database type, with {@link FetchSettings#DEFAULTS}
+     * for any value not configured.
+     */
+    public FetchSettings getFetchSettings(String dbType) {
+        return getVendorConfig(dbType).fetch();
     }
 
-    @SuppressWarnings("unchecked")
     public Map<String, String> getDatabaseProperties(String dbType) {
-        Map<String, Object> dbConfig = getDatabaseConfig(dbType);
-        Map<String, Object> properties = (Map<String, Object>) dbConfig.get("properties");
-        
-        if (properties == null) {
-            return Collections.emptyMap();
-        }
-        
-        // Convert all values to strings as required by the database properties
-        Map<String, String> stringProperties = new HashMap<>();
-        properties.forEach((key, value) -> stringProperties.put(key, value.toString()));
-        return stringProperties;
+        return getVendorConfig(dbType).properties();
     }
 
     @SuppressWarnings("unchecked")
@@ -0,0 +1,65 @@
+package com.example.shelldemo.config;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * Result set fetch tuning for a database type, read from the {@code fetch} section of
+ * its {@code application.yaml} entry.
+ *
+ * <p>{@code fetchSize} rows are requested per round-trip. With {@code adaptive} set, the
+ * fetch size of each result set is recomputed from the widths of its columns so that a
+ * round-trip carries about {@code targetFetchBytes}, never less than {@code fetchSize}
+ * rows and never more than {@code maxFetchSize}. Up to {@code lobPrefetchSize} bytes of
+ * each LOB are returned with its row where the driver supports it; 0 keeps the driver
+ * default.</p>
+ *
+ * @param fetchSize rows per round-trip, and the lower bound of adaptive sizing
+ * @param lobPrefetchSize LOB bytes returned with each row, or 0 for the driver default
+ * @param adaptive whether to size each result set's fetches from its row width
+ * @param maxFetchSize upper bound of adaptive sizing
+ * @param targetFetchBytes approximate bytes per round-trip aimed for by adaptive sizing
+ */
+public record FetchSettings(int fetchSize, int lobPrefetchSize, boolean adaptive, int maxFetchSize,
+        long targetFetchBytes) {
+
+    public static final FetchSettings DEFAULTS = new FetchSettings(1000, 0, false, 10_000, 4L << 20);
+
+    /** Width counted for a LOB column when no prefetch size is set: the locator only. */
+    private static final int LOB_LOCATOR_BYTES = 100;
+    /** Width counted at most for any other column, so unbounded types do not dominate. */
+    private static final int MAX_COLUMN_BYTES = 4000;
+
+    public FetchSettings {
+        if (fetchSize < 1 || maxFetchSize < fetchSize) {
+            throw new IllegalArgumentException("Fetch size must be positive and not above the maximum fetch size");
+        }
+        if (lobPrefetchSize < 0 || targetFetchBytes < 1) {
+            throw new IllegalArgumentException("LOB prefetch size must not be negative and target fetch bytes must be positive");
+        }
+    }
+
+    /**
+     * Returns these settings with another fetch size, raising the maximum if needed.
+     */
+    public FetchSettings withFetchSize(int size) {
+        return new FetchSettings(size, lobPrefetchSize, adaptive, Math.max(maxFetchSize, size), targetFetchBytes);
+    }
+
+    /**
+     * Returns the fetch size for a result set of the given columns, estimating each row
+     * from the declared column widths.
+     */
+    public int fetchSizeFor(ResultSetMetaData metaData) throws SQLException {
+        long rowBytes = 0;
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            rowBytes += switch (metaData.getColumnType(i)) {
+                case Types.BLOB, Types.CLOB, Types.NCLOB -> lobPrefetchSize > 0 ? lobPrefetchSize : LOB_LOCATOR_BYTES;
+                default -> Math.clamp(metaData.getColumnDisplaySize(i), 1, MAX_COLUMN_BYTES);
+            };
+        }
+        long rows = targetFetchBytes / Math.max(1, rowBytes);
+        return (int) Math.clamp(rows, fetchSize, maxFetchSize);
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.shelldemo.config;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.example.shelldemo.exception.DatabaseException;
+import com.example.shelldemo.exception.DatabaseException.ErrorType;
+
+/**
+ * Configuration of one database type, bound once from its {@code application.yaml} entry.
+ *
+ * <p>All maps are immutable and the error code pattern is compiled up front, so the
+ * lookups made while connecting, calling procedures and mapping errors neither walk
+ * nor copy the YAML tree. Numeric error codes are matched without leading zeros, so
+ * {@code ORA-01017} finds the mapping for {@code 1017}.</p>
+ *
+ * @param name the database type, in lower case
+ * @param defaultPort the port used when none is given, or 0
+ * @param defaultConnectionType the connection type used when none is given, or null
+ * @param jdbcTemplates JDBC URL templates by name
+ * @param ldap LDAP directory settings for {@code thin-ldap} connections, or null
+ * @param sqlTemplates SQL templates by dotted name, e.g. {@code procedure} or {@code validation.sql}
+ * @param properties extra JDBC connection properties
+ * @param fetch result set fetch tuning
+ * @param errorCodePattern pattern whose first group extracts the vendor error code from a message, or null
+ * @param errorMappings error types by vendor error code
+ */
+public record VendorConfig(
+    String name,
+    int defaultPort,
+    String defaultConnectionType,
+    Map<String, String> jdbcTemplates,
+    LdapConfig ldap,
+    Map<String, String> sqlTemplates,
+    Map<String, String> properties,
+    FetchSettings fetch,
+    Pattern errorCodePattern,
+    Map<String, ErrorType> errorMappings
+) {
+    private static final Logger logger = LogManager.getLogger(VendorConfig.class);
+
+    /**
+     * LDAP directory servers used to resolve Oracle services.
+     */
+    public record LdapConfig(List<String> servers, String context, int port) {}
+
+    /**
+     * Returns the named JDBC URL template, falling back to {@code defaultTemplate} and
+     * then {@code default}, or null if there is none.
+     */
+    public String jdbcTemplate(String templateName) {
+        String template = jdbcTemplates.get(templateName);
+        if (template == null) {
+            template = jdbcTemplates.get("defaultTemplate");
+        }
+        return template != null ? template : jdbcTemplates.get("default");
+    }
+
+    /**
+     * Returns the SQL template of the given dotted name, or null if there is none.
+     */
+    public String sqlTemplate(String templateName) {
+        return sqlTemplates.get(templateName);
+    }
+
+    /**
+     * Extracts the vendor error code from an error message, or returns null.
+     */
+    public String extractErrorCode(String message) {
+        if (errorCodePattern == null || message == null) {
+            return null;
+        }
+        Matcher matcher = errorCodePattern.matcher(message);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    /**
+     * Returns the error type mapped to a vendor error code, or null if it is not mapped.
+     */
+    public ErrorType errorType(String errorCode) {
+        return errorCode != null ? errorMappings.get(normalizeCode(errorCode)) : null;
+    }
+
+    /**
+     * Binds the YAML entry of a database type.
+     *
+     * @throws DatabaseException if a value has the wrong type
+     */
+    static VendorConfig bind(String name, Map<String, Object> yaml) {
+        Map<String, Object> defaults = section(name, yaml, "defaults");
+        Map<String, Object> templates = section(name, yaml, "templates");
+        Map<String, Object> error = section(name, yaml, "error");
+
+        Map<String, Object> ldapYaml = section(name, templates, "ldap");
+        LdapConfig ldap = null;
+        if (!ldapYaml.isEmpty()) {
+            Object servers = ldapYaml.get("servers");
+            ldap = new LdapConfig(
+                servers instanceof List<?> list ? list.stream().map(Object::toString).toList() : List.of(),
+                stringValue(name, ldapYaml, "context"),
+                intValue(name, ldapYaml, "port", 389));
+        }
+
+        Map<String, String> sqlTemplates = new HashMap<>();
+        flatten("", section(name, templates, "sql"), sqlTemplates);
+
+        String pattern = stringValue(name, error, "pattern");
+        Map<String, ErrorType> errorMappings = new HashMap<>();
+        section(name, error, "mappings").forEach((code, type) -> {
+            try {
+                errorMappings.put(normalizeCode(code), ErrorType.valueOf(type.toString()));
+            } catch (IllegalArgumentException e) {
+                logger.warn("Ignoring unknown error type {} mapped to {} error {}", type, name, code);
+            }
+        });
+
+        return new VendorConfig(
+            name,
+            intValue(name, defaults, "port", intValue(name, yaml, "defaultPort", 0)),
+            stringValue(name, defaults, "connection-type"),
+            strings(section(name, templates, "jdbc")),
+            ldap,
+            Map.copyOf(sqlTemplates),
+            strings(section(name, yaml, "properties")),
+            bindFetch(name, section(name, yaml, "fetch")),
+            pattern != null ? Pattern.compile(pattern) : null,
+            Map.copyOf(errorMappings));
+    }
+
+    private static FetchSettings bindFetch(String name, Map<String, Object> fetch) {
+        FetchSettings defaults = FetchSettings.DEFAULTS;
+        Object adaptive = fetch.get("adaptive");
+        return new FetchSettings(
+            intValue(name, fetch, "size", defaults.fetchSize()),
+            intValue(name, fetch, "lob-prefetch", defaults.lobPrefetchSize()),
+            adaptive != null ? Boolean.parseBoolean(adaptive.toString()) : defaults.adaptive(),
+            intValue(name, fetch, "max-size", defaults.maxFetchSize()),
+            longValue(name, fetch, "target-bytes", defaults.targetFetchBytes()));
+    }
+
+    /**
+     * Returns a nested section, or an empty map if it is missing or empty in the YAML.
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> section(String name, Map<String, Object> yaml, String key) {
+        return switch (yaml.get(key)) {
+            case null -> Map.of();
+            case Map<?, ?> map -> (Map<String, Object>) map;
+            default -> throw invalid(name, key, "a section");
+        };
+    }
+
+    private static int intValue(String name, Map<String, Object> yaml, String key, int fallback) {
+        return (int) longValue(name, yaml, key, fallback);
+    }
+
+    private static long longValue(String name, Map<String, Object> yaml, String key, long fallback) {
+        Object value = yaml.get(key);
+        if (value == null) {
+            return fallback;
+        }
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        try {
+            return Long.parseLong(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw invalid(name, key, "a number");
+        }
+    }
+
+    private static String stringValue(String name, Map<String, Object> yaml, String key) {
+        return switch (yaml.get(key)) {
+            case null -> null;
+            case String text -> text;
+            default -> throw invalid(name, key, "a string");
+        };
+    }
+
+    private static Map<String, String> strings(Map<String, Object> yaml) {
+        Map<String, String> strings = new HashMap<>();
+        yaml.forEach((key, value) -> {
+            if (value != null && !(value instanceof Map)) {
+                strings.put(key, value.toString());
+            }
+        });
+        return Map.copyOf(strings);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void flatten(String prefix, Map<String, Object> yaml, Map<String, String> out) {
+        yaml.forEach((key, value) -> {
+            String path = prefix.isEmpty() ? key : prefix + "." + key;
+            if (value instanceof Map<?, ?> nested) {
+                flatten(path, (Map<String, Object>) nested, out);
+            } else if (value != null) {
+                out.put(path, value.toString());
+            }
+        });
+    }
+
+    private static String normalizeCode(String code) {
+        int start = 0;
+        while (start < code.length() - 1 && code.charAt(start) == '0') {
+            start++;
+        }
+        return code.chars().allMatch(Character::isDigit) ? code.substring(start) : code;
+    }
+
+    private static DatabaseException invalid(String name, String key, String expected) {
+        return new DatabaseException(
+            String.format("Invalid '%s' configuration for %s: expected %s", key, name, expected),
+            ErrorType.CONFIG_INVALID);
+    }
+}
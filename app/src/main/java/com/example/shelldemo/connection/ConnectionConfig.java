@@ -1,12 +1,11 @@
 package com.example.shelldemo.connection;
 
-import java.util.Map;
-import java.util.HashMap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import com.example.shelldemo.exception.DatabaseException;
 import com.example.shelldemo.exception.DatabaseException.ErrorType;
 import com.example.shelldemo.config.ConfigurationHolder;
+import com.example.shelldemo.config.VendorConfig;
 
 /**
  * Immutable record for database connection configuration.
@@ -41,17 +40,9 @@ public record ConnectionConfig(
     public ConnectionConfig validateAndEnrich() {
         validateRequiredFields();
         
-        Map<String, Object> dbmsConfig = ConfigurationHolder.getInstance().getDatabaseConfig(dbType);
-        
-        if (dbmsConfig == null || dbmsConfig.isEmpty()) {
-            String errorMessage = "Invalid or unsupported database type: " + dbType;
-            logger.error(errorMessage);
-            throw new DatabaseException(errorMessage, ErrorType.CONFIG_INVALID);
-        }
-
-        Map<String, Object> defaults = getConfigMap(dbmsConfig, "defaults");
-        int enrichedPort = enrichPort(defaults, port);
-        String enrichedConnType = enrichConnectionType(defaults, connectionType);
+        VendorConfig vendorConfig = ConfigurationHolder.getInstance().getVendorConfig(dbType);
+        int enrichedPort = port <= 0 && vendorConfig.defaultPort() > 0 ? vendorConfig.defaultPort() : port;
+        String enrichedConnType = enrichConnectionType(vendorConfig, connectionType);
         
         return new ConnectionConfig(
             host, 
@@ -64,72 +55,14 @@ public record ConnectionConfig(
         );
     }
 
-    /**
-     * Helper method for getting configuration maps using pattern matching
-     */
-    @SuppressWarnings("unchecked")
-    public static Map<String, Object> getConfigMap(Object obj, String key) {
-        // Using Java 21 pattern matching for instanceof
-        if (obj instanceof Map<?,?> map) {
-            Object config = map.get(key);
-            if (config instanceof Map<?,?> configMap) {
-                return (Map<String, Object>)configMap;
-            }
-            
-            // If the key doesn't exist, return an empty map instead of throwing an exception
-            if ("defaults".equals(key)) {
-                logger.warn("Configuration section '{}' is missing - using empty defaults", key);
-                return new HashMap<>();
-            }
-        }
-        
-        throw new DatabaseException(
-            String.format("Required configuration section '%s' is missing or invalid", key),
-            ErrorType.CONFIG_NOT_FOUND
-        );
-    }
-
-    /**
-     * Calculate port enrichment without mutation
-     */
-    private int enrichPort(Map<String, Object> defaults, int currentPort) {
-        if (defaults.containsKey("port") && currentPort <= 0) {
-            Object portValue = defaults.get("port");
-            
-            // Using pattern matching for instanceof
-            if (portValue instanceof Number number) {
-                return number.intValue();
-            } else {
-                throw new DatabaseException(
-                    String.format("Invalid port configuration. Expected number but got: %s", 
-                        portValue != null ? portValue.getClass().getSimpleName() : "null"
-                    ),
-                    ErrorType.CONFIG_INVALID
-                );
-            }
-        }
-        return currentPort;
-    }
-
     /**
      * Calculate connection type enrichment without mutation
      */
-    private String enrichConnectionType(Map<String, Object> defaults, String currentConnType) {
-        if (defaults.containsKey("connection-type") && currentConnType == null) {
-            Object connType = defaults.get("connection-type");
-            
-            // Using pattern matching for instanceof
-            if (connType instanceof String defaultConnType) {
-                logger.info("No connection type specified, using default: {}", defaultConnType);
-                return defaultConnType;
-            } else {
-                throw new DatabaseException(
-                    String.format("Invalid connection-type configuration. Expected string but got: %s",
-                        connType != null ? connType.getClass().getSimpleName() : "null"
-                    ),
-                    ErrorType.CONFIG_INVALID
-                );
-            }
+    private String enrichConnectionType(VendorConfig vendorConfig, String currentConnType) {
+        String defaultConnType = vendorConfig.defaultConnectionType();
+        if (defaultConnType != null && currentConnType == null) {
+            logger.info("No connection type specified, using default: {}", defaultConnType);
+            return defaultConnType;
         }
         return currentConnType;
     }
@@ -0,0 +1,484 @@
+package com.example.shelldemo.connection;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Pool of physical database connections.
+ *
+ * <p>Borrowed connections are proxies whose {@code close()} returns the physical
+ * connection to the pool. Each physical connection is opened and session-initialized
+ * once, so callers only pay the connect, directory lookup and handshake cost when the
+ * pool grows. Idle connections are reused most-recently-used first and validated on
+ * borrow if they have been idle for a while. A background housekeeper evicts
+ * connections idle for longer than the idle timeout, keeps at least {@code minSize}
+ * connections open and reports connections held for longer than the leak detection
+ * threshold.</p>
+ *
+ * <p>Instances are created with {@link #builder()}, usually through
+ * {@link DatabaseConnectionFactory#createPool}.</p>
+ */
+public final class ConnectionPool implements AutoCloseable {
+    private static final Logger logger = LogManager.getLogger(ConnectionPool.class);
+
+    /** Connections used more recently than this are not validated on borrow. */
+    private static final long VALIDATION_BYPASS_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    /**
+     * Opens a new physical connection.
+     */
+    @FunctionalInterface
+    public interface ConnectionSource {
+        Connection connect() throws SQLException;
+    }
+
+    /**
+     * Prepares a newly opened physical connection, e.g. by setting session parameters.
+     */
+    @FunctionalInterface
+    public interface SessionInitializer {
+        void initialize(Connection connection) throws SQLException;
+    }
+
+    private final String name;
+    private final ConnectionSource source;
+    private final SessionInitializer initializer;
+    private final int minSize;
+    private final int maxSize;
+    private final long idleTimeoutNanos;
+    private final long borrowTimeoutNanos;
+    private final long leakThresholdNanos;
+    private final int validationTimeoutSeconds;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final ArrayDeque<PooledConnection> idle = new ArrayDeque<>();
+    private final Set<PooledConnection> borrowed = new HashSet<>();
+    private final ScheduledExecutorService housekeeper;
+    private int total;
+    private boolean closed;
+
+    private ConnectionPool(Builder builder) {
+        this.name = builder.name;
+        this.source = builder.source;
+        this.initializer = builder.initializer;
+        this.minSize = builder.minSize;
+        this.maxSize = builder.maxSize;
+        this.idleTimeoutNanos = builder.idleTimeout.toNanos();
+        this.borrowTimeoutNanos = builder.borrowTimeout.toNanos();
+        this.leakThresholdNanos = builder.leakDetectionThreshold.toNanos();
+        this.validationTimeoutSeconds = (int) Math.max(1, builder.validationTimeout.toSeconds());
+        long periodMillis = builder.housekeepingPeriod.toMillis();
+        if (periodMillis > 0) {
+            this.housekeeper = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name(name + "-housekeeper").factory());
+            housekeeper.scheduleWithFixedDelay(this::housekeep, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.housekeeper = null;
+        }
+    }
+
+    /**
+     * Returns a new builder for ConnectionPool.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Borrows a connection, opening a new one if none is idle and the pool is not full.
+     * Closing the returned connection gives it back to the pool.
+     *
+     * @return a connection owned by the caller until it is closed
+     * @throws SQLTimeoutException if the pool stays exhausted for the borrow timeout
+     * @throws SQLException if the pool is closed or a new connection cannot be opened
+     */
+    public Connection borrow() throws SQLException {
+        long deadline = System.nanoTime() + borrowTimeoutNanos;
+        while (true) {
+            PooledConnection pooled = takeIdleOrReserve(deadline);
+            if (pooled == null) {
+                pooled = open();
+            } else if (!isUsable(pooled)) {
+                logger.debug("Discarding invalid connection from pool {}", name);
+                discard(pooled);
+                continue;
+            }
+            return lend(pooled);
+        }
+    }
+
+    public int getTotalConnections() {
+        lock.lock();
+        try {
+            return total;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getIdleConnections() {
+        lock.lock();
+        try {
+            return idle.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getActiveConnections() {
+        lock.lock();
+        try {
+            return borrowed.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes idle connections and stops the housekeeper. Borrowed connections are
+     * closed when they are returned.
+     */
+    @Override
+    public void close() {
+        List<PooledConnection> toClose;
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            toClose = new ArrayList<>(idle);
+            total -= idle.size();
+            idle.clear();
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (housekeeper != null) {
+            housekeeper.shutdownNow();
+        }
+        toClose.forEach(PooledConnection::closePhysical);
+        logger.info("Connection pool {} closed", name);
+    }
+
+    /**
+     * Evicts expired idle connections, reports leaks and tops the pool up to its minimum size.
+     */
+    void housekeep() {
+        List<PooledConnection> evicted = new ArrayList<>();
+        int missing;
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            // Least recently used connections are at the tail
+            Iterator<PooledConnection> oldest = idle.descendingIterator();
+            while (oldest.hasNext() && total > minSize) {
+                PooledConnection pooled = oldest.next();
+                if (now - pooled.lastUsed < idleTimeoutNanos) {
+                    break;
+                }
+                oldest.remove();
+                evicted.add(pooled);
+                total--;
+            }
+            if (leakThresholdNanos > 0) {
+                for (PooledConnection pooled : borrowed) {
+                    if (!pooled.leakReported && now - pooled.borrowedAt > leakThresholdNanos) {
+                        pooled.leakReported = true;
+                        logger.warn("Connection from pool {} has been borrowed for more than {} ms and may have leaked",
+                            name, TimeUnit.NANOSECONDS.toMillis(leakThresholdNanos), pooled.borrowSite);
+                    }
+                }
+            }
+            missing = Math.max(0, minSize - total);
+            total += missing;
+        } finally {
+            lock.unlock();
+        }
+
+        evicted.forEach(PooledConnection::closePhysical);
+        if (!evicted.isEmpty()) {
+            logger.debug("Evicted {} idle connections from pool {}", evicted.size(), name);
+        }
+        for (int i = 0; i < missing; i++) {
+            try {
+                release(open());
+            } catch (SQLException | RuntimeException e) {
+                // Sources such as DatabaseConnectionFactory throw unchecked exceptions, and an
+                // exception escaping here would cancel the scheduled housekeeper for good
+                logger.warn("Failed to open connection for pool {}: {}", name, e.getMessage());
+            }
+        }
+    }
+
+    private PooledConnection takeIdleOrReserve(long deadline) throws SQLException {
+        lock.lock();
+        try {
+            while (true) {
+                if (closed) {
+                    throw new SQLException("Connection pool " + name + " is closed");
+                }
+                PooledConnection pooled = idle.pollFirst();
+                if (pooled != null) {
+                    return pooled;
+                }
+                if (total < maxSize) {
+                    total++;
+                    return null;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new SQLTimeoutException(String.format(
+                        "Timed out waiting for a connection from pool %s (%d in use)", name, borrowed.size()));
+                }
+                available.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection from pool " + name, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Opens and initializes a physical connection for a slot already counted in {@code total}.
+     */
+    private PooledConnection open() throws SQLException {
+        Connection physical = null;
+        try {
+            physical = source.connect();
+            initializer.initialize(physical);
+            logger.debug("Opened new connection for pool {}", name);
+            return new PooledConnection(physical);
+        } catch (SQLException | RuntimeException e) {
+            if (physical != null) {
+                new PooledConnection(physical).closePhysical();
+            }
+            releaseSlot();
+            throw e;
+        }
+    }
+
+    private boolean isUsable(PooledConnection pooled) {
+        if (System.nanoTime() - pooled.lastUsed < VALIDATION_BYPASS_NANOS) {
+            return true;
+        }
+        try {
+            return pooled.physical.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private Connection lend(PooledConnection pooled) {
+        pooled.borrowedAt = System.nanoTime();
+        pooled.leakReported = false;
+        pooled.borrowSite = leakThresholdNanos > 0 ? new Exception("Connection borrowed here") : null;
+        lock.lock();
+        try {
+            borrowed.add(pooled);
+        } finally {
+            lock.unlock();
+        }
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+            new Class<?>[] {Connection.class}, new Handle(pooled));
+    }
+
+    /**
+     * Takes a connection back from a borrower, resetting any open transaction.
+     */
+    private void giveBack(PooledConnection pooled) {
+        lock.lock();
+        try {
+            borrowed.remove(pooled);
+        } finally {
+            lock.unlock();
+        }
+        try {
+            if (!pooled.physical.getAutoCommit()) {
+                pooled.physical.rollback();
+                pooled.physical.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            logger.debug("Discarding connection that could not be reset: {}", e.getMessage());
+            discard(pooled);
+            return;
+        }
+        release(pooled);
+    }
+
+    private void release(PooledConnection pooled) {
+        lock.lock();
+        try {
+            if (!closed) {
+                pooled.lastUsed = System.nanoTime();
+                idle.addFirst(pooled);
+                available.signal();
+                return;
+            }
+            total--;
+        } finally {
+            lock.unlock();
+        }
+        pooled.closePhysical();
+    }
+
+    private void discard(PooledConnection pooled) {
+        pooled.closePhysical();
+        releaseSlot();
+    }
+
+    private void releaseSlot() {
+        lock.lock();
+        try {
+            total--;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class PooledConnection {
+        final Connection physical;
+        long lastUsed = System.nanoTime();
+        long borrowedAt;
+        boolean leakReported;
+        Exception borrowSite;
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+        }
+
+        void closePhysical() {
+            try {
+                physical.close();
+            } catch (SQLException e) {
+                logger.debug("Failed to close pooled connection: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Borrower's view of a pooled connection; closing it returns the connection to the pool.
+     */
+    private final class Handle implements InvocationHandler {
+        private final PooledConnection pooled;
+        private boolean returned;
+
+        Handle(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    if (!returned) {
+                        returned = true;
+                        giveBack(pooled);
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    return returned || pooled.physical.isClosed();
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "Pooled connection from " + name + (returned ? " (returned)" : "");
+                }
+                default -> {
+                    if (returned) {
+                        throw new SQLException("Connection has already been returned to pool " + name);
+                    }
+                }
+            }
+            try {
+                return method.invoke(pooled.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Builder for ConnectionPool.
+     */
+    public static final class Builder {
+        private String name = "pool";
+        private ConnectionSource source;
+        private SessionInitializer initializer = connection -> { };
+        private int minSize = 0;
+        private int maxSize = 10;
+        private Duration idleTimeout = Duration.ofMinutes(10);
+        private Duration borrowTimeout = Duration.ofSeconds(30);
+        private Duration validationTimeout = Duration.ofSeconds(5);
+        private Duration leakDetectionThreshold = Duration.ZERO;
+        private Duration housekeepingPeriod = Duration.ofSeconds(30);
+
+        private Builder() {
+        }
+
+        public Builder name(String name) { this.name = name; return this; }
+        public Builder connectionSource(ConnectionSource source) { this.source = source; return this; }
+        public Builder sessionInitializer(SessionInitializer initializer) { this.initializer = initializer; return this; }
+        public Builder minSize(int minSize) { this.minSize = minSize; return this; }
+        public Builder maxSize(int maxSize) { this.maxSize = maxSize; return this; }
+        public Builder idleTimeout(Duration idleTimeout) { this.idleTimeout = idleTimeout; return this; }
+        public Builder borrowTimeout(Duration borrowTimeout) { this.borrowTimeout = borrowTimeout; return this; }
+        public Builder validationTimeout(Duration validationTimeout) { this.validationTimeout = validationTimeout; return this; }
+        /** Borrowed connections held longer than this are logged with their borrow site; zero disables. */
+        public Builder leakDetectionThreshold(Duration threshold) { this.leakDetectionThreshold = threshold; return this; }
+        /** How often idle eviction, leak detection and top-up run; zero disables the housekeeper. */
+        public Builder housekeepingPeriod(Duration period) { this.housekeepingPeriod = period; return this; }
+
+        /**
+         * Builds the pool and opens its minimum number of connections.
+         *
+         * @throws IllegalArgumentException if the settings are inconsistent
+         */
+        public ConnectionPool build() {
+            if (source == null) {
+                throw new IllegalArgumentException("Connection source must be specified");
+            }
+            if (maxSize < 1 || minSize < 0 || minSize > maxSize) {
+                throw new IllegalArgumentException(
+                    String.format("Invalid pool size: min=%d, max=%d", minSize, maxSize));
+            }
+            ConnectionPool pool = new ConnectionPool(this);
+            // Opens the minimum connections; failures are logged and retried by housekeeping
+            pool.housekeep();
+            logger.info("Connection pool {} started (min={}, max={})", name, minSize, maxSize);
+            return pool;
+        }
+    }
+}
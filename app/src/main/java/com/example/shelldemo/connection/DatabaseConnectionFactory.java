@@ -16,6 +16,7 @@ import com.example.shelldemo.exception.ConfigurationException;
 import com.example.shelldemo.spi.DatabaseVendor;
 import com.example.shelldemo.spi.DatabaseVendorRegistry;
 import com.example.shelldemo.config.ConfigurationHolder;
+import com.example.shelldemo.config.VendorConfig;
 
 /**
  * Factory for creating database connections using the vendor SPI system.
@@ -43,44 +44,12 @@ public class DatabaseConnectionFactory {
     public Connection createConnection(ConnectionConfig config) throws SQLException {
         logger.info("Creating database connection for type: {}, host: {}", config.dbType(), config.host());
         
-        Optional<DatabaseVendor> vendorOpt = DatabaseVendorRegistry.getVendor(config.dbType());
-        
-        if (vendorOpt.isEmpty()) {
-            throw new ConfigurationException(
-                "Unsupported database type: " + config.dbType()
-            );
-        }
-        
-        DatabaseVendor vendor = vendorOpt.get();
+        DatabaseVendor vendor = resolveVendor(config);
         
         try {
-            // Load appropriate driver 
-            driverLoader.loadDriverForVendor(vendor.getVendorName());
-            
-            // Build URL and properties
-            String url;
-            if ("thin-ldap".equalsIgnoreCase(config.connectionType())) {
-                url = this.buildConnectionUrl(config);
-            } else {
-                url = vendor.buildConnectionUrl(
-                    config.host(), 
-                    config.port(), 
-                    config.serviceName(), 
-                    config.connectionType()
-                );
-            }
-            
-            logger.debug("Using connection URL: {}", url);
-            
+            String url = resolveConnectionUrl(vendor, config);
             Properties props = buildConnectionProperties(vendor, config);
-            if (logger.isDebugEnabled()) {
-                logger.debug("Connection properties configured: {}", 
-                    props.stringPropertyNames().stream()
-                        .filter(key -> !key.contains("password"))
-                        .map(key -> key + "=" + props.getProperty(key))
-                        .reduce((a, b) -> a + ", " + b)
-                        .orElse("none"));
-            }
+            logConnectionProperties(props);
             
             Connection conn = DriverManager.getConnection(url, props);
             vendor.initializeConnection(conn);
@@ -88,16 +57,96 @@ public class DatabaseConnectionFactory {
                 vendor.getVendorName(), config.host(), config.port());
             return conn;
         } catch (SQLException e) {
-            String context = String.format("host=%s, port=%d, service=%s", 
-                config.host(), config.port(), config.serviceName());
-           
-            throw ConnectionException.fromSQLException(
-                "Failed to establish database connection",
-                e,
-                vendor.getVendorName(),
-                context
+            throw connectionFailure(e, vendor, config);
+        }
+    }
+
+    /**
+     * Creates a connection pool for a pre-configured ConnectionConfig.
+     * The driver, connection URL and properties are resolved once for the pool, and
+     * each physical connection is session-initialized once when it is opened.
+     * 
+     * @param config The validated connection configuration
+     * @param poolSettings Pool sizing and timeouts; its connection source and
+     *                     session initializer are supplied by this factory
+     * @return A started connection pool
+     * @throws SQLException if the driver cannot be loaded or the URL cannot be built
+     */
+    public ConnectionPool createPool(ConnectionConfig config, ConnectionPool.Builder poolSettings) throws SQLException {
+        logger.info("Creating connection pool for type: {}, host: {}", config.dbType(), config.host());
+        
+        DatabaseVendor vendor = resolveVendor(config);
+        String url = resolveConnectionUrl(vendor, config);
+        Properties props = buildConnectionProperties(vendor, config);
+        logConnectionProperties(props);
+        
+        return poolSettings
+            .name(vendor.getVendorName() + "@" + config.host())
+            .connectionSource(() -> {
+                try {
+                    return DriverManager.getConnection(url, props);
+                } catch (SQLException e) {
+                    throw connectionFailure(e, vendor, config);
+                }
+            })
+            .sessionInitializer(vendor::initializeConnection)
+            .build();
+    }
+
+    private DatabaseVendor resolveVendor(ConnectionConfig config) {
+        Optional<DatabaseVendor> vendorOpt = DatabaseVendorRegistry.getVendor(config.dbType());
+        
+        if (vendorOpt.isEmpty()) {
+            throw new ConfigurationException(
+                "Unsupported database type: " + config.dbType()
+            );
+        }
+        
+        return vendorOpt.get();
+    }
+
+    private String resolveConnectionUrl(DatabaseVendor vendor, ConnectionConfig config) throws SQLException {
+        // Load appropriate driver 
+        driverLoader.loadDriverForVendor(vendor.getVendorName());
+        
+        // Build URL and properties
+        String url;
+        if ("thin-ldap".equalsIgnoreCase(config.connectionType())) {
+            url = this.buildConnectionUrl(config);
+        } else {
+            url = vendor.buildConnectionUrl(
+                config.host(), 
+                config.port(), 
+                config.serviceName(), 
+                config.connectionType()
             );
         }
+        
+        logger.debug("Using connection URL: {}", url);
+        return url;
+    }
+
+    private void logConnectionProperties(Properties props) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Connection properties configured: {}", 
+                props.stringPropertyNames().stream()
+                    .filter(key -> !key.contains("password"))
+                    .map(key -> key + "=" + props.getProperty(key))
+                    .reduce((a, b) -> a + ", " + b)
+                    .orElse("none"));
+        }
+    }
+
+    private ConnectionException connectionFailure(SQLException e, DatabaseVendor vendor, ConnectionConfig config) {
+        String context = String.format("host=%s, port=%d, service=%s", 
+            config.host(), config.port(), config.serviceName());
+       
+        return ConnectionException.fromSQLException(
+            "Failed to establish database connection",
+            e,
+            vendor.getVendorName(),
+            context
+        );
     }
 
     /**
@@ -131,25 +180,12 @@ public class DatabaseConnectionFactory {
     }
 
     public String buildConnectionUrl(ConnectionConfig config) {
-        Map<String, Object> dbmsConfig = ConfigurationHolder.getInstance().getDatabaseConfig(config.dbType());
+        VendorConfig vendorConfig = ConfigurationHolder.getInstance().getVendorConfig(config.dbType());
 
-        @SuppressWarnings("unchecked")
-        Map<String, Object> templates = (Map<String, Object>) dbmsConfig.get("templates");
-        if (templates != null) {
-            logger.info("Available templates configuration:");
-            templates.forEach((key, value) -> logger.info("  {} -> {}", key, value));
-        }
-      
-        @SuppressWarnings("unchecked")
-        Map<String, Object> jdbc = templates != null ? (Map<String, Object>) templates.get("jdbc") : null;
-        
         if ("thin-ldap".equalsIgnoreCase(config.connectionType())) {
-            return buildLdapConnectionUrl(config, templates, jdbc);
+            return buildLdapConnectionUrl(config, vendorConfig);
         } else {
-            String urlTemplate = jdbc != null ? (String) jdbc.get("defaultTemplate") : null;
-            if (urlTemplate == null) {
-                urlTemplate = jdbc != null ? (String) jdbc.get("default") : null;
-            }
+            String urlTemplate = vendorConfig.jdbcTemplate("defaultTemplate");
             if (urlTemplate == null) {
                 throw new ConfigurationException(
                     String.format("Missing URL template for database type: %s", config.dbType())
@@ -167,31 +203,24 @@ public class DatabaseConnectionFactory {
         }
     }
 
-    private String buildLdapConnectionUrl(ConnectionConfig config, Map<String, Object> templates, Map<String, Object> jdbc) {
-        String urlTemplate = jdbc != null ? (String) jdbc.get("ldap") : null;
+    private String buildLdapConnectionUrl(ConnectionConfig config, VendorConfig vendorConfig) {
+        String urlTemplate = vendorConfig.jdbcTemplates().get("ldap");
         if (urlTemplate == null) {
             throw new ConfigurationException("Missing LDAP URL template for Oracle");
         }
         
-        @SuppressWarnings("unchecked")
-        Map<String, Object> ldapConfig = (Map<String, Object>) templates.get("ldap");
+        VendorConfig.LdapConfig ldapConfig = vendorConfig.ldap();
         if (ldapConfig == null) {
             throw new ConfigurationException("Missing LDAP config for Oracle");
         }
 
-        @SuppressWarnings("unchecked")
-        java.util.List<String> servers = (java.util.List<String>) ldapConfig.get("servers");
-        String context = (String) ldapConfig.get("context");
-        Object portObj = ldapConfig.get("port");
-        int port = (portObj instanceof Number number) ? number.intValue() : 389;
         String service = config.serviceName();
-
-        if (servers == null || servers.isEmpty() || context == null || service == null) {
+        if (ldapConfig.servers().isEmpty() || ldapConfig.context() == null || service == null) {
             throw new ConfigurationException("Incomplete LDAP configuration for Oracle");
         }
 
-        String hosts = servers.stream()
-            .map(server -> String.format(urlTemplate, server, port, service, context))
+        String hosts = ldapConfig.servers().stream()
+            .map(server -> String.format(urlTemplate, server, ldapConfig.port(), service, ldapConfig.context()))
             .reduce((a, b) -> a + " " + b)
             .orElseThrow();
 
@@ -215,19 +244,11 @@ public class DatabaseConnectionFactory {
         props.setProperty("user", config.username());
         props.setProperty("password", config.password());
         
-        // Get any additional database-specific properties from configuration
-        try {
-            Map<String, Object> dbmsConfig = ConfigurationHolder.getInstance().getDatabaseConfig(config.dbType());
-            Map<String, Object> connProps = ConnectionConfig.getConfigMap(dbmsConfig, "properties");
-            if (connProps != null) {
-                logger.debug("Applying {} database-specific connection properties", connProps.size());
-                for (Map.Entry<String, Object> entry : connProps.entrySet()) {
-                    props.setProperty(entry.getKey(), entry.getValue().toString());
-                }
-            }
-        } catch (RuntimeException e) {
-            // Log as debug since this is optional
-            logger.debug("No additional connection properties found for vendor: {}", vendor.getVendorName());
+        // Add any additional database-specific properties from configuration
+        Map<String, String> connProps = ConfigurationHolder.getInstance().getDatabaseProperties(config.dbType());
+        if (!connProps.isEmpty()) {
+            logger.debug("Applying {} database-specific connection properties", connProps.size());
+            connProps.forEach(props::setProperty);
         }
         
         return props;
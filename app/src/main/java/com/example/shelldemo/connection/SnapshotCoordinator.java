@@ -0,0 +1,91 @@
+package com.example.shelldemo.connection;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.example.shelldemo.spi.DatabaseVendor;
+import com.example.shelldemo.spi.ReadSnapshot;
+
+/**
+ * Lends pooled connections that all read one consistent image of the database, taken
+ * when the coordinator is opened, see {@link DatabaseVendor#openSnapshot}.
+ *
+ * <p>The coordinator holds one connection of the pool for as long as it is open, so the
+ * pool needs one connection more than the readers. Lent connections are for queries
+ * only; closing one leaves the snapshot and returns it to the pool.</p>
+ */
+public final class SnapshotCoordinator implements AutoCloseable {
+    private static final Logger logger = LogManager.getLogger(SnapshotCoordinator.class);
+
+    private final ConnectionPool pool;
+    private final Connection coordinator;
+    private final ReadSnapshot snapshot;
+
+    /**
+     * Takes the snapshot on a connection borrowed from the pool.
+     *
+     * @throws java.sql.SQLFeatureNotSupportedException if the vendor cannot share a snapshot
+     * @throws SQLException if the snapshot cannot be taken
+     */
+    public SnapshotCoordinator(ConnectionPool pool, DatabaseVendor vendor) throws SQLException {
+        this.pool = pool;
+        this.coordinator = pool.borrow();
+        try {
+            this.snapshot = vendor.openSnapshot(coordinator);
+        } catch (SQLException | RuntimeException e) {
+            coordinator.close();
+            throw e;
+        }
+        logger.info("Opened a consistent read snapshot for parallel readers");
+    }
+
+    /**
+     * Borrows a connection from the pool that reads from the snapshot until it is closed.
+     */
+    public Connection borrow() throws SQLException {
+        Connection reader = pool.borrow();
+        try {
+            snapshot.join(reader);
+        } catch (SQLException | RuntimeException e) {
+            reader.close();
+            throw e;
+        }
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+            new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                if (method.getName().equals("close")) {
+                    leave(reader);
+                    return null;
+                }
+                try {
+                    return method.invoke(reader, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+    }
+
+    private void leave(Connection reader) throws SQLException {
+        if (reader.isClosed()) {
+            return;
+        }
+        try {
+            snapshot.leave(reader);
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            snapshot.close();
+        } finally {
+            coordinator.close();
+        }
+    }
+}
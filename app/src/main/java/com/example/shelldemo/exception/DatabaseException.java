@@ -1,9 +1,6 @@
 package com.example.shelldemo.exception;
 
 import java.sql.SQLException;
-import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import com.example.shelldemo.config.ConfigurationHolder;
@@ -126,31 +123,9 @@ public class DatabaseException extends RuntimeException {
      * Uses database-specific error mappings to translate error codes to application error types.
      */
     private static ErrorType determineErrorType(SQLException e, String dbType) {
-        Map<String, Object> dbmsConfig = ConfigurationHolder.getInstance().getDatabaseConfig(dbType);
-        
-        // Use pattern matching and switch expression
-        return switch (dbmsConfig.get("error-mappings")) {
-            case Map<?,?> errorMappings -> {
-                String errorCode = extractErrorCode(e, dbType);
-                
-                if (errorCode != null && errorMappings.containsKey(errorCode)) {
-                    yield switch (errorMappings.get(errorCode)) {
-                        case String errorType -> {
-                            try {
-                                yield ErrorType.valueOf(errorType);
-                            } catch (IllegalArgumentException ex) {
-                                logger.warn("Invalid error type mapping: {}", errorType);
-                                yield ErrorType.UNKNOWN;
-                            }
-                        }
-                        case null, default -> ErrorType.UNKNOWN;
-                    };
-                } else {
-                    yield mapGenericError(e);
-                }
-            }
-            case null, default -> mapGenericError(e);
-        };
+        ErrorType errorType = ConfigurationHolder.getInstance().getVendorConfig(dbType)
+            .errorType(extractErrorCode(e, dbType));
+        return errorType != null ? errorType : mapGenericError(e);
     }
     
     /**
@@ -177,22 +152,9 @@ public class DatabaseException extends RuntimeException {
     }
 
     /**
-     * Extract database-specific error code using regex pattern matching.
-     * Uses text block for multiline pattern definitions.
+     * Extract database-specific error code with the vendor's precompiled pattern.
      */
     private static String extractErrorCode(SQLException e, String dbType) {
-        if (e.getMessage() == null) return null;
-        
-        Map<String, Object> dbmsConfig = ConfigurationHolder.getInstance().getDatabaseConfig(dbType);
-        
-        // Use pattern matching with instanceof
-        return switch (dbmsConfig.get("error-code-pattern")) {
-            case String errorPattern -> {
-                Pattern pattern = Pattern.compile(errorPattern);
-                Matcher matcher = pattern.matcher(e.getMessage());
-                yield matcher.find() ? matcher.group(1) : null;
-            }
-            case null, default -> null;
-        };
+        return ConfigurationHolder.getInstance().getVendorConfig(dbType).extractErrorCode(e.getMessage());
     }
 } 
\ No newline at end of file
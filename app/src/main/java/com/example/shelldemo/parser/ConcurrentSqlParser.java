@@ -33,11 +33,11 @@ public class ConcurrentSqlParser {
      * @param onComplete Callback function to execute when all parsing is complete
      * @return Map of file names to their parsed statements
      */
-    public static Map<String, Map<Integer, String>> parseFilesAsync(
+    public static Map<String, SqlStatementList> parseFilesAsync(
             File[] sqlFiles, 
-            Consumer<Map<String, Map<Integer, String>>> onComplete) {
+            Consumer<Map<String, SqlStatementList>> onComplete) {
         
-        Map<String, Map<Integer, String>> results = new ConcurrentHashMap<>();
+        Map<String, SqlStatementList> results = new ConcurrentHashMap<>();
         
         // Use try-with-resources with virtual thread executor
         try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
@@ -51,7 +51,7 @@ public class ConcurrentSqlParser {
                 futures[i] = executor.submit(() -> {
                     try {
                         logger.info("Parsing SQL file: {}", file.getName());
-                        Map<Integer, String> statements = SqlScriptParser.parseSqlFile(file);
+                        SqlStatementList statements = SqlScriptParser.parseSqlFile(file);
                         results.put(file.getName(), statements);
                         logger.info("Completed parsing file: {}", file.getName());
                     } catch (DatabaseException e) {
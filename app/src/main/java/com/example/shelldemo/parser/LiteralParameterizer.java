@@ -0,0 +1,264 @@
+package com.example.shelldemo.parser;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Rewrites literal values in DML statements as bind parameters.
+ *
+ * <p>{@code INSERT INTO t VALUES (1, 'a')} becomes {@code INSERT INTO t VALUES (?, ?)}
+ * with the parameters {@code 1L} and {@code "a"}, so statements that differ only in
+ * their values share one SQL text and can be executed as a single prepared batch.</p>
+ *
+ * <p>String literals become {@link String}, integers {@link Long} and other numbers
+ * {@link BigDecimal}. Literals that cannot be bound are left in place: typed literals
+ * such as {@code DATE '2024-01-01'} or {@code INTERVAL '1' DAY}, prefixed strings such
+ * as {@code N'...'}, {@code E'...'} or {@code q'[...]'}, {@code NULL}, column positions
+ * such as {@code ORDER BY 1, 2} or {@code GROUP BY 1}, and anything inside comments.
+ * Statements that already contain bind markers or dollar-quoted strings, and
+ * statements other than {@code INSERT}, {@code UPDATE}, {@code DELETE} and
+ * {@code MERGE}, are not rewritten.</p>
+ */
+public final class LiteralParameterizer {
+
+    private static final Set<String> DML_KEYWORDS = Set.of("INSERT", "UPDATE", "DELETE", "MERGE");
+    private static final Set<String> TYPED_LITERAL_KEYWORDS = Set.of("DATE", "TIME", "TIMESTAMP", "INTERVAL");
+    private static final Set<String> POSITION_LIST_KEYWORDS = Set.of("ORDER", "GROUP");
+    /** Words that end an {@code ORDER BY} or {@code GROUP BY} list. */
+    private static final Set<String> LIST_END_KEYWORDS = Set.of(
+        "HAVING", "LIMIT", "OFFSET", "FETCH", "UNION", "INTERSECT", "EXCEPT", "MINUS",
+        "WINDOW", "FOR", "RETURNING", "QUALIFY", "ROWS", "RANGE", "SELECT", "WHERE");
+
+    /**
+     * A statement with its literals replaced by {@code ?} markers.
+     *
+     * @param sql the rewritten statement text
+     * @param parameters the literal values, in marker order
+     */
+    public record ParameterizedSql(String sql, List<Object> parameters) {}
+
+    private LiteralParameterizer() {
+        // Utility class
+    }
+
+    /**
+     * Rewrites the literals of a DML statement as bind parameters.
+     *
+     * @param sql a single statement
+     * @return the rewritten statement, or null if it cannot be rewritten
+     */
+    public static ParameterizedSql parameterize(String sql) {
+        int length = sql.length();
+        int start = 0;
+        while (start < length && Character.isWhitespace(sql.charAt(start))) {
+            start++;
+        }
+        int end = wordEnd(sql, start);
+        if (!DML_KEYWORDS.contains(sql.substring(start, end).toUpperCase(Locale.ROOT))) {
+            return null;
+        }
+
+        StringBuilder out = new StringBuilder(length);
+        List<Object> parameters = new ArrayList<>();
+        // Parenthesis depth of the ORDER BY or GROUP BY list being read, or -1
+        int depth = 0;
+        int positionListDepth = -1;
+        String previousWord = "";
+        char previous = ' ';
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth < positionListDepth) {
+                positionListDepth = -1;
+            }
+            if (c == '\'') {
+                int close = literalEnd(sql, i);
+                if (isBindable(sql, i)) {
+                    parameters.add(sql.substring(i + 1, close - 1).replace("''", "'"));
+                    out.append('?');
+                } else if (i > 0 && (sql.charAt(i - 1) == 'q' || sql.charAt(i - 1) == 'Q')) {
+                    close = quoteOperatorEnd(sql, i);
+                    out.append(sql, i, close);
+                } else {
+                    out.append(sql, i, close);
+                }
+                i = close;
+            } else if (c == '"') {
+                int close = sql.indexOf('"', i + 1);
+                close = close < 0 ? length : close + 1;
+                out.append(sql, i, close);
+                i = close;
+            } else if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+                int close = sql.indexOf('\n', i);
+                close = close < 0 ? length : close;
+                out.append(sql, i, close);
+                i = close;
+            } else if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+                int close = sql.indexOf("*/", i + 2);
+                close = close < 0 ? length : close + 2;
+                out.append(sql, i, close);
+                i = close;
+            } else if (c == '?' || c == '$') {
+                // Existing bind markers ($1, ?) or a dollar-quoted string
+                return null;
+            } else if (c == ':' && i + 1 < length && isIdentifierChar(sql.charAt(i + 1))
+                    && (i == 0 || sql.charAt(i - 1) != ':')) {
+                return null;
+            } else if (isNumberStart(sql, i)) {
+                int close = numberEnd(sql, i);
+                boolean position = depth == positionListDepth
+                    && (previous == ',' || previous == ' ' && "BY".equals(previousWord));
+                if (close < length && isIdentifierChar(sql.charAt(close))) {
+                    // Not a plain number, e.g. 1e or 2x
+                    close = wordEnd(sql, close);
+                    out.append(sql, i, close);
+                } else if (position) {
+                    out.append(sql, i, close);
+                } else {
+                    parameters.add(toNumber(sql.substring(i, close)));
+                    out.append('?');
+                }
+                i = close;
+            } else if (isIdentifierChar(c)) {
+                int close = wordEnd(sql, i);
+                String word = sql.substring(i, close).toUpperCase(Locale.ROOT);
+                if ("BY".equals(word) && POSITION_LIST_KEYWORDS.contains(previousWord)) {
+                    positionListDepth = depth;
+                } else if (LIST_END_KEYWORDS.contains(word) && depth == positionListDepth) {
+                    positionListDepth = -1;
+                }
+                out.append(sql, i, close);
+                previousWord = word;
+                previous = ' ';
+                i = close;
+                continue;
+            } else {
+                out.append(c);
+                i++;
+            }
+            if (!Character.isWhitespace(c)) {
+                previousWord = "";
+                previous = c;
+            }
+        }
+        return new ParameterizedSql(out.toString(), parameters);
+    }
+
+    /**
+     * A string literal is bindable unless it is prefixed (N'', E'', X'', q'') or follows
+     * a typed literal keyword.
+     */
+    private static boolean isBindable(String sql, int quote) {
+        if (quote > 0 && isIdentifierChar(sql.charAt(quote - 1))) {
+            return false;
+        }
+        int end = quote;
+        while (end > 0 && Character.isWhitespace(sql.charAt(end - 1))) {
+            end--;
+        }
+        int start = end;
+        while (start > 0 && isIdentifierChar(sql.charAt(start - 1))) {
+            start--;
+        }
+        return !TYPED_LITERAL_KEYWORDS.contains(sql.substring(start, end).toUpperCase(Locale.ROOT));
+    }
+
+    private static boolean isNumberStart(String sql, int i) {
+        char c = sql.charAt(i);
+        boolean digit = c >= '0' && c <= '9';
+        boolean fraction = c == '.' && i + 1 < sql.length() && Character.isDigit(sql.charAt(i + 1));
+        if (!digit && !fraction) {
+            return false;
+        }
+        // A dot or identifier character before the number makes it part of a name, e.g. t.1 or col1
+        return i == 0 || !isIdentifierChar(sql.charAt(i - 1)) && sql.charAt(i - 1) != '.';
+    }
+
+    private static int numberEnd(String sql, int start) {
+        int length = sql.length();
+        int i = start;
+        while (i < length && Character.isDigit(sql.charAt(i))) {
+            i++;
+        }
+        if (i < length && sql.charAt(i) == '.') {
+            i++;
+            while (i < length && Character.isDigit(sql.charAt(i))) {
+                i++;
+            }
+        }
+        if (i + 1 < length && (sql.charAt(i) == 'e' || sql.charAt(i) == 'E')) {
+            int exponent = i + 1;
+            if (sql.charAt(exponent) == '+' || sql.charAt(exponent) == '-') {
+                exponent++;
+            }
+            if (exponent < length && Character.isDigit(sql.charAt(exponent))) {
+                i = exponent;
+                while (i < length && Character.isDigit(sql.charAt(i))) {
+                    i++;
+                }
+            }
+        }
+        return i;
+    }
+
+    private static Object toNumber(String text) {
+        if (text.length() <= 18 && text.chars().allMatch(Character::isDigit)) {
+            return Long.parseLong(text);
+        }
+        return new BigDecimal(text);
+    }
+
+    /**
+     * Returns the index after a string literal starting at {@code quote}, honouring doubled quotes.
+     */
+    private static int literalEnd(String sql, int quote) {
+        int i = quote + 1;
+        while (i < sql.length()) {
+            if (sql.charAt(i) == '\'') {
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == '\'') {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        return sql.length();
+    }
+
+    /**
+     * Returns the index after an Oracle {@code q'<delim>...<delim>'} literal.
+     */
+    private static int quoteOperatorEnd(String sql, int quote) {
+        if (quote + 1 >= sql.length()) {
+            return sql.length();
+        }
+        char open = sql.charAt(quote + 1);
+        char close = switch (open) {
+            case '[' -> ']';
+            case '{' -> '}';
+            case '(' -> ')';
+            case '<' -> '>';
+            default -> open;
+        };
+        int end = sql.indexOf(close + "'", quote + 2);
+        return end < 0 ? sql.length() : end + 2;
+    }
+
+    private static int wordEnd(String sql, int start) {
+        int i = start;
+        while (i < sql.length() && isIdentifierChar(sql.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isIdentifierChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '#' || c == '@';
+    }
+}
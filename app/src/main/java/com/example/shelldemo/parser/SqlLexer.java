@@ -0,0 +1,617 @@
+package com.example.shelldemo.parser;
+
+import java.nio.CharBuffer;
+
+/**
+ * Single-pass, character-level SQL script lexer.
+ *
+ * <p>Splits a script into statements with one state machine that tracks string
+ * literals, quoted identifiers, nested comments, Oracle {@code q'[...]'} literals,
+ * PostgreSQL dollar-quoting, PL/SQL block depth and SQL*Plus {@code /} terminators
+ * together. Input is fed in chunks of any size, so a token may straddle two chunks.
+ * No objects are allocated per character; the only per-statement work is appending
+ * to a reused text buffer.</p>
+ *
+ * <p>Statement text has comments removed, each line trimmed and blank lines dropped;
+ * literal contents are kept verbatim. Anonymous blocks ({@code BEGIN}/{@code DECLARE})
+ * end at their outermost {@code END;}, stored program units ({@code CREATE FUNCTION},
+ * {@code PROCEDURE}, {@code TRIGGER}, {@code PACKAGE}) end at a {@code /} line unless
+ * their body is a quoted literal, and every other statement ends at {@code ;}.</p>
+ */
+public final class SqlLexer {
+
+    /**
+     * Receives each statement as soon as its terminator has been read.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        /**
+         * @param text statement text; only valid for the duration of the call
+         * @param line 1-based source line of the first character of the statement
+         * @param start character offset of the first character of the statement
+         * @param end character offset just past the statement terminator
+         * @param plsql whether the statement is a PL/SQL block or program unit
+         */
+        void statement(CharSequence text, int line, long start, long end, boolean plsql);
+    }
+
+    private static final int NORMAL = 0;
+    private static final int LINE_COMMENT = 1;
+    private static final int BLOCK_COMMENT = 2;
+    private static final int SINGLE_QUOTE = 3;
+    private static final int DOUBLE_QUOTE = 4;
+    private static final int DOLLAR_TAG = 5;
+    private static final int DOLLAR_QUOTE = 6;
+    private static final int Q_QUOTE_OPEN = 7;
+    private static final int Q_QUOTE = 8;
+
+    private static final int PENDING_NONE = 0;
+    private static final int PENDING_DASH = 1;
+    private static final int PENDING_SLASH = 2;
+    private static final int PENDING_SLASH_LINE = 3;
+
+    private static final int KIND_UNKNOWN = 0;
+    private static final int KIND_REGULAR = 1;
+    private static final int KIND_CREATE = 2;
+    private static final int KIND_ANONYMOUS = 3;
+    private static final int KIND_ROUTINE = 4;
+
+    private static final int MAX_KEYWORD_LENGTH = 16;
+    private static final int MAX_DOLLAR_TAG_LENGTH = 64;
+
+    private static final char[] BEGIN = "BEGIN".toCharArray();
+    private static final char[] DECLARE = "DECLARE".toCharArray();
+    private static final char[] CREATE = "CREATE".toCharArray();
+    private static final char[] OR = "OR".toCharArray();
+    private static final char[] REPLACE = "REPLACE".toCharArray();
+    private static final char[] EDITIONABLE = "EDITIONABLE".toCharArray();
+    private static final char[] NONEDITIONABLE = "NONEDITIONABLE".toCharArray();
+    private static final char[] FUNCTION = "FUNCTION".toCharArray();
+    private static final char[] PROCEDURE = "PROCEDURE".toCharArray();
+    private static final char[] TRIGGER = "TRIGGER".toCharArray();
+    private static final char[] PACKAGE = "PACKAGE".toCharArray();
+    private static final char[] AS = "AS".toCharArray();
+    private static final char[] IS = "IS".toCharArray();
+    private static final char[] COMPOUND = "COMPOUND".toCharArray();
+    private static final char[] CASE = "CASE".toCharArray();
+    private static final char[] END = "END".toCharArray();
+    private static final char[] IF = "IF".toCharArray();
+    private static final char[] LOOP = "LOOP".toCharArray();
+    private static final char[] TRANSACTION = "TRANSACTION".toCharArray();
+    private static final char[] WORK = "WORK".toCharArray();
+    private static final char[] Q = "Q".toCharArray();
+    private static final char[] NQ = "NQ".toCharArray();
+
+    private final Listener listener;
+    private final StringBuilder statement = new StringBuilder(256);
+
+    // Position of the character being processed
+    private long offset;
+    private int line = 1;
+    private boolean afterCarriageReturn;
+
+    // Character-level state
+    private int state = NORMAL;
+    private int pending = PENDING_NONE;
+    private long pendingOffset;
+    private int pendingLine;
+    private char commentPrevious;
+    private int commentDepth;
+    private final char[] dollarTag = new char[MAX_DOLLAR_TAG_LENGTH];
+    private int dollarTagLength;
+    private int dollarMatch;
+    private char quoteClose;
+    private boolean quoteClosePending;
+    private final char[] word = new char[MAX_KEYWORD_LENGTH];
+    private int wordLength;
+
+    // Text layout state
+    private int contentEnd;
+    private boolean lineHasContent;
+    private boolean newlinePending;
+    private boolean separatorPending;
+
+    // Statement-level state
+    private int statementLine;
+    private long statementStart;
+    private int kind = KIND_UNKNOWN;
+    private int tokens;
+    private int depth;
+    private boolean endPending;
+    private boolean blockComplete;
+    private int subprograms;
+    private boolean bodyStarted;
+    private boolean trigger;
+    private int parenDepth;
+    private boolean awaitingBody;
+    private boolean quotedBody;
+
+    public SqlLexer(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Feeds a chunk of script text.
+     *
+     * @param chars the buffer holding the chunk
+     * @param from index of the first character to process
+     * @param to index just past the last character to process
+     */
+    public void feed(char[] chars, int from, int to) {
+        for (int i = from; i < to; i++) {
+            accept(chars[i]);
+        }
+    }
+
+    /**
+     * Feeds the remaining characters of a buffer, leaving it fully consumed.
+     */
+    public void feed(CharBuffer chars) {
+        if (chars.hasArray()) {
+            int start = chars.arrayOffset() + chars.position();
+            feed(chars.array(), start, start + chars.remaining());
+            chars.position(chars.limit());
+        } else {
+            while (chars.hasRemaining()) {
+                accept(chars.get());
+            }
+        }
+    }
+
+    /**
+     * Signals the end of the script and emits any unterminated trailing statement.
+     */
+    public void finish() {
+        if (state == NORMAL) {
+            endWord();
+            if (pending == PENDING_SLASH_LINE) {
+                pending = PENDING_NONE;
+                emit(pendingOffset + 1);
+                return;
+            }
+            flushPending();
+        }
+        emit(offset);
+    }
+
+    /**
+     * Returns the number of characters consumed so far.
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Returns the 1-based line number of the next character to be consumed.
+     */
+    public int getLine() {
+        return line;
+    }
+
+    private void accept(char c) {
+        switch (state) {
+            case NORMAL -> normal(c);
+            case LINE_COMMENT -> lineComment(c);
+            case BLOCK_COMMENT -> blockComment(c);
+            case SINGLE_QUOTE -> quoted(c, '\'');
+            case DOUBLE_QUOTE -> quoted(c, '"');
+            case DOLLAR_TAG -> dollarTag(c);
+            case DOLLAR_QUOTE -> dollarQuote(c);
+            case Q_QUOTE_OPEN -> qQuoteOpen(c);
+            case Q_QUOTE -> qQuote(c);
+            default -> throw new IllegalStateException("Unknown lexer state " + state);
+        }
+        if (c == '\n') {
+            if (!afterCarriageReturn) {
+                line++;
+            }
+            afterCarriageReturn = false;
+        } else if (c == '\r') {
+            line++;
+            afterCarriageReturn = true;
+        } else {
+            afterCarriageReturn = false;
+        }
+        offset++;
+    }
+
+    private void normal(char c) {
+        if (pending != PENDING_NONE && resolvePending(c)) {
+            return;
+        }
+        if (isIdentifierPart(c) && !(c == '$' && wordLength == 0)) {
+            if (wordLength == 0) {
+                startToken(c);
+            }
+            if (wordLength < MAX_KEYWORD_LENGTH) {
+                word[wordLength] = c >= 'a' && c <= 'z' ? (char) (c - ('a' - 'A')) : c;
+            }
+            wordLength++;
+            append(c);
+            return;
+        }
+        boolean qQuote = c == '\'' && (wordIs(Q) || wordIs(NQ));
+        endWord();
+        switch (c) {
+            case '\n', '\r' -> endLine();
+            case ' ', '\t', '\f' -> whitespace(c);
+            case '-' -> hold(PENDING_DASH);
+            case '/' -> hold(lineHasContent ? PENDING_SLASH : PENDING_SLASH_LINE);
+            case ';' -> semicolon();
+            case '\'' -> {
+                startToken(c);
+                append(c);
+                state = qQuote ? Q_QUOTE_OPEN : SINGLE_QUOTE;
+            }
+            case '"' -> {
+                startToken(c);
+                append(c);
+                state = DOUBLE_QUOTE;
+            }
+            case '$' -> {
+                startToken(c);
+                append(c);
+                dollarTagLength = 0;
+                state = DOLLAR_TAG;
+            }
+            default -> {
+                if (Character.isWhitespace(c)) {
+                    whitespace(c);
+                } else {
+                    startToken(c);
+                    append(c);
+                }
+            }
+        }
+    }
+
+    /**
+     * Decides what a held {@code -} or {@code /} was once the following character is known.
+     *
+     * @return true if {@code c} was consumed
+     */
+    private boolean resolvePending(char c) {
+        int held = pending;
+        if (held == PENDING_DASH && c == '-') {
+            pending = PENDING_NONE;
+            state = LINE_COMMENT;
+            return true;
+        }
+        if ((held == PENDING_SLASH || held == PENDING_SLASH_LINE) && c == '*') {
+            pending = PENDING_NONE;
+            commentDepth = 1;
+            commentPrevious = 0;
+            state = BLOCK_COMMENT;
+            return true;
+        }
+        if (held == PENDING_SLASH_LINE) {
+            if (c == ' ' || c == '\t') {
+                return true;
+            }
+            if (c == '\n' || c == '\r') {
+                pending = PENDING_NONE;
+                emit(pendingOffset + 1);
+                endLine();
+                return true;
+            }
+        }
+        flushPending();
+        return false;
+    }
+
+    private void hold(int kind) {
+        pending = kind;
+        pendingOffset = offset;
+        pendingLine = line;
+    }
+
+    private void flushPending() {
+        if (pending == PENDING_NONE) {
+            return;
+        }
+        char held = pending == PENDING_DASH ? '-' : '/';
+        pending = PENDING_NONE;
+        startToken(held);
+        append(held, pendingOffset, pendingLine);
+    }
+
+    private void lineComment(char c) {
+        if (c == '\n' || c == '\r') {
+            state = NORMAL;
+            endLine();
+        }
+    }
+
+    private void blockComment(char c) {
+        if (commentPrevious == '*' && c == '/') {
+            commentPrevious = 0;
+            if (--commentDepth == 0) {
+                state = NORMAL;
+                separatorPending = true;
+            }
+        } else if (commentPrevious == '/' && c == '*') {
+            commentPrevious = 0;
+            commentDepth++;
+        } else {
+            commentPrevious = c;
+            if (c == '\n' || c == '\r') {
+                endLine();
+            }
+        }
+    }
+
+    private void quoted(char c, char quote) {
+        appendRaw(c);
+        if (c == quote) {
+            // A doubled quote re-enters the literal on the next character, so escapes need no lookahead
+            state = NORMAL;
+        }
+    }
+
+    private void dollarTag(char c) {
+        if (c == '$') {
+            appendRaw(c);
+            dollarMatch = -1;
+            state = DOLLAR_QUOTE;
+        } else if (dollarTagLength < MAX_DOLLAR_TAG_LENGTH
+                && (Character.isLetter(c) || c == '_' || (dollarTagLength > 0 && Character.isDigit(c)))) {
+            dollarTag[dollarTagLength++] = c;
+            appendRaw(c);
+        } else {
+            // Not a dollar quote after all, e.g. a positional parameter such as $1
+            state = NORMAL;
+            normal(c);
+        }
+    }
+
+    private void dollarQuote(char c) {
+        appendRaw(c);
+        if (c == '$') {
+            if (dollarMatch == dollarTagLength) {
+                state = NORMAL;
+            } else {
+                dollarMatch = 0;
+            }
+        } else if (dollarMatch >= 0 && dollarMatch < dollarTagLength && dollarTag[dollarMatch] == c) {
+            dollarMatch++;
+        } else {
+            dollarMatch = -1;
+        }
+    }
+
+    private void qQuoteOpen(char c) {
+        appendRaw(c);
+        quoteClose = switch (c) {
+            case '[' -> ']';
+            case '{' -> '}';
+            case '(' -> ')';
+            case '<' -> '>';
+            default -> c;
+        };
+        quoteClosePending = false;
+        state = Q_QUOTE;
+    }
+
+    private void qQuote(char c) {
+        appendRaw(c);
+        if (quoteClosePending && c == '\'') {
+            state = NORMAL;
+        } else {
+            quoteClosePending = c == quoteClose;
+        }
+    }
+
+    private void whitespace(char c) {
+        if (lineHasContent && statement.length() > 0) {
+            statement.append(c);
+        }
+    }
+
+    private void endLine() {
+        statement.setLength(contentEnd);
+        if (lineHasContent && contentEnd > 0) {
+            newlinePending = true;
+        }
+        lineHasContent = false;
+    }
+
+    private void semicolon() {
+        if (endPending) {
+            closeEnd();
+        }
+        startToken(';');
+        append(';');
+        switch (kind) {
+            case KIND_ANONYMOUS -> {
+                if (tokens == 2 && depth == 1) {
+                    // BEGIN; starts a transaction rather than a block
+                    kind = KIND_REGULAR;
+                    emit(offset + 1);
+                } else if (blockComplete) {
+                    emit(offset + 1);
+                }
+            }
+            case KIND_ROUTINE -> {
+                if (!bodyStarted || quotedBody) {
+                    emit(offset + 1);
+                }
+            }
+            default -> emit(offset + 1);
+        }
+    }
+
+    /**
+     * Called when a token starts, before its first character is appended.
+     */
+    private void startToken(char c) {
+        tokens++;
+        if (c == '(') {
+            parenDepth++;
+        } else if (c == ')' && parenDepth > 0) {
+            parenDepth--;
+        }
+        if (awaitingBody) {
+            awaitingBody = false;
+            quotedBody = c == '\'' || c == '$';
+        }
+    }
+
+    private void endWord() {
+        if (wordLength == 0) {
+            return;
+        }
+        onWord();
+        wordLength = 0;
+    }
+
+    private void onWord() {
+        switch (kind) {
+            case KIND_UNKNOWN -> {
+                if (wordIs(BEGIN)) {
+                    kind = KIND_ANONYMOUS;
+                    depth = 1;
+                } else if (wordIs(DECLARE)) {
+                    kind = KIND_ANONYMOUS;
+                } else if (wordIs(CREATE)) {
+                    kind = KIND_CREATE;
+                } else {
+                    kind = KIND_REGULAR;
+                }
+            }
+            case KIND_CREATE -> {
+                if (wordIs(FUNCTION) || wordIs(PROCEDURE) || wordIs(TRIGGER) || wordIs(PACKAGE)) {
+                    kind = KIND_ROUTINE;
+                    trigger = wordIs(TRIGGER);
+                } else if (!(wordIs(OR) || wordIs(REPLACE) || wordIs(EDITIONABLE) || wordIs(NONEDITIONABLE))) {
+                    kind = KIND_REGULAR;
+                }
+            }
+            case KIND_ROUTINE -> {
+                if (!bodyStarted) {
+                    // AS/IS introduce the body only in the routine header, not inside a
+                    // parameter list or a trigger's WHEN (x IS NULL) or REFERENCING ... AS
+                    if ((wordIs(AS) || wordIs(IS)) && parenDepth == 0 && !trigger) {
+                        bodyStarted = true;
+                        awaitingBody = true;
+                    } else if (wordIs(BEGIN) || wordIs(DECLARE) || wordIs(COMPOUND)) {
+                        bodyStarted = true;
+                    }
+                }
+            }
+            case KIND_ANONYMOUS -> onBlockWord();
+            default -> {
+                // Regular statements need no keyword tracking
+            }
+        }
+    }
+
+    private void onBlockWord() {
+        if (tokens == 2 && depth == 1 && (wordIs(TRANSACTION) || wordIs(WORK))) {
+            kind = KIND_REGULAR;
+            return;
+        }
+        if (endPending) {
+            endPending = false;
+            if (wordIs(IF) || wordIs(LOOP)) {
+                return;
+            }
+            closeEnd();
+            if (wordIs(CASE)) {
+                // END CASE closes the CASE statement rather than opening another
+                return;
+            }
+        }
+        if (wordIs(BEGIN) || wordIs(CASE)) {
+            depth++;
+            blockComplete = false;
+        } else if (wordIs(END)) {
+            endPending = true;
+        } else if (depth == 0 && (wordIs(FUNCTION) || wordIs(PROCEDURE))) {
+            subprograms++;
+        }
+    }
+
+    private void closeEnd() {
+        endPending = false;
+        if (--depth > 0) {
+            return;
+        }
+        depth = 0;
+        if (subprograms > 0) {
+            // END of a subprogram declared in the DECLARE section
+            subprograms--;
+        } else {
+            blockComplete = true;
+        }
+    }
+
+    private void append(char c) {
+        append(c, offset, line);
+    }
+
+    private void append(char c, long at, int atLine) {
+        if (statement.length() == 0) {
+            statementStart = at;
+            statementLine = atLine;
+        } else if (newlinePending) {
+            statement.setLength(contentEnd);
+            statement.append('\n');
+        } else if (separatorPending && statement.length() == contentEnd) {
+            statement.append(' ');
+        }
+        newlinePending = false;
+        separatorPending = false;
+        statement.append(c);
+        contentEnd = statement.length();
+        lineHasContent = true;
+    }
+
+    /**
+     * Appends a character inside a literal, where whitespace and line breaks are significant.
+     */
+    private void appendRaw(char c) {
+        statement.append(c);
+        contentEnd = statement.length();
+        lineHasContent = true;
+    }
+
+    private void emit(long end) {
+        statement.setLength(contentEnd);
+        if (contentEnd > 0) {
+            listener.statement(statement, statementLine, statementStart, end,
+                kind == KIND_ANONYMOUS || kind == KIND_ROUTINE);
+        }
+        statement.setLength(0);
+        contentEnd = 0;
+        newlinePending = false;
+        separatorPending = false;
+        kind = KIND_UNKNOWN;
+        tokens = 0;
+        depth = 0;
+        endPending = false;
+        blockComplete = false;
+        subprograms = 0;
+        bodyStarted = false;
+        trigger = false;
+        parenDepth = 0;
+        awaitingBody = false;
+        quotedBody = false;
+    }
+
+    private boolean wordIs(char[] keyword) {
+        if (wordLength != keyword.length) {
+            return false;
+        }
+        for (int i = 0; i < keyword.length; i++) {
+            if (word[i] != keyword[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+            || c == '_' || c == '$' || c == '#' || (c > 127 && Character.isLetterOrDigit(c));
+    }
+}
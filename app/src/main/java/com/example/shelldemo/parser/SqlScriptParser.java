@@ -4,14 +4,16 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.util.Map;
-import java.util.HashMap;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.example.shelldemo.exception.DatabaseException;
 import com.example.shelldemo.exception.DatabaseException.ErrorType;
@@ -105,33 +107,6 @@ public final class SqlScriptParser {
      */
     public static record StoredProcedureInfo(String name, String parameters) {}
 
-    private static final class CommentParserState {
-        boolean inSingleQuote = false;
-        boolean inDoubleQuote = false;
-        boolean inLineComment = false;
-        private int multiLineCommentDepth = 0;
-        
-        boolean inAnyString() {
-            return inSingleQuote || inDoubleQuote;
-        }
-    }
-
-    /**
-     * Record representing the result of processing a character in SQL parsing.
-     * 
-     * @param appendChar Whether to append the current character to the result
-     * @param indexShift How many positions to shift the index after processing
-     */
-    private static record ProcessResult(boolean appendChar, int indexShift) {
-        static ProcessResult skip(int indexShift) {
-            return new ProcessResult(false, indexShift);
-        }
-        
-        static ProcessResult append() {
-            return new ProcessResult(true, 0);
-        }
-    }
-
     /**
      * Validates that a string is not null or empty after trimming.
      */
@@ -143,28 +118,43 @@ public final class SqlScriptParser {
     }
 
     /**
-     * Parses a SQL script file into a map of individual SQL statements.
+     * Parses a SQL script file into an ordered list of individual SQL statements.
      */
-    public static Map<Integer, String> parseSqlFile(File scriptFile) throws DatabaseException {
-        validateScriptFile(scriptFile);
-        
-        logger.debug("Starting SQL file parsing: {}", scriptFile.getName());
-
-        try {
-            String content = new String(Files.readAllBytes(scriptFile.toPath()));
-            String processedContent = removeComments(content);
-            return parseStatements(processedContent);
-        } catch (IOException e) {
-            throw new DatabaseException(
-                "Failed to parse SQL file: " + scriptFile.getName(), 
-                e, ErrorType.PARSE_SQL
-            );
+    public static SqlStatementList parseSqlFile(File scriptFile) throws DatabaseException {
+        SqlStatementList statements = new SqlStatementList();
+        try (Stream<SqlStatement> stream = streamSqlFile(scriptFile)) {
+            stream.forEachOrdered(statements::add);
         } catch (IllegalArgumentException e) {
             throw new DatabaseException(
                 e.getMessage(), 
                 e, ErrorType.PARSE_SQL
             );
         }
+        statements.trimToSize();
+        return statements;
+    }
+
+    /**
+     * Streams the statements of a SQL script file in script order.
+     * The file is read through a fixed-size window, so memory use is bounded by the
+     * largest single statement rather than by the size of the file.
+     * The returned stream must be closed to release the underlying file handle.
+     */
+    public static Stream<SqlStatement> streamSqlFile(File scriptFile) throws DatabaseException {
+        validateScriptFile(scriptFile);
+        
+        logger.debug("Starting streaming SQL file parsing: {}", scriptFile.getName());
+
+        SqlStatementReader reader = SqlStatementReader.open(scriptFile);
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(reader, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .onClose(() -> {
+                try {
+                    reader.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to close SQL file: " + scriptFile.getName(), e);
+                }
+            });
     }
 
     /**
@@ -277,124 +267,4 @@ public final class SqlScriptParser {
             );
         }
     }
-
-    private static ProcessResult processChar(char c, char next, CommentParserState state) {
-        if (isLineCommentEnd(c, state)) {
-            return handleLineCommentEnd(state);
-        }
-
-        if (isNestedCommentStart(c, next, state)) {
-            return handleNestedCommentStart(state);
-        }
-
-        if (isNestedCommentEnd(c, next, state)) {
-            return handleNestedCommentEnd(state);
-        }
-
-        if (isInComment(state)) {
-            return ProcessResult.skip(0);
-        }
-
-        if (isStringDelimiter(c, state)) {
-            processStringDelimiter(c, state);
-            return ProcessResult.append();
-        }
-
-        if (isLineCommentStart(c, next, state)) {
-            return handleLineCommentStart(state);
-        }
-
-        return ProcessResult.append();
-    }
-
-    private static boolean isLineCommentEnd(char c, CommentParserState state) {
-        return isLineEnd(c) && state.inLineComment;
-    }
-
-    private static ProcessResult handleLineCommentEnd(CommentParserState state) {
-        state.inLineComment = false;
-        return ProcessResult.append();
-    }
-
-    private static boolean isNestedCommentStart(char c, char next, CommentParserState state) {
-        return !state.inAnyString() && c == '/' && next == '*';
-    }
-
-    private static ProcessResult handleNestedCommentStart(CommentParserState state) {
-        state.multiLineCommentDepth++;
-        return ProcessResult.skip(1);
-    }
-
-    private static boolean isNestedCommentEnd(char c, char next, CommentParserState state) {
-        return !state.inAnyString() && c == '*' && next == '/' && state.multiLineCommentDepth > 0;
-    }
-
-    private static ProcessResult handleNestedCommentEnd(CommentParserState state) {
-        state.multiLineCommentDepth--;
-        return ProcessResult.skip(1);
-    }
-
-    private static boolean isInComment(CommentParserState state) {
-        return state.inLineComment || state.multiLineCommentDepth > 0;
-    }
-
-    private static boolean isLineCommentStart(char c, char next, CommentParserState state) {
-        return !state.inAnyString() && c == '-' && next == '-';
-    }
-
-    private static ProcessResult handleLineCommentStart(CommentParserState state) {
-        state.inLineComment = true;
-        return ProcessResult.skip(1);
-    }
-
-    private static String removeComments(String content) {
-        StringBuilder processed = new StringBuilder();
-        CommentParserState state = new CommentParserState();
-        int i = 0;
-        
-        while (i < content.length()) {
-            char c = content.charAt(i);
-            char next = (i < content.length() - 1) ? content.charAt(i + 1) : '\0';
-            
-            ProcessResult result = processChar(c, next, state);
-            if (result.appendChar) {
-                processed.append(c);
-            }
-            
-            i += 1 + result.indexShift;
-        }
-        
-        return processed.toString();
-    }
-    
-    private static boolean isLineEnd(char c) {
-        return c == '\n' || c == '\r';
-    }
-
-    private static boolean isStringDelimiter(char c, CommentParserState state) {
-        return (c == '\'' && !state.inDoubleQuote) || (c == '"' && !state.inSingleQuote);
-    }
-
-    private static void processStringDelimiter(char c, CommentParserState state) {
-        if (c == '\'') {
-            state.inSingleQuote = !state.inSingleQuote;
-        } else if (c == '"') {
-            state.inDoubleQuote = !state.inDoubleQuote;
-        }
-    }
-
-    private static Map<Integer, String> parseStatements(String content) {
-        Map<Integer, String> statements = new HashMap<>();
-        String[] lines = content.replace("\r\n", "\n").split("\n");
-        StatementParser parser = new StatementParser(statements);
-        
-        for (String line : lines) {
-            line = line.trim();
-            if (line.isEmpty()) continue;
-            parser.processLine(line);
-        }
-        
-        parser.addRemainingStatement();
-        return statements;
-    }
 }
\ No newline at end of file
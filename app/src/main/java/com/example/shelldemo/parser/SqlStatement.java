@@ -12,23 +12,61 @@ public sealed interface SqlStatement
      */
     String getText();
     
+    /**
+     * Returns the 1-based source line the statement starts on, or 0 if unknown.
+     */
+    int getLine();
+    
+    /**
+     * Returns the character offset of the statement start in the script, or -1 if unknown.
+     */
+    long getOffset();
+    
     /**
      * Regular SQL statement ending with a semicolon.
      */
-    record RegularStatement(String text) implements SqlStatement {
+    record RegularStatement(String text, int line, long offset) implements SqlStatement {
+        public RegularStatement(String text) {
+            this(text, 0, -1);
+        }
+
         @Override
         public String getText() {
             return text;
         }
+
+        @Override
+        public int getLine() {
+            return line;
+        }
+
+        @Override
+        public long getOffset() {
+            return offset;
+        }
     }
     
     /**
      * PL/SQL block terminated with a forward slash.
      */
-    record PlSqlBlock(String text) implements SqlStatement {
+    record PlSqlBlock(String text, int line, long offset) implements SqlStatement {
+        public PlSqlBlock(String text) {
+            this(text, 0, -1);
+        }
+
         @Override
         public String getText() {
             return text;
         }
+
+        @Override
+        public int getLine() {
+            return line;
+        }
+
+        @Override
+        public long getOffset() {
+            return offset;
+        }
     }
 }
@@ -0,0 +1,181 @@
+package com.example.shelldemo.parser;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Ordered, array-backed list of parsed SQL statements.
+ *
+ * <p>Statements are kept in script order in parallel arrays holding the text, the
+ * source line and character offset where each statement starts, and its kind.
+ * Compared with a {@code HashMap<Integer, String>} there is no boxed key or entry
+ * object per statement, and iteration order is guaranteed.</p>
+ *
+ * <p>Indexes are 0-based; {@link #getStatementNumber(int)} gives the 1-based number
+ * used in log messages.</p>
+ */
+public final class SqlStatementList implements Iterable<SqlStatement> {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final byte KIND_REGULAR = 0;
+    private static final byte KIND_PLSQL = 1;
+
+    private String[] texts;
+    private int[] lines;
+    private long[] offsets;
+    private byte[] kinds;
+    private int size;
+
+    public SqlStatementList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public SqlStatementList(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 1);
+        this.texts = new String[capacity];
+        this.lines = new int[capacity];
+        this.offsets = new long[capacity];
+        this.kinds = new byte[capacity];
+    }
+
+    /**
+     * Appends a statement, keeping its source position and kind.
+     */
+    public void add(SqlStatement statement) {
+        ensureCapacity(size + 1);
+        texts[size] = statement.getText();
+        lines[size] = statement.getLine();
+        offsets[size] = statement.getOffset();
+        kinds[size] = statement instanceof SqlStatement.PlSqlBlock ? KIND_PLSQL : KIND_REGULAR;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the statement at the given position as a {@link SqlStatement}.
+     */
+    public SqlStatement get(int index) {
+        checkIndex(index);
+        return kinds[index] == KIND_PLSQL
+            ? new SqlStatement.PlSqlBlock(texts[index], lines[index], offsets[index])
+            : new SqlStatement.RegularStatement(texts[index], lines[index], offsets[index]);
+    }
+
+    public String getText(int index) {
+        checkIndex(index);
+        return texts[index];
+    }
+
+    public int getLine(int index) {
+        checkIndex(index);
+        return lines[index];
+    }
+
+    public long getOffset(int index) {
+        checkIndex(index);
+        return offsets[index];
+    }
+
+    public boolean isPlSqlBlock(int index) {
+        checkIndex(index);
+        return kinds[index] == KIND_PLSQL;
+    }
+
+    public int getStatementNumber(int index) {
+        checkIndex(index);
+        return index + 1;
+    }
+
+    /**
+     * Returns a read-only, ordered view of the statement texts.
+     */
+    public List<String> texts() {
+        return new TextView();
+    }
+
+    public Stream<SqlStatement> stream() {
+        return StreamSupport.stream(
+            Spliterators.spliterator(iterator(), size, Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.SIZED),
+            false);
+    }
+
+    @Override
+    public Iterator<SqlStatement> iterator() {
+        return new Iterator<>() {
+            private int cursor;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < size;
+            }
+
+            @Override
+            public SqlStatement next() {
+                if (cursor >= size) {
+                    throw new NoSuchElementException();
+                }
+                return get(cursor++);
+            }
+        };
+    }
+
+    /**
+     * Releases unused array capacity once parsing is complete.
+     */
+    public void trimToSize() {
+        if (texts.length > size && size > 0) {
+            texts = Arrays.copyOf(texts, size);
+            lines = Arrays.copyOf(lines, size);
+            offsets = Arrays.copyOf(offsets, size);
+            kinds = Arrays.copyOf(kinds, size);
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= texts.length) {
+            return;
+        }
+        int capacity = Math.max(required, texts.length + (texts.length >> 1));
+        texts = Arrays.copyOf(texts, capacity);
+        lines = Arrays.copyOf(lines, capacity);
+        offsets = Arrays.copyOf(offsets, capacity);
+        kinds = Arrays.copyOf(kinds, capacity);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Statement index " + index + " out of range [0, " + size + ")");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SqlStatementList[size=" + size + "]";
+    }
+
+    private final class TextView extends AbstractList<String> implements RandomAccess {
+        @Override
+        public String get(int index) {
+            return getText(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
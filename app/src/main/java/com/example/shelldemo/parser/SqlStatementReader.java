@@ -0,0 +1,127 @@
+package com.example.shelldemo.parser;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.example.shelldemo.exception.DatabaseException;
+import com.example.shelldemo.exception.DatabaseException.ErrorType;
+
+/**
+ * Streaming SQL script reader.
+ *
+ * <p>Reads the script through a fixed-size character window and hands each chunk to
+ * a {@link SqlLexer}, which strips comments and splits statements in a single pass.
+ * Only the statement currently being assembled and the statements completed by the
+ * last chunk are held in memory, so heap usage does not grow with the size of the
+ * script.</p>
+ */
+public final class SqlStatementReader implements Iterator<SqlStatement>, Closeable {
+    private static final Logger logger = LogManager.getLogger(SqlStatementReader.class);
+
+    /** Default size of the character window, in chars. */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final Reader source;
+    private final char[] buffer;
+    private final ArrayDeque<SqlStatement> pending = new ArrayDeque<>();
+    private final SqlLexer lexer = new SqlLexer(this::onStatement);
+    private int statementCount;
+    private boolean finished;
+
+    /**
+     * Creates a reader over an arbitrary character source.
+     *
+     * @param source the script text
+     */
+    public SqlStatementReader(Reader source) {
+        this(source, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a reader over an arbitrary character source with a custom window size.
+     *
+     * @param source the script text
+     * @param bufferSize size of the character window
+     */
+    public SqlStatementReader(Reader source, int bufferSize) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Buffer size must be positive");
+        }
+        this.source = source;
+        this.buffer = new char[bufferSize];
+    }
+
+    /**
+     * Opens a streaming reader over a script file.
+     *
+     * @param scriptFile the script to read
+     * @return a reader that must be closed by the caller
+     */
+    public static SqlStatementReader open(File scriptFile) {
+        try {
+            Reader reader = new InputStreamReader(Files.newInputStream(scriptFile.toPath()), Charset.defaultCharset());
+            logger.debug("Opened streaming SQL reader for {}", scriptFile.getName());
+            return new SqlStatementReader(reader);
+        } catch (IOException e) {
+            throw new DatabaseException("Failed to open SQL file: " + scriptFile.getName(), e, ErrorType.PARSE_SQL);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (pending.isEmpty() && !finished) {
+            advance();
+        }
+        return !pending.isEmpty();
+    }
+
+    @Override
+    public SqlStatement next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more SQL statements");
+        }
+        return pending.poll();
+    }
+
+    @Override
+    public void close() throws IOException {
+        source.close();
+    }
+
+    /**
+     * Reads and lexes the next chunk of input, finishing the script at end of input.
+     */
+    private void advance() {
+        try {
+            int read = source.read(buffer, 0, buffer.length);
+            if (read < 0) {
+                lexer.finish();
+                finished = true;
+                logger.info("Successfully parsed {} SQL statements", statementCount);
+            } else {
+                lexer.feed(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new DatabaseException("Failed to read SQL script", e, ErrorType.PARSE_SQL);
+        }
+    }
+
+    private void onStatement(CharSequence text, int line, long start, long end, boolean plsql) {
+        String sql = text.toString();
+        pending.add(plsql
+            ? new SqlStatement.PlSqlBlock(sql, line, start)
+            : new SqlStatement.RegularStatement(sql, line, start));
+        statementCount++;
+    }
+}
@@ -0,0 +1,270 @@
+package com.example.shelldemo.parser;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Tables a statement reads and writes, as far as they can be told from its text.
+ *
+ * <p>Plain {@code SELECT}, {@code INSERT}, {@code UPDATE}, {@code DELETE} and
+ * {@code MERGE} statements are analyzed: the target of a DML statement is written and
+ * every table named after {@code FROM}, {@code JOIN} or {@code USING} is read. Anything
+ * else, including DDL, PL/SQL blocks, procedure calls, session and transaction control,
+ * is a barrier that must not be reordered with any other statement. So is a statement
+ * that calls a function other than a common built-in, since the function may read or
+ * write any table.</p>
+ *
+ * <p>Tables are identified by their unqualified name, so {@code hr.emp} and
+ * {@code emp} are treated as the same table.</p>
+ *
+ * <p>The analysis only sees the names in the statement text. Tables reached through
+ * views, synonyms, triggers, foreign key checks and cascades are not seen, so two
+ * statements reported as independent may still conflict in the database. Reordering
+ * statements on this basis is therefore only safe for scripts known to avoid those.</p>
+ */
+public record TableAccess(Set<String> reads, Set<String> writes, boolean barrier) {
+
+    private static final TableAccess BARRIER = new TableAccess(Set.of(), Set.of(), true);
+
+    private static final Set<String> CLAUSE_KEYWORDS = Set.of(
+        "WHERE", "JOIN", "INNER", "LEFT", "RIGHT", "FULL", "OUTER", "CROSS", "NATURAL", "ON",
+        "GROUP", "ORDER", "HAVING", "UNION", "INTERSECT", "EXCEPT", "MINUS", "LIMIT", "OFFSET",
+        "FETCH", "FOR", "CONNECT", "START", "WINDOW", "SET", "VALUES", "USING", "WHEN",
+        "RETURNING", "PARTITION", "SAMPLE", "LATERAL", "QUALIFY", "MODEL", "PIVOT", "UNPIVOT");
+
+    /**
+     * Words that may be followed by {@code (} without calling a user-defined function:
+     * keywords, type names in casts, and built-in functions without side effects.
+     */
+    private static final Set<String> NON_CALL_WORDS = Set.of(
+        "SELECT", "INSERT", "VALUES", "IN", "EXISTS", "AS", "AND", "OR", "NOT", "ANY", "ALL",
+        "SOME", "FROM", "OVER", "WITHIN", "FILTER", "KEEP", "THEN", "ELSE", "WHEN", "CASE",
+        "IS", "LIKE", "BETWEEN", "TABLE", "ROW", "INTO",
+        "CHAR", "VARCHAR", "VARCHAR2", "NCHAR", "NVARCHAR", "NVARCHAR2", "NUMBER", "NUMERIC",
+        "DECIMAL", "FLOAT", "RAW", "TIMESTAMP", "INTERVAL",
+        "COUNT", "SUM", "MIN", "MAX", "AVG", "COALESCE", "NVL", "NVL2", "NULLIF", "DECODE",
+        "CAST", "CONVERT", "UPPER", "LOWER", "TRIM", "LTRIM", "RTRIM", "SUBSTR", "SUBSTRING",
+        "LENGTH", "REPLACE", "CONCAT", "ROUND", "TRUNC", "FLOOR", "CEIL", "ABS", "MOD",
+        "GREATEST", "LEAST", "TO_CHAR", "TO_DATE", "TO_NUMBER", "TO_TIMESTAMP", "EXTRACT",
+        "INSTR", "POSITION", "LPAD", "RPAD", "ROW_NUMBER", "RANK", "DENSE_RANK", "LAG", "LEAD",
+        "LISTAGG", "STRING_AGG", "NOW");
+
+    /**
+     * Returns whether this statement must run after {@code earlier} to keep script semantics.
+     */
+    public boolean conflictsWith(TableAccess earlier) {
+        if (barrier || earlier.barrier) {
+            return true;
+        }
+        for (String table : writes) {
+            if (earlier.reads.contains(table) || earlier.writes.contains(table)) {
+                return true;
+            }
+        }
+        for (String table : reads) {
+            if (earlier.writes.contains(table)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Analyzes a parsed statement.
+     */
+    public static TableAccess of(SqlStatement statement) {
+        return switch (statement) {
+            case SqlStatement.PlSqlBlock block -> BARRIER;
+            case SqlStatement.RegularStatement regular -> of(regular.getText());
+        };
+    }
+
+    /**
+     * Analyzes the text of a single SQL statement.
+     */
+    public static TableAccess of(String sql) {
+        List<String> tokens = tokenize(sql);
+        if (tokens.isEmpty()) {
+            return BARRIER;
+        }
+        String target = switch (tokens.get(0)) {
+            case "SELECT" -> "";
+            case "WITH" -> tokens.contains("INSERT") || tokens.contains("UPDATE")
+                || tokens.contains("DELETE") || tokens.contains("MERGE") ? null : "";
+            case "INSERT", "MERGE" -> "INTO".equals(token(tokens, 1)) ? tableName(token(tokens, 2)) : null;
+            case "UPDATE" -> tableName("ONLY".equals(token(tokens, 1)) ? token(tokens, 2) : token(tokens, 1));
+            case "DELETE" -> tableName("FROM".equals(token(tokens, 1)) ? token(tokens, 2) : token(tokens, 1));
+            default -> null;
+        };
+        if (target == null || callsFunction(tokens)) {
+            return BARRIER;
+        }
+        Set<String> reads = new HashSet<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            if ("FROM".equals(token)) {
+                i = readTableList(tokens, i + 1, reads);
+            } else if ("JOIN".equals(token) || "USING".equals(token)) {
+                String table = tableName(token(tokens, i + 1));
+                if (table != null) {
+                    reads.add(table);
+                }
+            }
+        }
+        return new TableAccess(reads, target.isEmpty() ? Set.of() : Set.of(target), false);
+    }
+
+    /**
+     * Reads a comma-separated list of tables with optional aliases.
+     *
+     * @return index of the last token consumed
+     */
+    private static int readTableList(List<String> tokens, int start, Set<String> reads) {
+        int i = start;
+        while (true) {
+            String table = tableName(token(tokens, i));
+            if (table == null) {
+                return i - 1;
+            }
+            reads.add(table);
+            i++;
+            if ("AS".equals(token(tokens, i))) {
+                i += 2;
+            } else if (isAlias(token(tokens, i))) {
+                i++;
+            }
+            if (!",".equals(token(tokens, i))) {
+                return i - 1;
+            }
+            i++;
+        }
+    }
+
+    /**
+     * Returns whether a word other than the column list of an {@code INTO} target or a
+     * {@link #NON_CALL_WORDS} entry is followed by {@code (}.
+     */
+    private static boolean callsFunction(List<String> tokens) {
+        for (int i = 0; i + 1 < tokens.size(); i++) {
+            String token = tokens.get(i);
+            if ("(".equals(tokens.get(i + 1)) && isWord(token)
+                    && !NON_CALL_WORDS.contains(token) && !CLAUSE_KEYWORDS.contains(token)
+                    && !(i > 0 && "INTO".equals(tokens.get(i - 1)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isAlias(String token) {
+        return token != null && isWord(token) && !CLAUSE_KEYWORDS.contains(token);
+    }
+
+    private static String token(List<String> tokens, int index) {
+        return index < tokens.size() ? tokens.get(index) : null;
+    }
+
+    private static boolean isWord(String token) {
+        char first = token.charAt(0);
+        return first == '"' || Character.isLetterOrDigit(first) || first == '_' || first == '$' || first == '#';
+    }
+
+    /**
+     * Returns the unqualified table name of an identifier token, or null if it is not one.
+     */
+    private static String tableName(String token) {
+        if (token == null || !isWord(token)) {
+            return null;
+        }
+        String name = token.substring(token.lastIndexOf('.') + 1);
+        return name.startsWith("\"") ? name.substring(1) : name;
+    }
+
+    /**
+     * Splits a statement into upper-cased words, dotted identifiers with quotes removed,
+     * and one token per other non-blank character. String literals are skipped.
+     */
+    private static List<String> tokenize(String sql) {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder identifier = new StringBuilder();
+        int length = sql.length();
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                i = skipLiteral(sql, i + 1);
+            } else if (c == '"' || isIdentifierChar(c)) {
+                identifier.setLength(0);
+                i = readIdentifier(sql, i, identifier);
+                tokens.add(identifier.toString());
+            } else {
+                if (!Character.isWhitespace(c)) {
+                    tokens.add(String.valueOf(c));
+                }
+                i++;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Reads a possibly dotted identifier, upper-casing unquoted parts.
+     * A leading {@code "} marks the token as a word even after quotes are removed.
+     *
+     * @return index after the identifier
+     */
+    private static int readIdentifier(String sql, int start, StringBuilder out) {
+        int length = sql.length();
+        int i = start;
+        boolean first = true;
+        while (true) {
+            if (i < length && sql.charAt(i) == '"') {
+                int end = sql.indexOf('"', i + 1);
+                end = end < 0 ? length : end;
+                out.append(first ? "\"" : "").append(sql, i + 1, end);
+                i = Math.min(end + 1, length);
+            } else {
+                int end = i;
+                while (end < length && isIdentifierChar(sql.charAt(end))) {
+                    end++;
+                }
+                out.append(sql.substring(i, end).toUpperCase(Locale.ROOT));
+                i = end;
+            }
+            first = false;
+            int next = i;
+            while (next < length && Character.isWhitespace(sql.charAt(next))) {
+                next++;
+            }
+            if (next + 1 < length && sql.charAt(next) == '.'
+                    && (sql.charAt(next + 1) == '"' || isIdentifierChar(sql.charAt(next + 1)))) {
+                out.append('.');
+                i = next + 1;
+            } else {
+                return i;
+            }
+        }
+    }
+
+    private static int skipLiteral(String sql, int start) {
+        int i = start;
+        while (i < sql.length()) {
+            if (sql.charAt(i) == '\'') {
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == '\'') {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isIdentifierChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '#' || c == '@';
+    }
+}
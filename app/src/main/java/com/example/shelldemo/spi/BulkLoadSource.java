@@ -0,0 +1,30 @@
+package com.example.shelldemo.spi;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Rows to bulk load into a table, read once from first to last.
+ *
+ * @see DatabaseVendor#bulkLoad
+ */
+public interface BulkLoadSource extends Closeable {
+
+    /**
+     * A source column, loaded into the table column of the same name.
+     *
+     * @param name the column name
+     * @param sqlType the {@link java.sql.Types} of its values; {@code VARCHAR} for text sources
+     */
+    record Column(String name, int sqlType) {}
+
+    List<Column> columns();
+
+    /**
+     * Returns the values of the next row in column order, or null after the last row.
+     * Values are {@link String}, {@link Number}, {@link Boolean}, {@code byte[]} or
+     * {@code java.time} dates and times; SQL NULL is null.
+     */
+    Object[] nextRow() throws IOException;
+}
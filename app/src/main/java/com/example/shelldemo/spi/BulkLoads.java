@@ -0,0 +1,277 @@
+package com.example.shelldemo.spi;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Shared pieces of the vendor bulk load and export paths.
+ *
+ * <p>Drivers other than Oracle's are loaded at run time from {@code --driver-path}, so
+ * their native bulk APIs are reached by name through reflection rather than compiled
+ * against.</p>
+ */
+final class BulkLoads {
+    private static final Logger logger = LogManager.getLogger(BulkLoads.class);
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][\\w$#]*|\"[^\"]+\"");
+    private static final HexFormat HEX = HexFormat.of();
+
+    private BulkLoads() {}
+
+    /**
+     * Checks that a table or column name is a plain or quoted identifier, as it is
+     * written into the load statement.
+     */
+    static String identifier(String name, boolean qualified) {
+        for (String part : qualified ? nameParts(name) : List.of(name)) {
+            if (!IDENTIFIER.matcher(part).matches()) {
+                throw new IllegalArgumentException("Not a valid identifier for bulk loading: " + name);
+            }
+        }
+        return name;
+    }
+
+    /**
+     * Splits a qualified name at the dots outside double quotes, keeping the quotes, so
+     * {@code "my.schema".T} has the parts {@code "my.schema"} and {@code T}.
+     */
+    static List<String> nameParts(String name) {
+        List<String> parts = new ArrayList<>();
+        boolean quoted = false;
+        int start = 0;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == '.' && !quoted) {
+                parts.add(name.substring(start, i));
+                start = i + 1;
+            }
+        }
+        parts.add(name.substring(start));
+        return parts;
+    }
+
+    static String columnList(List<BulkLoadSource.Column> columns) {
+        return String.join(", ", columns.stream().map(column -> identifier(column.name(), false)).toList());
+    }
+
+    /**
+     * Loads rows with batched executions of one INSERT statement, committing nothing.
+     */
+    static long batchInsert(Connection connection, String insertSql, BulkLoadSource source, int batchSize)
+            throws SQLException, IOException {
+        long rows = 0;
+        try (PreparedStatement stmt = connection.prepareStatement(insertSql)) {
+            Object[] row;
+            while ((row = source.nextRow()) != null) {
+                for (int i = 0; i < row.length; i++) {
+                    stmt.setObject(i + 1, row[i]);
+                }
+                stmt.addBatch();
+                if (++rows % batchSize == 0) {
+                    stmt.executeBatch();
+                    logger.debug("Bulk loaded {} rows", rows);
+                }
+            }
+            if (rows % batchSize != 0) {
+                stmt.executeBatch();
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Returns the driver's own connection, unwrapping pool proxies, as native bulk APIs
+     * only accept that.
+     */
+    static Connection physicalConnection(Connection connection) throws SQLException {
+        Connection physical = connection.getMetaData().getConnection();
+        return physical != null ? physical : connection;
+    }
+
+    /**
+     * Loads a driver class by name through the class loader of the driver's connection.
+     */
+    static Class<?> driverClass(Connection physical, String className) throws SQLException {
+        try {
+            return Class.forName(className, true, physical.getClass().getClassLoader());
+        } catch (ClassNotFoundException e) {
+            throw new SQLFeatureNotSupportedException("Driver does not provide " + className, e);
+        }
+    }
+
+    /**
+     * Invokes a public driver method by name, rethrowing what it throws.
+     */
+    static Object invoke(Object target, Class<?> type, String methodName, Class<?>[] parameterTypes, Object... args)
+            throws SQLException, IOException {
+        Method method;
+        try {
+            method = type.getMethod(methodName, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            throw new SQLFeatureNotSupportedException("Driver does not provide " + type.getName() + "." + methodName, e);
+        }
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw rethrow(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new SQLFeatureNotSupportedException("Cannot call " + type.getName() + "." + methodName, e);
+        }
+    }
+
+    /**
+     * Creates a driver object with a public constructor, rethrowing what it throws.
+     */
+    static Object construct(Class<?> type, Class<?>[] parameterTypes, Object... args) throws SQLException, IOException {
+        try {
+            return type.getConstructor(parameterTypes).newInstance(args);
+        } catch (InvocationTargetException e) {
+            throw rethrow(e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new SQLFeatureNotSupportedException("Cannot create " + type.getName(), e);
+        }
+    }
+
+    private static SQLException rethrow(Throwable cause) throws IOException {
+        return switch (cause) {
+            case SQLException e -> e;
+            case IOException e -> throw e;
+            case UncheckedIOException e -> throw e.getCause();
+            case RuntimeException e -> throw e;
+            case Error e -> throw e;
+            default -> new SQLException(cause.getMessage(), cause);
+        };
+    }
+
+    /**
+     * Renders the rows of a source as UTF-8 CSV, one line at a time as it is read.
+     * Every value is quoted, so a null can be told from an empty string, and binary
+     * values are written as hex after {@code binaryPrefix}.
+     */
+    static final class CsvRowStream extends InputStream {
+        private static final int ROWS_PER_FILL = 256;
+
+        private final BulkLoadSource source;
+        private final String nullToken;
+        private final String binaryPrefix;
+        private final StringBuilder text = new StringBuilder();
+        private byte[] buffer = new byte[0];
+        private int position;
+        private boolean exhausted;
+
+        CsvRowStream(BulkLoadSource source, String nullToken, String binaryPrefix) {
+            this.source = source;
+            this.nullToken = nullToken;
+            this.binaryPrefix = binaryPrefix;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return position < buffer.length || fill() ? buffer[position++] & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (position == buffer.length && !fill()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.length - position);
+            System.arraycopy(buffer, position, target, offset, count);
+            position += count;
+            return count;
+        }
+
+        private boolean fill() throws IOException {
+            text.setLength(0);
+            Object[] row;
+            for (int i = 0; i < ROWS_PER_FILL && !exhausted; i++) {
+                if ((row = source.nextRow()) == null) {
+                    exhausted = true;
+                    break;
+                }
+                for (int c = 0; c < row.length; c++) {
+                    if (c > 0) {
+                        text.append(',');
+                    }
+                    appendValue(row[c]);
+                }
+                text.append('\n');
+            }
+            buffer = text.toString().getBytes(StandardCharsets.UTF_8);
+            position = 0;
+            return buffer.length > 0;
+        }
+
+        private void appendValue(Object value) {
+            if (value == null) {
+                text.append(nullToken);
+                return;
+            }
+            String rendered = value instanceof byte[] bytes ? binaryPrefix + HEX.formatHex(bytes) : value.toString();
+            text.append('"').append(rendered.replace("\"", "\"\"")).append('"');
+        }
+    }
+
+    /**
+     * Converts a text value to the Java type a driver expects for a SQL type; other
+     * values and unknown types are returned unchanged, with {@code java.time} values
+     * turned into their {@code java.sql} equivalents.
+     *
+     * @throws IllegalArgumentException if the text is not a valid value of the type
+     */
+    static Object convert(Object value, int sqlType) {
+        return switch (value) {
+            case LocalDateTime dateTime -> Timestamp.valueOf(dateTime);
+            case LocalDate date -> Date.valueOf(date);
+            case LocalTime time -> Time.valueOf(time);
+            case String text when !text.isBlank() -> switch (sqlType) {
+                case Types.TINYINT, Types.SMALLINT, Types.INTEGER -> Integer.valueOf(text.trim());
+                case Types.BIGINT -> Long.valueOf(text.trim());
+                case Types.DECIMAL, Types.NUMERIC -> new BigDecimal(text.trim());
+                case Types.REAL, Types.FLOAT, Types.DOUBLE -> Double.valueOf(text.trim());
+                case Types.BIT, Types.BOOLEAN -> "1".equals(text.trim()) || Boolean.parseBoolean(text.trim());
+                case Types.DATE -> Date.valueOf(text.trim());
+                case Types.TIME -> Time.valueOf(text.trim());
+                case Types.TIMESTAMP -> Timestamp.valueOf(text.trim().replace('T', ' '));
+                case Types.BINARY, Types.VARBINARY, Types.LONGVARBINARY, Types.BLOB -> HEX.parseHex(text.trim());
+                default -> text;
+            };
+            case null, default -> value;
+        };
+    }
+
+    /**
+     * Whether values of a SQL type are binary.
+     */
+    static boolean isBinary(int sqlType) {
+        return sqlType == Types.BINARY || sqlType == Types.VARBINARY
+            || sqlType == Types.LONGVARBINARY || sqlType == Types.BLOB;
+    }
+}
@@ -1,6 +1,15 @@
 package com.example.shelldemo.spi;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.List;
 import java.util.Properties;
 
 /**
@@ -40,6 +49,151 @@ public sealed interface DatabaseVendor
         // Default implementation does nothing
     }
     
+    /**
+     * Prepares a statement to stream a large result set with bounded memory.
+     * The default passes the fetch size to the driver as a row-prefetch hint.
+     * 
+     * @param statement the statement about to be executed
+     * @param fetchSize number of rows to fetch per round-trip
+     * @throws SQLException if the driver rejects the setting
+     */
+    default void configureStreaming(Statement statement, int fetchSize) throws SQLException {
+        statement.setFetchSize(fetchSize);
+    }
+    
+    /**
+     * Changes the fetch size of an open result set for its remaining round-trips.
+     * The default passes it to the driver.
+     * 
+     * @param resultSet the result set being read
+     * @param fetchSize number of rows to fetch per round-trip
+     * @throws SQLException if the driver rejects the setting
+     */
+    default void adjustFetchSize(ResultSet resultSet, int fetchSize) throws SQLException {
+        resultSet.setFetchSize(fetchSize);
+    }
+    
+    /**
+     * Sets how many bytes of each LOB are returned with its row, saving a round-trip
+     * per LOB value. The default does nothing, as most drivers have no such setting.
+     * 
+     * @param statement the statement about to be executed
+     * @param lobPrefetchSize bytes to prefetch per LOB value
+     * @throws SQLException if the driver rejects the setting
+     */
+    default void configureLobPrefetch(Statement statement, int lobPrefetchSize) throws SQLException {
+        // Default implementation does nothing
+    }
+    
+    /**
+     * Whether the driver only honours the fetch size while auto-commit is off,
+     * and otherwise reads the whole result set into memory.
+     */
+    default boolean requiresTransactionForStreaming() {
+        return false;
+    }
+    
+    /**
+     * Restricts a query to one page of rows.
+     * The default appends {@code LIMIT} and {@code OFFSET}, as PostgreSQL and MySQL accept.
+     * 
+     * @param sql the query, including its ORDER BY if any
+     * @param offset number of rows to skip
+     * @param limit maximum number of rows to return
+     * @return the query returning only the requested rows
+     */
+    default String paginate(String sql, long offset, int limit) {
+        return offset > 0
+            ? sql + " LIMIT " + limit + " OFFSET " + offset
+            : sql + " LIMIT " + limit;
+    }
+    
+    /**
+     * Binds a value that was a string literal in the original statement.
+     * The default binds it as a character string.
+     * 
+     * @param statement the prepared statement
+     * @param index 1-based parameter index
+     * @param value the literal text
+     * @throws SQLException if the value cannot be bound
+     */
+    default void bindStringLiteral(PreparedStatement statement, int index, String value) throws SQLException {
+        statement.setString(index, value);
+    }
+    
+    /**
+     * Loads rows into an existing table through the fastest path the driver offers,
+     * inside the caller's transaction. The default sends batches of the
+     * {@link #bulkInsertSql} statement.
+     * 
+     * @param connection the connection, with auto-commit off
+     * @param table the target table, optionally schema-qualified
+     * @param source the rows; its column names must be columns of the table
+     * @param batchSize rows sent per round-trip where the path is batched
+     * @return the number of rows loaded
+     * @throws SQLException if the load fails
+     * @throws IOException if the source cannot be read
+     */
+    default long bulkLoad(Connection connection, String table, BulkLoadSource source, int batchSize)
+            throws SQLException, IOException {
+        return BulkLoads.batchInsert(connection, bulkInsertSql(table, source.columns()), source, batchSize);
+    }
+    
+    /**
+     * Writes the rows of a query as CSV with a header line, produced by the server
+     * itself where the engine can export without a JDBC cursor. The default has no
+     * such path and writes nothing, so the caller reads a result set instead.
+     * 
+     * @param connection the connection
+     * @param query the query, without bind parameters or a trailing semicolon
+     * @param out where the CSV is written
+     * @return the number of rows written, or -1 if there is no native export
+     * @throws SQLException if the export fails
+     * @throws IOException if the CSV cannot be written
+     */
+    default long exportCsv(Connection connection, String query, Writer out) throws SQLException, IOException {
+        return -1;
+    }
+    
+    /**
+     * Cuts a table into about {@code count} chunks of similar size by where its rows are
+     * stored, so parallel workers get even work units whatever the distribution of
+     * the keys and without an index. The default has no such path.
+     * 
+     * @param connection the connection
+     * @param table the table, optionally schema-qualified
+     * @param count the number of chunks wanted
+     * @return the chunks, at least one, which together cover the rows stored when they were cut
+     * @throws SQLFeatureNotSupportedException if rows cannot be addressed physically
+     * @throws SQLException if the storage of the table cannot be read
+     */
+    default List<PhysicalChunk> physicalChunks(Connection connection, String table, int count) throws SQLException {
+        throw new SQLFeatureNotSupportedException(getVendorName() + " tables cannot be split into physical chunks");
+    }
+    
+    /**
+     * Pins the current committed state of the database on a coordinating connection,
+     * for parallel readers that must see one consistent image. The coordinating
+     * connection is held by the snapshot until it is closed. The default has no such
+     * path.
+     * 
+     * @param coordinator a connection not in a transaction, used for nothing else until the snapshot is closed
+     * @return the snapshot, for readers to join
+     * @throws SQLFeatureNotSupportedException if connections cannot share a snapshot
+     * @throws SQLException if the snapshot cannot be taken
+     */
+    default ReadSnapshot openSnapshot(Connection coordinator) throws SQLException {
+        throw new SQLFeatureNotSupportedException(getVendorName() + " connections cannot share a read snapshot");
+    }
+    
+    /**
+     * Builds the parameterized INSERT used by the default {@link #bulkLoad}.
+     */
+    default String bulkInsertSql(String table, List<BulkLoadSource.Column> columns) {
+        return "INSERT INTO " + BulkLoads.identifier(table, true) + " (" + BulkLoads.columnList(columns)
+            + ") VALUES (" + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+    }
+    
     /**
      * Tests if a SQL statement is vendor-specific PL/SQL.
      * 
@@ -1,5 +1,13 @@
 package com.example.shelldemo.spi;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
 import java.util.regex.Pattern;
 
@@ -39,9 +47,29 @@ public final class MySqlVendor implements DatabaseVendor {
         props.setProperty("useUnicode", "true");
         props.setProperty("characterEncoding", "UTF-8");
         props.setProperty("serverTimezone", "UTC");
+        // Driver-side cache of parsed statements, like Oracle's implicit statement cache
+        props.setProperty("cachePrepStmts", "true");
+        props.setProperty("prepStmtCacheSize", "250");
         return props;
     }
 
+    /**
+     * Connector/J ignores positive fetch sizes unless useCursorFetch is set;
+     * Integer.MIN_VALUE switches it to row-by-row streaming.
+     */
+    @Override
+    public void configureStreaming(Statement statement, int fetchSize) throws SQLException {
+        statement.setFetchSize(Integer.MIN_VALUE);
+    }
+
+    /**
+     * Keeps row-by-row streaming; a positive fetch size would be ignored anyway.
+     */
+    @Override
+    public void adjustFetchSize(ResultSet resultSet, int fetchSize) {
+        // Streaming result sets have no fetch size to adjust
+    }
+
     public boolean isPLSQL(String sql) {
         if (sql == null || sql.isEmpty()) {
             return false;
@@ -56,4 +84,42 @@ public final class MySqlVendor implements DatabaseVendor {
     public int getDefaultPort() {
         return 3306;
     }
+
+    /**
+     * Streams the rows as CSV through {@code LOAD DATA LOCAL INFILE}, handing the driver
+     * the stream instead of a file. Binary columns are sent as hex and decoded with
+     * {@code UNHEX}. Connector/J only allows this with {@code allowLoadLocalInfile=true}
+     * in the connection properties, which is off by default because it also lets the
+     * server ask for local files.
+     */
+    @Override
+    public long bulkLoad(Connection connection, String table, BulkLoadSource source, int batchSize)
+            throws SQLException, IOException {
+        List<String> targets = new ArrayList<>();
+        List<String> assignments = new ArrayList<>();
+        for (BulkLoadSource.Column column : source.columns()) {
+            String name = BulkLoads.identifier(column.name(), false).replace('"', '`');
+            if (BulkLoads.isBinary(column.sqlType())) {
+                String variable = "@bulk_" + targets.size();
+                targets.add(variable);
+                assignments.add(name + " = UNHEX(" + variable + ")");
+            } else {
+                targets.add(name);
+            }
+        }
+        String loadSql = "LOAD DATA LOCAL INFILE 'bulk-load.csv' INTO TABLE "
+            + BulkLoads.identifier(table, true).replace('"', '`')
+            + " CHARACTER SET utf8mb4 FIELDS TERMINATED BY ',' OPTIONALLY ENCLOSED BY '\"' ESCAPED BY ''"
+            + " LINES TERMINATED BY '\\n' (" + String.join(", ", targets) + ")"
+            + (assignments.isEmpty() ? "" : " SET " + String.join(", ", assignments));
+
+        Connection physical = BulkLoads.physicalConnection(connection);
+        Class<?> jdbcStatement = BulkLoads.driverClass(physical, "com.mysql.cj.jdbc.JdbcStatement");
+        try (Statement stmt = physical.createStatement()) {
+            // With an enclosing quote set, only the unquoted word NULL is read as SQL NULL
+            BulkLoads.invoke(stmt.unwrap(jdbcStatement), jdbcStatement, "setLocalInfileInputStream",
+                new Class<?>[] {InputStream.class}, new BulkLoads.CsvRowStream(source, "NULL", ""));
+            return stmt.executeLargeUpdate(loadSql);
+        }
+    }
 }
@@ -1,14 +1,22 @@
 package com.example.shelldemo.spi;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 import java.util.Properties;
 import java.util.regex.Pattern;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import oracle.jdbc.OraclePreparedStatement;
+import oracle.jdbc.OracleStatement;
+
 /**
  * Oracle database vendor implementation.
  */
@@ -21,6 +29,25 @@ public final class OracleVendor implements DatabaseVendor {
         Pattern.CASE_INSENSITIVE
     );
     
+    private static final String EXTENTS_SQL = """
+        SELECT o.data_object_id, e.relative_fno, e.block_id, e.blocks
+        FROM dba_extents e
+        JOIN dba_objects o ON o.owner = e.owner AND o.object_name = e.segment_name
+            AND o.object_type = e.segment_type AND DECODE(o.subobject_name, e.partition_name, 1, 0) = 1
+        WHERE e.owner = COALESCE(?, SYS_CONTEXT('USERENV', 'CURRENT_SCHEMA')) AND e.segment_name = ?
+            AND e.segment_type IN ('TABLE', 'TABLE PARTITION', 'TABLE SUBPARTITION')
+        ORDER BY o.data_object_id, e.relative_fno, e.block_id
+        """;
+    private static final String ROWID_RANGE = "ROWID BETWEEN CHARTOROWID(?) AND CHARTOROWID(?)";
+    private static final String ROWID_DIGITS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+    /** Highest row number in a block, as {@code DBMS_PARALLEL_EXECUTE} uses for range ends. */
+    private static final int MAX_ROW = 32767;
+
+    /**
+     * Blocks of a table segment from {@code DBA_EXTENTS}.
+     */
+    record Extent(long dataObjectId, long relativeFile, long firstBlock, long blocks) {}
+
     @Override
     public String getVendorName() {
         return "oracle";
@@ -62,6 +89,36 @@ public final class OracleVendor implements DatabaseVendor {
         }
     }
 
+    /**
+     * Uses the row limiting clause of Oracle 12c and later.
+     */
+    @Override
+    public String paginate(String sql, long offset, int limit) {
+        return (offset > 0 ? sql + " OFFSET " + offset + " ROWS" : sql)
+            + " FETCH NEXT " + limit + " ROWS ONLY";
+    }
+
+    @Override
+    public void configureLobPrefetch(Statement statement, int lobPrefetchSize) throws SQLException {
+        if (statement.isWrapperFor(OracleStatement.class)) {
+            statement.unwrap(OracleStatement.class).setLobPrefetchSize(lobPrefetchSize);
+        }
+    }
+
+    /**
+     * Binds with fixed CHAR semantics, as Oracle compares a quoted literal: against a
+     * blank-padded CHAR column a varchar parameter would not match, e.g. {@code 'A'}
+     * against a {@code CHAR(3)} value stored as {@code 'A  '}.
+     */
+    @Override
+    public void bindStringLiteral(PreparedStatement statement, int index, String value) throws SQLException {
+        if (statement.isWrapperFor(OraclePreparedStatement.class)) {
+            statement.unwrap(OraclePreparedStatement.class).setFixedCHAR(index, value);
+        } else {
+            statement.setString(index, value);
+        }
+    }
+
     @Override
     public boolean isPLSQL(String sql) {
         if (sql == null || sql.isEmpty()) {
@@ -74,4 +131,161 @@ public final class OracleVendor implements DatabaseVendor {
     public int getDefaultPort() {
         return 1521;
     }
+
+    /**
+     * Cuts the extents of the table into ROWID ranges of about the same number of
+     * blocks, as {@code DBMS_PARALLEL_EXECUTE.CREATE_CHUNKS_BY_ROWID} does, for ROWID
+     * range scans that read no other blocks. A range never spans two partitions, and
+     * rows later stored in new extents are in no range. Reading the extents needs
+     * SELECT on {@code DBA_EXTENTS} and {@code DBA_OBJECTS}.
+     */
+    @Override
+    public List<PhysicalChunk> physicalChunks(Connection connection, String table, int count) throws SQLException {
+        List<String> name = BulkLoads.nameParts(BulkLoads.identifier(table, true));
+        if (name.size() > 2) {
+            throw new IllegalArgumentException("Table must be named as [schema.]table: " + table);
+        }
+        List<Extent> extents = new ArrayList<>();
+        try (PreparedStatement stmt = connection.prepareStatement(EXTENTS_SQL)) {
+            stmt.setString(1, name.size() == 2 ? dictionaryName(name.get(0)) : null);
+            stmt.setString(2, dictionaryName(name.get(name.size() - 1)));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    extents.add(new Extent(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4)));
+                }
+            }
+        }
+        logger.debug("Table {} has {} extents", table, extents.size());
+        return rowidChunks(extents, count);
+    }
+
+    /**
+     * Returns a name as the data dictionary stores it: unquoted names in upper case.
+     */
+    static String dictionaryName(String identifier) {
+        return identifier.startsWith("\"")
+            ? identifier.substring(1, identifier.length() - 1)
+            : identifier.toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Groups extents, ordered by object, file and block, into ROWID ranges of about
+     * {@code count}-th of their blocks, cutting large extents at block boundaries.
+     */
+    static List<PhysicalChunk> rowidChunks(List<Extent> extents, int count) {
+        if (extents.isEmpty()) {
+            // No segment yet, so no rows
+            return List.of(new PhysicalChunk("1 = 1", List.of()));
+        }
+        long target = Math.ceilDiv(extents.stream().mapToLong(Extent::blocks).sum(), count);
+        List<PhysicalChunk> chunks = new ArrayList<>();
+        Extent start = null;
+        Extent end = null;
+        long filled = 0;
+        for (Extent extent : extents) {
+            long block = extent.firstBlock();
+            long remaining = extent.blocks();
+            if (start != null && start.dataObjectId() != extent.dataObjectId()) {
+                chunks.add(rowidRange(start, end));
+                start = null;
+                filled = 0;
+            }
+            while (remaining > 0) {
+                long taken = Math.min(remaining, target - filled);
+                if (start == null) {
+                    start = new Extent(extent.dataObjectId(), extent.relativeFile(), block, taken);
+                }
+                end = new Extent(extent.dataObjectId(), extent.relativeFile(), block + taken - 1, 1);
+                block += taken;
+                remaining -= taken;
+                filled += taken;
+                if (filled == target) {
+                    chunks.add(rowidRange(start, end));
+                    start = null;
+                    filled = 0;
+                }
+            }
+        }
+        if (start != null) {
+            chunks.add(rowidRange(start, end));
+        }
+        return chunks;
+    }
+
+    private static PhysicalChunk rowidRange(Extent start, Extent end) {
+        return new PhysicalChunk(ROWID_RANGE, List.of(
+            rowid(start.dataObjectId(), start.relativeFile(), start.firstBlock(), 0),
+            rowid(end.dataObjectId(), end.relativeFile(), end.firstBlock(), MAX_ROW)));
+    }
+
+    /**
+     * Pins the current SCN. Joined connections read as of it through session-level
+     * flashback, {@code DBMS_FLASHBACK.ENABLE_AT_SYSTEM_CHANGE_NUMBER}, which applies
+     * {@code AS OF SCN} to every table their queries read, so a query needs no
+     * rewriting. Needs EXECUTE on {@code DBMS_FLASHBACK}, and undo retention must cover
+     * the time the readers run.
+     */
+    @Override
+    public ReadSnapshot openSnapshot(Connection coordinator) throws SQLException {
+        long scn;
+        try (Statement stmt = coordinator.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT DBMS_FLASHBACK.GET_SYSTEM_CHANGE_NUMBER FROM dual")) {
+            rs.next();
+            scn = rs.getLong(1);
+        }
+        logger.debug("Pinned read snapshot at SCN {}", scn);
+        return new ScnSnapshot(scn);
+    }
+
+    private record ScnSnapshot(long scn) implements ReadSnapshot {
+        @Override
+        public void join(Connection connection) throws SQLException {
+            try (PreparedStatement stmt = connection.prepareStatement(
+                    "BEGIN DBMS_FLASHBACK.ENABLE_AT_SYSTEM_CHANGE_NUMBER(?); END;")) {
+                stmt.setLong(1, scn);
+                stmt.execute();
+            }
+        }
+
+        @Override
+        public void leave(Connection connection) throws SQLException {
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("BEGIN DBMS_FLASHBACK.DISABLE; END;");
+            }
+        }
+
+        @Override
+        public void close() {
+            // The SCN holds nothing open on the coordinating connection
+        }
+    }
+
+    /**
+     * Encodes an extended ROWID as {@code DBMS_ROWID.ROWID_CREATE} does: data object
+     * number, relative file number, block number and row number in base 64 digits.
+     */
+    static String rowid(long dataObjectId, long relativeFile, long block, int row) {
+        StringBuilder rowid = new StringBuilder(18);
+        appendDigits(rowid, dataObjectId, 6);
+        appendDigits(rowid, relativeFile, 3);
+        appendDigits(rowid, block, 6);
+        appendDigits(rowid, row, 3);
+        return rowid.toString();
+    }
+
+    private static void appendDigits(StringBuilder rowid, long value, int digits) {
+        for (int shift = 6 * (digits - 1); shift >= 0; shift -= 6) {
+            rowid.append(ROWID_DIGITS.charAt((int) (value >>> shift) & 63));
+        }
+    }
+
+    /**
+     * Asks for a direct-path insert, which writes the array-bound batches above the
+     * high-water mark without going through the buffer cache. The table cannot be read
+     * in the same transaction until it commits.
+     */
+    @Override
+    public String bulkInsertSql(String table, List<BulkLoadSource.Column> columns) {
+        return DatabaseVendor.super.bulkInsertSql(table, columns).replaceFirst("^INSERT ", "INSERT /*+ APPEND_VALUES */ ");
+    }
 }
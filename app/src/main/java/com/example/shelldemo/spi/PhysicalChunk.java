@@ -0,0 +1,14 @@
+package com.example.shelldemo.spi;
+
+import java.util.List;
+
+/**
+ * A slice of a table's storage for one parallel worker: a condition on the physical
+ * address of the rows that selects those stored in a range of blocks.
+ *
+ * @param predicate a condition for the WHERE clause of a statement on the table, with
+ *        {@code ?} placeholders
+ * @param parameters the values bound to the placeholders, in order
+ * @see DatabaseVendor#physicalChunks
+ */
+public record PhysicalChunk(String predicate, List<Object> parameters) {}
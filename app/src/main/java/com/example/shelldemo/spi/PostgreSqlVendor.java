@@ -1,8 +1,16 @@
 package com.example.shelldemo.spi;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
 import java.util.regex.Pattern;
 
@@ -20,6 +28,9 @@ public final class PostgreSqlVendor implements DatabaseVendor {
         "^\\s*(?:DO\\s+\\$\\$|CREATE\\s+(?:OR\\s+REPLACE\\s+)?(?:FUNCTION|PROCEDURE|TRIGGER))",
         Pattern.CASE_INSENSITIVE
     );
+
+    // Snapshot identifiers as returned by pg_export_snapshot()
+    private static final Pattern SNAPSHOT_ID = Pattern.compile("[0-9A-Fa-f-]+");
     
     @Override
     public String getVendorName() {
@@ -55,6 +66,23 @@ public final class PostgreSqlVendor implements DatabaseVendor {
         }
     }
 
+    /**
+     * The PostgreSQL driver only uses a server-side cursor when auto-commit is off.
+     */
+    @Override
+    public boolean requiresTransactionForStreaming() {
+        return true;
+    }
+
+    /**
+     * Binds the value untyped so the server infers its type from context, as it
+     * does for a quoted literal; a varchar parameter would not be cast to e.g. an integer column.
+     */
+    @Override
+    public void bindStringLiteral(PreparedStatement statement, int index, String value) throws SQLException {
+        statement.setObject(index, value, Types.OTHER);
+    }
+
     @Override
     public boolean isPLSQL(String sql) {
         if (sql == null || sql.isEmpty()) {
@@ -67,4 +95,131 @@ public final class PostgreSqlVendor implements DatabaseVendor {
     public int getDefaultPort() {
         return 5432;
     }
+
+    /**
+     * Cuts the heap of the table into ranges of about the same number of blocks, read
+     * with TID range scans on {@code ctid} that PostgreSQL 14 and later run without
+     * reading other blocks. The last range has no upper bound, so rows appended while
+     * the chunks are read are still in one. A partitioned table has no heap of its
+     * own and gives a single chunk.
+     */
+    @Override
+    public List<PhysicalChunk> physicalChunks(Connection connection, String table, int count) throws SQLException {
+        long blocks;
+        try (PreparedStatement stmt = connection.prepareStatement(
+                "SELECT pg_relation_size(CAST(? AS regclass)) / current_setting('block_size')::bigint")) {
+            stmt.setString(1, BulkLoads.identifier(table, true));
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                blocks = rs.getLong(1);
+            }
+        }
+        logger.debug("Table {} has {} blocks", table, blocks);
+        return ctidChunks(blocks, count);
+    }
+
+    static List<PhysicalChunk> ctidChunks(long blocks, int count) {
+        long size = Math.max(1, Math.ceilDiv(blocks, count));
+        List<PhysicalChunk> chunks = new ArrayList<>();
+        long start = 0;
+        while (start + size < blocks) {
+            chunks.add(new PhysicalChunk("ctid >= CAST(? AS tid) AND ctid < CAST(? AS tid)",
+                List.of(tid(start), tid(start + size))));
+            start += size;
+        }
+        chunks.add(new PhysicalChunk("ctid >= CAST(? AS tid)", List.of(tid(start))));
+        return chunks;
+    }
+
+    private static String tid(long block) {
+        return "(" + block + ",0)";
+    }
+
+    /**
+     * Exports the snapshot of a repeatable read transaction on the coordinating
+     * connection with {@code pg_export_snapshot()}. Joined connections import it with
+     * {@code SET TRANSACTION SNAPSHOT} in their own repeatable read transaction. The
+     * coordinating transaction stays open until the snapshot is closed, as the
+     * snapshot can only be imported while it is.
+     */
+    @Override
+    public ReadSnapshot openSnapshot(Connection coordinator) throws SQLException {
+        coordinator.setAutoCommit(false);
+        try (Statement stmt = coordinator.createStatement()) {
+            stmt.execute("SET TRANSACTION ISOLATION LEVEL REPEATABLE READ");
+            try (ResultSet rs = stmt.executeQuery("SELECT pg_export_snapshot()")) {
+                rs.next();
+                String id = rs.getString(1);
+                if (!SNAPSHOT_ID.matcher(id).matches()) {
+                    throw new SQLException("Unexpected snapshot identifier: " + id);
+                }
+                logger.debug("Exported read snapshot {}", id);
+                return new ExportedSnapshot(coordinator, id);
+            }
+        } catch (SQLException | RuntimeException e) {
+            coordinator.rollback();
+            coordinator.setAutoCommit(true);
+            throw e;
+        }
+    }
+
+    private record ExportedSnapshot(Connection coordinator, String id) implements ReadSnapshot {
+        @Override
+        public void join(Connection connection) throws SQLException {
+            connection.setAutoCommit(false);
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("SET TRANSACTION ISOLATION LEVEL REPEATABLE READ");
+                // The identifier is checked when exported and cannot be a bind parameter here
+                stmt.execute("SET TRANSACTION SNAPSHOT '" + id + "'");
+            }
+        }
+
+        @Override
+        public void leave(Connection connection) throws SQLException {
+            connection.rollback();
+            connection.setAutoCommit(true);
+        }
+
+        @Override
+        public void close() throws SQLException {
+            coordinator.rollback();
+            coordinator.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * Streams the rows as CSV through {@code COPY ... FROM STDIN} with the driver's
+     * {@code CopyManager}.
+     */
+    @Override
+    public long bulkLoad(Connection connection, String table, BulkLoadSource source, int batchSize)
+            throws SQLException, IOException {
+        String copySql = "COPY " + BulkLoads.identifier(table, true) + " (" + BulkLoads.columnList(source.columns())
+            + ") FROM STDIN WITH (FORMAT csv)";
+        Connection physical = BulkLoads.physicalConnection(connection);
+        Class<?> pgConnection = BulkLoads.driverClass(physical, "org.postgresql.PGConnection");
+        Class<?> copyManager = BulkLoads.driverClass(physical, "org.postgresql.copy.CopyManager");
+        Object copyApi = BulkLoads.invoke(physical.unwrap(pgConnection), pgConnection, "getCopyAPI", new Class<?>[0]);
+        logger.debug("Bulk loading with: {}", copySql);
+        // bytea accepts hex input after \x
+        return (Long) BulkLoads.invoke(copyApi, copyManager, "copyIn",
+            new Class<?>[] {String.class, InputStream.class}, copySql, new BulkLoads.CsvRowStream(source, "", "\\x"));
+    }
+
+    /**
+     * Streams the rows as CSV through {@code COPY (query) TO STDOUT} with the driver's
+     * {@code CopyManager}, without building a result set. Values are in PostgreSQL's
+     * text format, e.g. booleans as {@code t} and {@code f}.
+     */
+    @Override
+    public long exportCsv(Connection connection, String query, Writer out) throws SQLException, IOException {
+        String copySql = "COPY (" + query + ") TO STDOUT WITH (FORMAT csv, HEADER true)";
+        Connection physical = BulkLoads.physicalConnection(connection);
+        Class<?> pgConnection = BulkLoads.driverClass(physical, "org.postgresql.PGConnection");
+        Class<?> copyManager = BulkLoads.driverClass(physical, "org.postgresql.copy.CopyManager");
+        Object copyApi = BulkLoads.invoke(physical.unwrap(pgConnection), pgConnection, "getCopyAPI", new Class<?>[0]);
+        logger.debug("Exporting with: {}", copySql);
+        return (Long) BulkLoads.invoke(copyApi, copyManager, "copyOut",
+            new Class<?>[] {String.class, Writer.class}, copySql, out);
+    }
 }
@@ -0,0 +1,31 @@
+package com.example.shelldemo.spi;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * A consistent image of the database, opened on one coordinating connection, that
+ * other connections join so their queries all read the same committed data.
+ *
+ * @see DatabaseVendor#openSnapshot
+ */
+public interface ReadSnapshot extends AutoCloseable {
+
+    /**
+     * Makes a connection read from the snapshot until {@link #leave}. The connection
+     * must not be in a transaction and is only used for queries while joined.
+     */
+    void join(Connection connection) throws SQLException;
+
+    /**
+     * Ends a joined connection's use of the snapshot and restores its session.
+     */
+    void leave(Connection connection) throws SQLException;
+
+    /**
+     * Releases the snapshot on the coordinating connection; joined connections must
+     * have left.
+     */
+    @Override
+    void close() throws SQLException;
+}
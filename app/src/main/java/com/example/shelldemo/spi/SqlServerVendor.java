@@ -1,10 +1,19 @@
 package com.example.shelldemo.spi;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Proxy;
 import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Properties;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -20,7 +29,34 @@ public final class SqlServerVendor implements DatabaseVendor {
         "^\\s*CREATE\\s+(?:OR\\s+ALTER\\s+)?(?:PROCEDURE|PROC|TRIGGER|FUNCTION)",
         Pattern.CASE_INSENSITIVE
     );
+
+    private static final Pattern ORDER_BY_PATTERN = Pattern.compile("\\bORDER\\s+BY\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern WITH_PATTERN = Pattern.compile("\\s*WITH\\b", Pattern.CASE_INSENSITIVE);
     
+    private static final ReadSnapshot SNAPSHOT_ISOLATION = new ReadSnapshot() {
+        @Override
+        public void join(Connection connection) throws SQLException {
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("SET TRANSACTION ISOLATION LEVEL SNAPSHOT");
+            }
+            connection.setAutoCommit(false);
+        }
+
+        @Override
+        public void leave(Connection connection) throws SQLException {
+            connection.rollback();
+            connection.setAutoCommit(true);
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("SET TRANSACTION ISOLATION LEVEL READ COMMITTED");
+            }
+        }
+
+        @Override
+        public void close() {
+            // Nothing is held on the coordinating connection
+        }
+    };
+
     @Override
     public String getVendorName() {
         return "sqlserver";
@@ -38,6 +74,9 @@ public final class SqlServerVendor implements DatabaseVendor {
         Properties props = new Properties();
         props.setProperty("applicationName", "ShellDemo");
         props.setProperty("sendTimeAsDatetime", "false");
+        // Driver-side cache of prepared statement handles, like Oracle's implicit statement cache
+        props.setProperty("disableStatementPooling", "false");
+        props.setProperty("statementPoolingCacheSize", "100");
         return props;
     }
 
@@ -53,6 +92,74 @@ public final class SqlServerVendor implements DatabaseVendor {
         }
     }
 
+    /**
+     * Runs each joined connection in a snapshot isolation transaction, which requires
+     * {@code ALLOW_SNAPSHOT_ISOLATION ON} for the database. SQL Server cannot hand a
+     * snapshot from one session to another, so each connection reads a consistent
+     * image as of its own first read rather than one image shared by all.
+     */
+    @Override
+    public ReadSnapshot openSnapshot(Connection coordinator) {
+        logger.warn("SQL Server readers each get their own snapshot, taken when they start reading");
+        return SNAPSHOT_ISOLATION;
+    }
+
+    /**
+     * Uses {@code OFFSET ... FETCH}, which SQL Server only accepts after a top-level
+     * ORDER BY. A query without one is wrapped in a derived table with a no-op
+     * ordering; an ORDER BY inside parentheses, e.g. of a window function or subquery,
+     * does not count. A query starting with a common table expression cannot be
+     * wrapped and is given the no-op ordering directly.
+     */
+    @Override
+    public String paginate(String sql, long offset, int limit) {
+        String ordered;
+        if (ORDER_BY_PATTERN.matcher(topLevelText(sql)).find()) {
+            ordered = sql;
+        } else if (WITH_PATTERN.matcher(sql).lookingAt()) {
+            ordered = sql + " ORDER BY (SELECT NULL)";
+        } else {
+            ordered = "SELECT * FROM (" + sql + ") q ORDER BY (SELECT NULL)";
+        }
+        return ordered + " OFFSET " + offset + " ROWS FETCH NEXT " + limit + " ROWS ONLY";
+    }
+
+    /**
+     * Blanks out everything of a statement but its outermost level: text inside
+     * parentheses, string literals, quoted identifiers and comments.
+     */
+    static String topLevelText(String sql) {
+        StringBuilder text = new StringBuilder(sql.length());
+        int depth = 0;
+        int i = 0;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            int end = switch (c) {
+                case '\'' -> closing(sql, i, "'");
+                case '"' -> closing(sql, i, "\"");
+                case '[' -> closing(sql, i, "]");
+                case '-' -> sql.startsWith("--", i) ? closing(sql, i, "\n") : i + 1;
+                case '/' -> sql.startsWith("/*", i) ? closing(sql, i, "*/") : i + 1;
+                default -> i + 1;
+            };
+            boolean skipped = end > i + 1 || c == '\'' || c == '"' || c == '[';
+            if (c == '(') {
+                depth++;
+            }
+            text.append(skipped || depth > 0 ? " ".repeat(end - i) : String.valueOf(c));
+            if (c == ')' && depth > 0) {
+                depth--;
+            }
+            i = end;
+        }
+        return text.toString();
+    }
+
+    private static int closing(String sql, int start, String delimiter) {
+        int end = sql.indexOf(delimiter, start + 1);
+        return end < 0 ? sql.length() : end + delimiter.length();
+    }
+
     @Override
     public boolean isPLSQL(String sql) {
         if (sql == null || sql.isEmpty()) {
@@ -65,4 +172,86 @@ public final class SqlServerVendor implements DatabaseVendor {
     public int getDefaultPort() {
         return 1433;
     }
+
+    /**
+     * Sends the rows with the driver's {@code SQLServerBulkCopy}, which streams them in
+     * the TDS bulk format under a table lock. Column types are taken from the target
+     * table and text values are converted to them before sending.
+     */
+    @Override
+    public long bulkLoad(Connection connection, String table, BulkLoadSource source, int batchSize)
+            throws SQLException, IOException {
+        List<BulkLoadSource.Column> columns = source.columns();
+        int[][] targetTypes = new int[columns.size()][];
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT " + BulkLoads.columnList(columns) + " FROM "
+                 + BulkLoads.identifier(table, true) + " WHERE 1 = 0")) {
+            ResultSetMetaData metaData = rs.getMetaData();
+            for (int i = 0; i < targetTypes.length; i++) {
+                targetTypes[i] = new int[] {
+                    metaData.getColumnType(i + 1), metaData.getPrecision(i + 1), metaData.getScale(i + 1)
+                };
+            }
+        }
+
+        Connection physical = BulkLoads.physicalConnection(connection);
+        String driverPackage = "com.microsoft.sqlserver.jdbc.";
+        Class<?> bulkCopyType = BulkLoads.driverClass(physical, driverPackage + "SQLServerBulkCopy");
+        Class<?> optionsType = BulkLoads.driverClass(physical, driverPackage + "SQLServerBulkCopyOptions");
+        Class<?> bulkDataType = BulkLoads.driverClass(physical, driverPackage + "ISQLServerBulkData");
+
+        Object options = BulkLoads.construct(optionsType, new Class<?>[0]);
+        BulkLoads.invoke(options, optionsType, "setBatchSize", new Class<?>[] {int.class}, batchSize);
+        BulkLoads.invoke(options, optionsType, "setTableLock", new Class<?>[] {boolean.class}, true);
+        BulkLoads.invoke(options, optionsType, "setBulkCopyTimeout", new Class<?>[] {int.class}, 0);
+
+        long[] rows = {0};
+        Object[][] current = {null};
+        Object bulkData = Proxy.newProxyInstance(bulkDataType.getClassLoader(), new Class<?>[] {bulkDataType},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "getColumnOrdinals" -> IntStream.rangeClosed(1, columns.size()).boxed()
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+                case "getColumnName" -> columns.get((Integer) args[0] - 1).name();
+                case "getColumnType" -> targetTypes[(Integer) args[0] - 1][0];
+                case "getPrecision" -> targetTypes[(Integer) args[0] - 1][1];
+                case "getScale" -> targetTypes[(Integer) args[0] - 1][2];
+                case "next" -> {
+                    try {
+                        current[0] = source.nextRow();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    if (current[0] != null) {
+                        rows[0]++;
+                    }
+                    yield current[0] != null;
+                }
+                case "getRowData" -> {
+                    Object[] values = new Object[current[0].length];
+                    for (int i = 0; i < values.length; i++) {
+                        values[i] = BulkLoads.convert(current[0][i], targetTypes[i][0]);
+                    }
+                    yield values;
+                }
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                case "toString" -> "BulkLoadSource(" + table + ")";
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+
+        Object bulkCopy = BulkLoads.construct(bulkCopyType, new Class<?>[] {Connection.class}, physical);
+        try {
+            BulkLoads.invoke(bulkCopy, bulkCopyType, "setBulkCopyOptions", new Class<?>[] {optionsType}, options);
+            BulkLoads.invoke(bulkCopy, bulkCopyType, "setDestinationTableName", new Class<?>[] {String.class}, table);
+            for (int i = 0; i < columns.size(); i++) {
+                BulkLoads.invoke(bulkCopy, bulkCopyType, "addColumnMapping",
+                    new Class<?>[] {int.class, String.class}, i + 1, columns.get(i).name());
+            }
+            BulkLoads.invoke(bulkCopy, bulkCopyType, "writeToServer", new Class<?>[] {bulkDataType}, bulkData);
+        } finally {
+            BulkLoads.invoke(bulkCopy, bulkCopyType, "close", new Class<?>[0]);
+        }
+        logger.debug("Bulk copied {} rows into {}", rows[0], table);
+        return rows[0];
+    }
 }
@@ -0,0 +1,133 @@
+package com.example.shelldemo.sqlhandling;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Properties;
+import java.util.zip.CRC32;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.example.shelldemo.exception.DatabaseException;
+import com.example.shelldemo.exception.DatabaseException.ErrorType;
+
+/**
+ * Records how far a batched DML script has been committed.
+ *
+ * <p>The file holds the index of the next statement to execute together with the
+ * statement count and a checksum of the statement texts, so a checkpoint is only
+ * resumed against the script it was written for. It is replaced atomically after
+ * every commit. A failure between a commit and the checkpoint update re-executes
+ * at most the last committed chunk on resume.</p>
+ */
+public final class BatchCheckpoint {
+    private static final Logger logger = LogManager.getLogger(BatchCheckpoint.class);
+
+    private static final String NEXT_INDEX = "next.index";
+    private static final String STATEMENT_COUNT = "statement.count";
+    private static final String CHECKSUM = "statement.checksum";
+
+    private final Path file;
+    private final int statementCount;
+    private final String checksum;
+
+    private BatchCheckpoint(Path file, List<String> statements) {
+        this.file = file;
+        this.statementCount = statements.size();
+        this.checksum = checksum(statements);
+    }
+
+    /**
+     * Opens the checkpoint for a script; the file need not exist yet.
+     */
+    public static BatchCheckpoint open(Path file, List<String> statements) {
+        return new BatchCheckpoint(file, statements);
+    }
+
+    /**
+     * Returns the index to resume from, or 0 if there is no checkpoint.
+     *
+     * @throws IllegalStateException if the checkpoint was written for a different script
+     */
+    public int resumeIndex() {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new DatabaseException("Failed to read batch checkpoint: " + file, e, ErrorType.OP_BATCH);
+        }
+        if (!String.valueOf(statementCount).equals(properties.getProperty(STATEMENT_COUNT))
+                || !checksum.equals(properties.getProperty(CHECKSUM))) {
+            throw new IllegalStateException("Checkpoint " + file + " was written for a different script");
+        }
+        int next = Integer.parseInt(properties.getProperty(NEXT_INDEX, "0"));
+        if (next < 0 || next > statementCount) {
+            throw new IllegalStateException("Checkpoint " + file + " has an invalid statement index: " + next);
+        }
+        return next;
+    }
+
+    /**
+     * Records that every statement before {@code nextIndex} has been committed.
+     */
+    public void save(int nextIndex) {
+        Properties properties = new Properties();
+        properties.setProperty(NEXT_INDEX, String.valueOf(nextIndex));
+        properties.setProperty(STATEMENT_COUNT, String.valueOf(statementCount));
+        properties.setProperty(CHECKSUM, checksum);
+        Path absolute = file.toAbsolutePath();
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                properties.store(writer, "Batch checkpoint");
+            }
+            Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            temp = null;
+        } catch (IOException e) {
+            throw new DatabaseException("Failed to write batch checkpoint: " + file, e, ErrorType.OP_BATCH);
+        } finally {
+            if (temp != null) {
+                deleteTemp(temp);
+            }
+        }
+        logger.debug("Checkpoint saved: {} of {} statements committed", nextIndex, statementCount);
+    }
+
+    /**
+     * Removes the checkpoint once the script has completed.
+     */
+    public void delete() {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Failed to delete batch checkpoint {}", file, e);
+        }
+    }
+
+    private static void deleteTemp(Path temp) {
+        try {
+            Files.deleteIfExists(temp);
+        } catch (IOException e) {
+            logger.warn("Failed to delete temporary checkpoint {}", temp, e);
+        }
+    }
+
+    private static String checksum(List<String> statements) {
+        CRC32 crc = new CRC32();
+        for (String sql : statements) {
+            crc.update(sql.getBytes(StandardCharsets.UTF_8));
+            crc.update(0);
+        }
+        return Long.toHexString(crc.getValue());
+    }
+}
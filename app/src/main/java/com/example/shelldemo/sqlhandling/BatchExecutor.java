@@ -1,37 +1,215 @@
 package com.example.shelldemo.sqlhandling;
 
+import java.math.BigDecimal;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.List;
 import java.util.Arrays;
+import java.util.function.IntConsumer;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.LogManager;
 
+import com.example.shelldemo.parser.LiteralParameterizer;
+import com.example.shelldemo.parser.LiteralParameterizer.ParameterizedSql;
+import com.example.shelldemo.spi.DatabaseVendor;
+
+/**
+ * Executes DML statements in JDBC batches.
+ *
+ * <p>Literals are rewritten as bind parameters with {@link LiteralParameterizer}, and
+ * consecutive statements with the same rewritten text run as one
+ * {@link PreparedStatement} batch, so the server parses each statement shape once
+ * instead of once per statement. Statements that cannot be rewritten are batched as
+ * plain SQL. Script order is preserved and batches are sent every
+ * {@code maxBatchSize} statements or {@code maxBatchBytes} characters of SQL text.</p>
+ *
+ * <p>{@link #executeCommitted} also commits at fixed intervals, so a long script never
+ * builds up one huge transaction and can be resumed from the last commit.</p>
+ */
 public class BatchExecutor {
     private static final Logger logger = LogManager.getLogger(BatchExecutor.class);
+
+    public static final int DEFAULT_MAX_BATCH_SIZE = 1000;
+
     private final Connection connection;
-    
+    private final DatabaseVendor vendor;
+    private final int maxBatchSize;
+    private final long maxBatchBytes;
+
     public BatchExecutor(Connection connection) {
+        this(connection, null, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    public BatchExecutor(Connection connection, DatabaseVendor vendor, int maxBatchSize) {
+        this(connection, vendor, maxBatchSize, 0);
+    }
+
+    /**
+     * @param connection the connection to execute on
+     * @param vendor binds string literals the way the vendor expects; null binds them as strings
+     * @param maxBatchSize maximum number of statements sent in one round-trip
+     * @param maxBatchBytes maximum characters of SQL text sent in one round-trip, or 0 for no limit
+     */
+    public BatchExecutor(Connection connection, DatabaseVendor vendor, int maxBatchSize, long maxBatchBytes) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        if (maxBatchBytes < 0) {
+            throw new IllegalArgumentException("Batch byte limit must not be negative");
+        }
         this.connection = connection;
+        this.vendor = vendor;
+        this.maxBatchSize = maxBatchSize;
+        this.maxBatchBytes = maxBatchBytes;
     }
-    
+
     public int executeBatch(List<String> statements, boolean printStatements) throws SQLException {
-        try (Statement stmt = connection.createStatement()) {
+        Run run = new Run();
+        try {
             for (String sql : statements) {
-                if (printStatements) {
-                    logger.info("Adding to batch: {}", sql);
+                add(run, sql, printStatements);
+            }
+            run.flush();
+        } finally {
+            run.close();
+        }
+
+        logger.debug("Batch execution completed in {} round-trips ({} statement shapes). Total rows affected: {}",
+            run.executions, run.preparations, run.totalAffected);
+        return statements.size();
+    }
+
+    /**
+     * Executes statements from {@code fromIndex} on and commits every
+     * {@code commitInterval} statements or {@code commitBytes} characters of SQL text,
+     * and once more after the last statement. Auto-commit must be off.
+     *
+     * @param onCommit receives the index of the next statement after each commit
+     * @return the number of statements executed
+     */
+    public int executeCommitted(List<String> statements, int fromIndex, int commitInterval, long commitBytes,
+            boolean printStatements, IntConsumer onCommit) throws SQLException {
+        Run run = new Run();
+        int pending = 0;
+        long pendingBytes = 0;
+        int commits = 0;
+        try {
+            for (int i = fromIndex; i < statements.size(); i++) {
+                String sql = statements.get(i);
+                add(run, sql, printStatements);
+                pending++;
+                pendingBytes += sql.length();
+                boolean last = i == statements.size() - 1;
+                if (last || commitInterval > 0 && pending >= commitInterval
+                        || commitBytes > 0 && pendingBytes >= commitBytes) {
+                    run.flush();
+                    connection.commit();
+                    commits++;
+                    onCommit.accept(i + 1);
+                    pending = 0;
+                    pendingBytes = 0;
                 }
-                stmt.addBatch(sql);
             }
-            
-            int[] results = stmt.executeBatch();
-            int totalAffected = Arrays.stream(results)
+        } finally {
+            run.close();
+        }
+
+        logger.debug("Batch execution completed in {} round-trips and {} commits. Total rows affected: {}",
+            run.executions, commits, run.totalAffected);
+        return statements.size() - fromIndex;
+    }
+
+    private void add(Run run, String sql, boolean printStatements) throws SQLException {
+        if (printStatements) {
+            logger.info("Adding to batch: {}", sql);
+        }
+        ParameterizedSql parameterized = LiteralParameterizer.parameterize(sql);
+        String shape = parameterized != null ? parameterized.sql() : null;
+        if (run.statement != null && (run.size >= maxBatchSize || !run.accepts(shape)
+                || maxBatchBytes > 0 && run.bytes >= maxBatchBytes)) {
+            run.flush();
+        }
+        if (parameterized != null) {
+            run.addPrepared(parameterized);
+        } else {
+            run.addPlain(sql);
+        }
+        run.bytes += sql.length();
+    }
+
+    private void bind(PreparedStatement statement, List<Object> parameters) throws SQLException {
+        for (int i = 0; i < parameters.size(); i++) {
+            Object value = parameters.get(i);
+            switch (value) {
+                case String text when vendor != null -> vendor.bindStringLiteral(statement, i + 1, text);
+                case String text -> statement.setString(i + 1, text);
+                case Long number -> statement.setLong(i + 1, number);
+                case BigDecimal number -> statement.setBigDecimal(i + 1, number);
+                default -> statement.setObject(i + 1, value);
+            }
+        }
+    }
+
+    /**
+     * The batch being assembled: either one prepared statement shape or plain SQL.
+     * The prepared statement is kept open while consecutive batches share its shape.
+     */
+    private final class Run {
+        Statement statement;
+        String shape;
+        int size;
+        long bytes;
+        int executions;
+        int preparations;
+        long totalAffected;
+
+        boolean accepts(String sqlShape) {
+            return sqlShape == null ? shape == null : sqlShape.equals(shape);
+        }
+
+        void addPrepared(ParameterizedSql parameterized) throws SQLException {
+            if (!(statement instanceof PreparedStatement) || !parameterized.sql().equals(shape)) {
+                close();
+                statement = connection.prepareStatement(parameterized.sql());
+                shape = parameterized.sql();
+                preparations++;
+            }
+            PreparedStatement prepared = (PreparedStatement) statement;
+            bind(prepared, parameterized.parameters());
+            prepared.addBatch();
+            size++;
+        }
+
+        void addPlain(String sql) throws SQLException {
+            if (statement == null || shape != null) {
+                close();
+                statement = connection.createStatement();
+            }
+            statement.addBatch(sql);
+            size++;
+        }
+
+        void flush() throws SQLException {
+            if (size == 0) {
+                return;
+            }
+            int[] results = statement.executeBatch();
+            totalAffected += Arrays.stream(results)
                 .filter(r -> r != Statement.SUCCESS_NO_INFO)
                 .sum();
-            
-            logger.debug("Batch execution completed. Total rows affected: {}", totalAffected);
-            return statements.size();
+            executions++;
+            size = 0;
+            bytes = 0;
+        }
+
+        void close() throws SQLException {
+            if (statement != null) {
+                statement.close();
+                statement = null;
+                shape = null;
+            }
         }
     }
-}
\ No newline at end of file
+}
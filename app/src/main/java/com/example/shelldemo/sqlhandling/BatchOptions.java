@@ -0,0 +1,38 @@
+package com.example.shelldemo.sqlhandling;
+
+import java.nio.file.Path;
+
+/**
+ * Chunking and restart settings for batched DML execution.
+ *
+ * <p>A batch is sent when it reaches {@code batchSize} statements or {@code batchBytes}
+ * characters of SQL text, whichever comes first. A commit follows every
+ * {@code commitInterval} statements or {@code commitBytes} characters; zero disables a
+ * limit, and with both commit limits disabled the whole script is one transaction.
+ * When a {@code checkpointFile} is given, the index of the next uncommitted statement
+ * is recorded there after every commit so a rerun can resume from it.</p>
+ *
+ * @param batchSize maximum statements per round-trip
+ * @param batchBytes maximum SQL characters per round-trip, or 0 for no limit
+ * @param commitInterval statements per commit, or 0 for no limit
+ * @param commitBytes SQL characters per commit, or 0 for no limit
+ * @param checkpointFile file recording the resume position, or null
+ */
+public record BatchOptions(int batchSize, long batchBytes, int commitInterval, long commitBytes, Path checkpointFile) {
+
+    /** One transaction, batches of {@link BatchExecutor#DEFAULT_MAX_BATCH_SIZE}, no checkpoint. */
+    public static final BatchOptions DEFAULTS = new BatchOptions(BatchExecutor.DEFAULT_MAX_BATCH_SIZE, 0, 0, 0, null);
+
+    public BatchOptions {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        if (batchBytes < 0 || commitInterval < 0 || commitBytes < 0) {
+            throw new IllegalArgumentException("Batch and commit limits must not be negative");
+        }
+    }
+
+    public boolean commitsInChunks() {
+        return commitInterval > 0 || commitBytes > 0;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.shelldemo.sqlhandling;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import com.example.shelldemo.spi.BulkLoadSource;
+
+/**
+ * Reads the rows of the first result set of a {@link ColumnarOutputHandler} file for
+ * bulk loading, one chunk at a time. Values keep the types {@link ColumnarFileReader}
+ * returns them as.
+ */
+public class ColumnarBulkSource implements BulkLoadSource {
+    private final ColumnarFileReader reader;
+    private final List<Column> columns;
+    private List<Object[]> chunk = List.of();
+    private int position;
+
+    /**
+     * @throws IOException if the file cannot be opened or holds no result set
+     */
+    public ColumnarBulkSource(Path file) throws IOException {
+        this.reader = new ColumnarFileReader(file);
+        List<ColumnarFileReader.Column> read = reader.nextResultSet();
+        if (read == null) {
+            reader.close();
+            throw new IOException("Columnar file holds no result set: " + file);
+        }
+        this.columns = read.stream().map(column -> new Column(column.label(), column.sqlType())).toList();
+    }
+
+    @Override
+    public List<Column> columns() {
+        return columns;
+    }
+
+    @Override
+    public Object[] nextRow() throws IOException {
+        while (position == chunk.size()) {
+            chunk = reader.nextChunk();
+            position = 0;
+            if (chunk == null) {
+                chunk = List.of();
+                return null;
+            }
+        }
+        return chunk.get(position++);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,245 @@
+package com.example.shelldemo.sqlhandling;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Reads files written by {@link ColumnarOutputHandler}.
+ *
+ * <p>Result sets are read one at a time with {@link #nextResultSet()}, and their rows
+ * one chunk at a time with {@link #nextChunk()}, so memory use is bounded by one chunk.
+ * Values are returned as {@link Long}, {@link Double}, {@link Boolean}, {@link String},
+ * {@code byte[]} and {@link BigDecimal} by physical type; INT64 columns of SQL type
+ * DATE, TIME and TIMESTAMP are returned as {@link LocalDate}, {@link LocalTime} and
+ * {@link LocalDateTime}. Chunk statistics are skipped.</p>
+ */
+public class ColumnarFileReader implements Closeable {
+
+    private static final byte[] MAGIC = {'D', 'B', 'S', 'C'};
+    private static final int FORMAT_VERSION = 1;
+    private static final int INPUT_BUFFER_SIZE = 1 << 20;
+
+    /**
+     * A column of the current result set.
+     *
+     * @param label the column label
+     * @param sqlType the {@link Types} code reported by the driver
+     * @param physicalType the stored value type, one of the {@code ColumnarOutputHandler} type codes
+     */
+    public record Column(String label, int sqlType, byte physicalType) {}
+
+    private final DataInputStream in;
+    private List<Column> columns;
+    private long rowCount = -1;
+    private boolean finished;
+
+    public ColumnarFileReader(Path file) throws IOException {
+        this(Files.newInputStream(file));
+    }
+
+    /**
+     * Reads from an existing stream, which is closed with this reader.
+     *
+     * @throws IOException if the stream does not start with a supported header
+     */
+    public ColumnarFileReader(InputStream stream) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(stream, INPUT_BUFFER_SIZE));
+        if (!Arrays.equals(MAGIC, in.readNBytes(MAGIC.length))) {
+            throw new IOException("Not a columnar result file");
+        }
+        int version = in.readUnsignedByte();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported columnar format version: " + version);
+        }
+    }
+
+    /**
+     * Whether a file starts with the columnar format header.
+     */
+    public static boolean isColumnarFile(Path file) throws IOException {
+        try (InputStream stream = Files.newInputStream(file)) {
+            return Arrays.equals(MAGIC, stream.readNBytes(MAGIC.length));
+        }
+    }
+
+    /**
+     * Advances to the next result set, skipping any unread rows of the current one.
+     *
+     * @return the columns of the next result set, or null at the end of the file
+     */
+    public List<Column> nextResultSet() throws IOException {
+        while (columns != null) {
+            nextChunk();
+        }
+        if (finished) {
+            return null;
+        }
+        int columnCount = in.readInt();
+        if (columnCount < 0) {
+            if (!Arrays.equals(MAGIC, in.readNBytes(MAGIC.length))) {
+                throw new IOException("Columnar result file is truncated");
+            }
+            finished = true;
+            return null;
+        }
+        List<Column> read = new ArrayList<>(columnCount);
+        for (int i = 0; i < columnCount; i++) {
+            read.add(new Column(readString(in), in.readInt(), in.readByte()));
+        }
+        columns = List.copyOf(read);
+        rowCount = -1;
+        return columns;
+    }
+
+    /**
+     * Reads the next chunk of rows of the current result set.
+     *
+     * @return the rows, one value per column with null for SQL NULL, or null after the last chunk
+     */
+    public List<Object[]> nextChunk() throws IOException {
+        if (columns == null) {
+            return null;
+        }
+        int rows = in.readInt();
+        if (rows == 0) {
+            rowCount = in.readLong();
+            columns = null;
+            return null;
+        }
+        List<Object[]> chunk = new ArrayList<>(rows);
+        for (int r = 0; r < rows; r++) {
+            chunk.add(new Object[columns.size()]);
+        }
+        for (int c = 0; c < columns.size(); c++) {
+            readColumnChunk(columns.get(c), c, chunk);
+        }
+        return chunk;
+    }
+
+    /**
+     * Returns the row count recorded at the end of the last completed result set, or -1.
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private void readColumnChunk(Column column, int index, List<Object[]> chunk) throws IOException {
+        int rows = chunk.size();
+        byte encoding = in.readByte();
+        int nullCount = in.readInt();
+        BitSet nulls = nullCount > 0 ? BitSet.valueOf(in.readNBytes((rows + 7) / 8)) : new BitSet();
+        if (in.readBoolean()) {
+            skipStats(column);
+        }
+        int count = rows - nullCount;
+        Object[] values = encoding == ColumnarOutputHandler.DICTIONARY
+            ? readDictionary(count)
+            : readPlain(column, count);
+        int next = 0;
+        for (int r = 0; r < rows; r++) {
+            chunk.get(r)[index] = nulls.get(r) ? null : values[next++];
+        }
+    }
+
+    private Object[] readPlain(Column column, int count) throws IOException {
+        Object[] values = new Object[count];
+        if (column.physicalType() == ColumnarOutputHandler.BOOLEAN) {
+            BitSet bits = BitSet.valueOf(in.readNBytes((count + 7) / 8));
+            for (int i = 0; i < count; i++) {
+                values[i] = bits.get(i);
+            }
+            return values;
+        }
+        for (int i = 0; i < count; i++) {
+            values[i] = switch (column.physicalType()) {
+                case ColumnarOutputHandler.INT64 -> fromLong(column.sqlType(), in.readLong());
+                case ColumnarOutputHandler.DOUBLE -> in.readDouble();
+                case ColumnarOutputHandler.STRING -> readString(in);
+                case ColumnarOutputHandler.BINARY -> readBytes(in);
+                case ColumnarOutputHandler.DECIMAL -> {
+                    int scale = in.readInt();
+                    yield new BigDecimal(new BigInteger(readBytes(in)), scale);
+                }
+                default -> throw new IOException("Unknown physical type: " + column.physicalType());
+            };
+        }
+        return values;
+    }
+
+    /**
+     * Skips min and max, which use the value encoding except for BOOLEAN's two flag bytes.
+     */
+    private void skipStats(Column column) throws IOException {
+        if (column.physicalType() == ColumnarOutputHandler.BOOLEAN) {
+            in.readNBytes(2);
+        } else {
+            readPlain(column, 2);
+        }
+    }
+
+    private Object[] readDictionary(int count) throws IOException {
+        int size = in.readInt();
+        String[] entries = new String[size];
+        for (int i = 0; i < size; i++) {
+            entries[i] = readString(in);
+        }
+        Object[] values = new Object[count];
+        for (int i = 0; i < count; i++) {
+            int entry;
+            if (size <= 1 << 8) {
+                entry = in.readUnsignedByte();
+            } else if (size <= 1 << 16) {
+                entry = in.readUnsignedShort();
+            } else {
+                entry = in.readInt();
+            }
+            values[i] = entries[entry];
+        }
+        return values;
+    }
+
+    private static Object fromLong(int sqlType, long value) {
+        return switch (sqlType) {
+            case Types.DATE -> LocalDate.ofEpochDay(value);
+            case Types.TIME -> LocalTime.ofNanoOfDay(value);
+            case Types.TIMESTAMP -> LocalDateTime.ofEpochSecond(Math.floorDiv(value, 1_000_000L),
+                (int) Math.floorMod(value, 1_000_000L) * 1_000, ZoneOffset.UTC);
+            default -> value;
+        };
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return new String(readBytes(in), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        byte[] value = in.readNBytes(length);
+        if (value.length != length) {
+            throw new IOException("Columnar result file is truncated");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,579 @@
+package com.example.shelldemo.sqlhandling;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Writes result sets as a column-oriented binary file.
+ *
+ * <p>Rows are buffered per column into chunks of {@code batchSize} rows. Each chunk
+ * is written as typed values with a null bitmap and min/max statistics, and string
+ * chunks with few distinct values are dictionary-encoded. Memory use is bounded by
+ * one chunk regardless of the size of the result.</p>
+ *
+ * <p>All numbers are big-endian. Strings are length-prefixed UTF-8.</p>
+ * <pre>
+ * file        := "DBSC" version:u8 resultSet* end:i32(-1) "DBSC"
+ * resultSet   := columnCount:i32 column* chunk* end:i32(0) rowCount:i64
+ * column      := label:string sqlType:i32 physicalType:u8
+ * chunk       := rowCount:i32 columnChunk*
+ * columnChunk := encoding:u8 nullCount:i32 nullBitmap? hasStats:u8 (min max)? values
+ * </pre>
+ *
+ * <p>The null bitmap is present when {@code nullCount > 0} and holds one bit per row,
+ * least significant bit first. Values are stored for non-null rows only, encoded by
+ * physical type: INT64 and DOUBLE as 8 bytes, BOOLEAN as a packed bitmap, STRING and
+ * BINARY as {@code length:i32 bytes}, and DECIMAL as {@code scale:i32} followed by the
+ * unscaled value as BINARY. Dates are stored as epoch days, times as nanoseconds of
+ * day and timestamps as microseconds since the epoch, without a time zone. A
+ * dictionary-encoded chunk stores {@code size:i32 string*} followed by one index per
+ * value, one byte wide for up to 256 entries, two bytes for up to 65536 and four
+ * bytes otherwise.</p>
+ *
+ * @see ColumnarFileReader
+ */
+public class ColumnarOutputHandler implements ResultSetStreamer, Closeable {
+    private static final Logger logger = LogManager.getLogger(ColumnarOutputHandler.class);
+
+    private static final byte[] MAGIC = {'D', 'B', 'S', 'C'};
+    private static final int FORMAT_VERSION = 1;
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 20;
+
+    static final byte INT64 = 0;
+    static final byte DOUBLE = 1;
+    static final byte BOOLEAN = 2;
+    static final byte STRING = 3;
+    static final byte BINARY = 4;
+    static final byte DECIMAL = 5;
+
+    static final byte PLAIN = 0;
+    static final byte DICTIONARY = 1;
+
+    private final DataOutputStream out;
+
+    /**
+     * Opens a columnar file for writing, replacing any existing file.
+     *
+     * @param file the output file
+     * @throws IOException if the file cannot be created
+     */
+    public ColumnarOutputHandler(Path file) throws IOException {
+        this(Files.newOutputStream(file));
+        logger.info("Writing query results in columnar format to {}", file);
+    }
+
+    /**
+     * Writes to an existing stream, which is closed with this handler.
+     */
+    public ColumnarOutputHandler(OutputStream stream) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(stream, OUTPUT_BUFFER_SIZE));
+        out.write(MAGIC);
+        out.writeByte(FORMAT_VERSION);
+    }
+
+    @Override
+    public void stream(ResultSet rs, int batchSize) throws SQLException, IOException {
+        int chunkSize = Math.max(batchSize, 1);
+        ResultSetMetaData metaData = rs.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        ColumnChunk[] chunks = new ColumnChunk[columnCount];
+
+        out.writeInt(columnCount);
+        for (int i = 1; i <= columnCount; i++) {
+            String label = metaData.getColumnLabel(i);
+            if (label == null || label.isEmpty()) {
+                label = metaData.getColumnName(i);
+            }
+            int sqlType = metaData.getColumnType(i);
+            chunks[i - 1] = chunkFor(sqlType, chunkSize);
+            writeString(out, label);
+            out.writeInt(sqlType);
+            out.writeByte(chunks[i - 1].physicalType());
+        }
+
+        long rows = 0;
+        int rowsInChunk = 0;
+        while (rs.next()) {
+            for (int i = 0; i < columnCount; i++) {
+                chunks[i].read(rs, i + 1, rowsInChunk);
+            }
+            rows++;
+            if (++rowsInChunk == chunkSize) {
+                writeChunk(chunks, rowsInChunk);
+                rowsInChunk = 0;
+            }
+        }
+        if (rowsInChunk > 0) {
+            writeChunk(chunks, rowsInChunk);
+        }
+        out.writeInt(0);
+        out.writeLong(rows);
+        out.flush();
+        logger.info("Exported {} rows in columnar format", rows);
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.writeInt(-1);
+        out.write(MAGIC);
+        out.close();
+    }
+
+    private void writeChunk(ColumnChunk[] chunks, int rowCount) throws IOException {
+        out.writeInt(rowCount);
+        for (ColumnChunk chunk : chunks) {
+            chunk.writeTo(out, rowCount);
+            chunk.reset();
+        }
+    }
+
+    private static ColumnChunk chunkFor(int sqlType, int capacity) {
+        return switch (sqlType) {
+            case Types.TINYINT, Types.SMALLINT, Types.INTEGER, Types.BIGINT ->
+                new LongChunk(capacity, LongChunk.INTEGER);
+            case Types.DATE -> new LongChunk(capacity, LongChunk.EPOCH_DAY);
+            case Types.TIME -> new LongChunk(capacity, LongChunk.NANO_OF_DAY);
+            case Types.TIMESTAMP -> new LongChunk(capacity, LongChunk.EPOCH_MICROS);
+            case Types.FLOAT, Types.REAL, Types.DOUBLE -> new DoubleChunk(capacity);
+            case Types.BIT, Types.BOOLEAN -> new BooleanChunk();
+            case Types.DECIMAL, Types.NUMERIC -> new DecimalChunk(capacity);
+            case Types.BINARY, Types.VARBINARY, Types.LONGVARBINARY, Types.BLOB -> new BinaryChunk(capacity);
+            default -> new StringChunk(capacity);
+        };
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        writeBytes(out, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] value) throws IOException {
+        out.writeInt(value.length);
+        out.write(value);
+    }
+
+    /**
+     * Buffered values of one column for the chunk being assembled.
+     * Values are stored densely for non-null rows; nulls are tracked by row index.
+     */
+    private abstract static class ColumnChunk {
+        private final BitSet nulls = new BitSet();
+        int count;
+
+        abstract byte physicalType();
+
+        /** Reads the column of the current row, calling {@link #markNull} if it is SQL NULL. */
+        abstract void read(ResultSet rs, int column, int row) throws SQLException;
+
+        byte encoding() {
+            return PLAIN;
+        }
+
+        abstract void writeStats(DataOutputStream out) throws IOException;
+
+        abstract void writeValues(DataOutputStream out) throws IOException;
+
+        void markNull(int row) {
+            nulls.set(row);
+        }
+
+        void writeTo(DataOutputStream out, int rowCount) throws IOException {
+            out.writeByte(encoding());
+            int nullCount = rowCount - count;
+            out.writeInt(nullCount);
+            if (nullCount > 0) {
+                out.write(Arrays.copyOf(nulls.toByteArray(), (rowCount + 7) / 8));
+            }
+            out.writeBoolean(count > 0);
+            if (count > 0) {
+                writeStats(out);
+            }
+            writeValues(out);
+        }
+
+        void reset() {
+            nulls.clear();
+            count = 0;
+        }
+    }
+
+    private static final class LongChunk extends ColumnChunk {
+        static final int INTEGER = 0;
+        static final int EPOCH_DAY = 1;
+        static final int NANO_OF_DAY = 2;
+        static final int EPOCH_MICROS = 3;
+
+        private final long[] values;
+        private final int kind;
+        private long min;
+        private long max;
+
+        LongChunk(int capacity, int kind) {
+            this.values = new long[capacity];
+            this.kind = kind;
+        }
+
+        @Override
+        byte physicalType() {
+            return INT64;
+        }
+
+        @Override
+        void read(ResultSet rs, int column, int row) throws SQLException {
+            long value;
+            switch (kind) {
+                case EPOCH_DAY -> {
+                    java.sql.Date date = rs.getDate(column);
+                    if (date == null) {
+                        markNull(row);
+                        return;
+                    }
+                    value = date.toLocalDate().toEpochDay();
+                }
+                case NANO_OF_DAY -> {
+                    java.sql.Time time = rs.getTime(column);
+                    if (time == null) {
+                        markNull(row);
+                        return;
+                    }
+                    value = time.toLocalTime().toNanoOfDay();
+                }
+                case EPOCH_MICROS -> {
+                    Timestamp timestamp = rs.getTimestamp(column);
+                    if (timestamp == null) {
+                        markNull(row);
+                        return;
+                    }
+                    LocalDateTime local = timestamp.toLocalDateTime();
+                    value = local.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + local.getNano() / 1_000;
+                }
+                default -> {
+                    value = rs.getLong(column);
+                    if (rs.wasNull()) {
+                        markNull(row);
+                        return;
+                    }
+                }
+            }
+            if (count == 0 || value < min) {
+                min = value;
+            }
+            if (count == 0 || value > max) {
+                max = value;
+            }
+            values[count++] = value;
+        }
+
+        @Override
+        void writeStats(DataOutputStream out) throws IOException {
+            out.writeLong(min);
+            out.writeLong(max);
+        }
+
+        @Override
+        void writeValues(DataOutputStream out) throws IOException {
+            for (int i = 0; i < count; i++) {
+                out.writeLong(values[i]);
+            }
+        }
+    }
+
+    private static final class DoubleChunk extends ColumnChunk {
+        private final double[] values;
+        private double min;
+        private double max;
+
+        DoubleChunk(int capacity) {
+            this.values = new double[capacity];
+        }
+
+        @Override
+        byte physicalType() {
+            return DOUBLE;
+        }
+
+        @Override
+        void read(ResultSet rs, int column, int row) throws SQLException {
+            double value = rs.getDouble(column);
+            if (rs.wasNull()) {
+                markNull(row);
+                return;
+            }
+            if (count == 0 || value < min) {
+                min = value;
+            }
+            if (count == 0 || value > max) {
+                max = value;
+            }
+            values[count++] = value;
+        }
+
+        @Override
+        void writeStats(DataOutputStream out) throws IOException {
+            out.writeDouble(min);
+            out.writeDouble(max);
+        }
+
+        @Override
+        void writeValues(DataOutputStream out) throws IOException {
+            for (int i = 0; i < count; i++) {
+                out.writeDouble(values[i]);
+            }
+        }
+    }
+
+    private static final class BooleanChunk extends ColumnChunk {
+        private final BitSet values = new BitSet();
+
+        @Override
+        byte physicalType() {
+            return BOOLEAN;
+        }
+
+        @Override
+        void read(ResultSet rs, int column, int row) throws SQLException {
+            boolean value = rs.getBoolean(column);
+            if (rs.wasNull()) {
+                markNull(row);
+                return;
+            }
+            values.set(count++, value);
+        }
+
+        @Override
+        void writeStats(DataOutputStream out) throws IOException {
+            out.writeBoolean(values.cardinality() == count);
+            out.writeBoolean(values.cardinality() > 0);
+        }
+
+        @Override
+        void writeValues(DataOutputStream out) throws IOException {
+            out.write(Arrays.copyOf(values.toByteArray(), (count + 7) / 8));
+        }
+
+        @Override
+        void reset() {
+            super.reset();
+            values.clear();
+        }
+    }
+
+    private static final class DecimalChunk extends ColumnChunk {
+        private final BigDecimal[] values;
+        private BigDecimal min;
+        private BigDecimal max;
+
+        DecimalChunk(int capacity) {
+            this.values = new BigDecimal[capacity];
+        }
+
+        @Override
+        byte physicalType() {
+            return DECIMAL;
+        }
+
+        @Override
+        void read(ResultSet rs, int column, int row) throws SQLException {
+            BigDecimal value = rs.getBigDecimal(column);
+            if (value == null) {
+                markNull(row);
+                return;
+            }
+            if (count == 0 || value.compareTo(min) < 0) {
+                min = value;
+            }
+            if (count == 0 || value.compareTo(max) > 0) {
+                max = value;
+            }
+            values[count++] = value;
+        }
+
+        @Override
+        void writeStats(DataOutputStream out) throws IOException {
+            writeDecimal(out, min);
+            writeDecimal(out, max);
+        }
+
+        @Override
+        void writeValues(DataOutputStream out) throws IOException {
+            for (int i = 0; i < count; i++) {
+                writeDecimal(out, values[i]);
+            }
+        }
+
+        @Override
+        void reset() {
+            super.reset();
+            Arrays.fill(values, null);
+        }
+
+        private static void writeDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+            out.writeInt(value.scale());
+            writeBytes(out, value.unscaledValue().toByteArray());
+        }
+    }
+
+    private static final class BinaryChunk extends ColumnChunk {
+        private final byte[][] values;
+
+        BinaryChunk(int capacity) {
+            this.values = new byte[capacity][];
+        }
+
+        @Override
+        byte physicalType() {
+            return BINARY;
+        }
+
+        @Override
+        void read(ResultSet rs, int column, int row) throws SQLException {
+            byte[] value = rs.getBytes(column);
+            if (value == null) {
+                markNull(row);
+                return;
+            }
+            values[count++] = value;
+        }
+
+        @Override
+        void writeStats(DataOutputStream out) throws IOException {
+            byte[] min = values[0];
+            byte[] max = values[0];
+            for (int i = 1; i < count; i++) {
+                if (Arrays.compareUnsigned(values[i], min) < 0) {
+                    min = values[i];
+                }
+                if (Arrays.compareUnsigned(values[i], max) > 0) {
+                    max = values[i];
+                }
+            }
+            writeBytes(out, min);
+            writeBytes(out, max);
+        }
+
+        @Override
+        void writeValues(DataOutputStream out) throws IOException {
+            for (int i = 0; i < count; i++) {
+                writeBytes(out, values[i]);
+            }
+        }
+
+        @Override
+        void reset() {
+            super.reset();
+            Arrays.fill(values, null);
+        }
+    }
+
+    /**
+     * String column, dictionary-encoded when at most half of its values are distinct.
+     */
+    private static final class StringChunk extends ColumnChunk {
+        private final String[] values;
+        private final int[] indexes;
+        private final Map<String, Integer> dictionary = new HashMap<>();
+        private String[] entries;
+        private String min;
+        private String max;
+
+        StringChunk(int capacity) {
+            this.values = new String[capacity];
+            this.indexes = new int[capacity];
+            this.entries = new String[16];
+        }
+
+        @Override
+        byte physicalType() {
+            return STRING;
+        }
+
+        @Override
+        void read(ResultSet rs, int column, int row) throws SQLException {
+            String value = rs.getString(column);
+            if (value == null) {
+                markNull(row);
+                return;
+            }
+            if (count == 0 || value.compareTo(min) < 0) {
+                min = value;
+            }
+            if (count == 0 || value.compareTo(max) > 0) {
+                max = value;
+            }
+            Integer index = dictionary.get(value);
+            if (index == null) {
+                index = dictionary.size();
+                dictionary.put(value, index);
+                if (index == entries.length) {
+                    entries = Arrays.copyOf(entries, index * 2);
+                }
+                entries[index] = value;
+            }
+            indexes[count] = index;
+            values[count++] = value;
+        }
+
+        @Override
+        byte encoding() {
+            return dictionary.size() * 2 <= count ? DICTIONARY : PLAIN;
+        }
+
+        @Override
+        void writeStats(DataOutputStream out) throws IOException {
+            writeString(out, min);
+            writeString(out, max);
+        }
+
+        @Override
+        void writeValues(DataOutputStream out) throws IOException {
+            if (encoding() == PLAIN) {
+                for (int i = 0; i < count; i++) {
+                    writeString(out, values[i]);
+                }
+                return;
+            }
+            int size = dictionary.size();
+            out.writeInt(size);
+            for (int i = 0; i < size; i++) {
+                writeString(out, entries[i]);
+            }
+            for (int i = 0; i < count; i++) {
+                if (size <= 1 << 8) {
+                    out.writeByte(indexes[i]);
+                } else if (size <= 1 << 16) {
+                    out.writeShort(indexes[i]);
+                } else {
+                    out.writeInt(indexes[i]);
+                }
+            }
+        }
+
+        @Override
+        void reset() {
+            super.reset();
+            Arrays.fill(values, null);
+            Arrays.fill(entries, null);
+            dictionary.clear();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.shelldemo.sqlhandling;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * Row mapper compiled once from the metadata of a result set.
+ *
+ * <p>Column labels and a type-specific getter per column are resolved up front, so
+ * mapping a row costs one getter call per column and one value array. Rows share
+ * their column labels through {@link ResultRow}.</p>
+ */
+public final class CompiledRowMapper {
+
+    /**
+     * Reads one column of the current row.
+     */
+    @FunctionalInterface
+    interface ColumnReader {
+        Object read(ResultSet rs, int column) throws SQLException;
+    }
+
+    private static final ColumnReader OBJECT = ResultSet::getObject;
+    private static final ColumnReader STRING = ResultSet::getString;
+    private static final ColumnReader BIG_DECIMAL = ResultSet::getBigDecimal;
+    private static final ColumnReader TIMESTAMP = ResultSet::getTimestamp;
+    private static final ColumnReader INT = (rs, column) -> {
+        int value = rs.getInt(column);
+        return rs.wasNull() ? null : value;
+    };
+    private static final ColumnReader LONG = (rs, column) -> {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    };
+    private static final ColumnReader DOUBLE = (rs, column) -> {
+        double value = rs.getDouble(column);
+        return rs.wasNull() ? null : value;
+    };
+    private static final ColumnReader FLOAT = (rs, column) -> {
+        float value = rs.getFloat(column);
+        return rs.wasNull() ? null : value;
+    };
+    private static final ColumnReader BOOLEAN = (rs, column) -> {
+        boolean value = rs.getBoolean(column);
+        return rs.wasNull() ? null : value;
+    };
+
+    private final ResultRow.Columns columns;
+    private final ColumnReader[] readers;
+
+    private CompiledRowMapper(ResultRow.Columns columns, ColumnReader[] readers) {
+        this.columns = columns;
+        this.readers = readers;
+    }
+
+    /**
+     * Compiles a mapper for the columns of a result set.
+     *
+     * @param rs the result set whose rows will be mapped
+     * @return a mapper for rows of {@code rs}
+     * @throws SQLException if the metadata cannot be read
+     */
+    public static CompiledRowMapper compile(ResultSet rs) throws SQLException {
+        return compile(rs.getMetaData());
+    }
+
+    /**
+     * Compiles a mapper for result sets with the given metadata.
+     */
+    public static CompiledRowMapper compile(ResultSetMetaData metaData) throws SQLException {
+        int columnCount = metaData.getColumnCount();
+        String[] labels = new String[columnCount];
+        ColumnReader[] readers = new ColumnReader[columnCount];
+        for (int i = 1; i <= columnCount; i++) {
+            String columnName = metaData.getColumnLabel(i);
+            if (columnName == null || columnName.isEmpty()) {
+                columnName = metaData.getColumnName(i);
+            }
+            labels[i - 1] = columnName;
+            readers[i - 1] = readerFor(metaData, i);
+        }
+        return new CompiledRowMapper(new ResultRow.Columns(labels), readers);
+    }
+
+    /**
+     * Picks the getter whose result matches the JDBC default Java type for the column,
+     * so values are the same as {@code getObject} would return for standard types.
+     * Types whose driver mapping varies (DATE, FLOAT, unsigned integers) keep
+     * {@code getObject}.
+     */
+    private static ColumnReader readerFor(ResultSetMetaData metaData, int column) throws SQLException {
+        return switch (metaData.getColumnType(column)) {
+            case Types.CHAR, Types.VARCHAR, Types.LONGVARCHAR, Types.NCHAR, Types.NVARCHAR, Types.LONGNVARCHAR -> STRING;
+            case Types.TINYINT, Types.SMALLINT, Types.INTEGER -> metaData.isSigned(column) ? INT : OBJECT;
+            case Types.BIGINT -> metaData.isSigned(column) ? LONG : OBJECT;
+            case Types.DECIMAL, Types.NUMERIC -> BIG_DECIMAL;
+            case Types.DOUBLE -> DOUBLE;
+            case Types.REAL -> FLOAT;
+            case Types.BIT, Types.BOOLEAN -> BOOLEAN;
+            case Types.TIMESTAMP -> TIMESTAMP;
+            default -> OBJECT;
+        };
+    }
+
+    /**
+     * Maps the current row. This method does not call {@code rs.next()}.
+     *
+     * @param rs result set positioned on the row to map
+     * @return the row, sharing its column labels with every other row of this mapper
+     * @throws SQLException if a value cannot be read
+     */
+    public ResultRow mapRow(ResultSet rs) throws SQLException {
+        Object[] values = new Object[readers.length];
+        for (int i = 0; i < readers.length; i++) {
+            values[i] = readers[i].read(rs, i + 1);
+        }
+        return new ResultRow(columns, values);
+    }
+
+    /**
+     * Returns the number of columns read per row.
+     */
+    public int getColumnCount() {
+        return readers.length;
+    }
+}
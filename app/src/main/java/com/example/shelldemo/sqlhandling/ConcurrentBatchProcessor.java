@@ -2,13 +2,17 @@ package com.example.shelldemo.sqlhandling;
 
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.CountDownLatch;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -17,45 +21,73 @@ import com.example.shelldemo.exception.BatchProcessingException;
 
 /**
  * Enhanced batch processor that uses Java 21 virtual threads for concurrent batch processing.
- * 
+ *
+ * <p>Items are added to one of a fixed number of stripes chosen by the producer's
+ * thread id, so concurrent producers rarely share a lock. A full stripe buffer is
+ * swapped out under the stripe lock and handed to the handler after the lock is
+ * released, once one of {@code maxConcurrentBatches} semaphore permits is free; this
+ * blocks producers while that many batches are running. Handled buffers are cleared
+ * and reused, so steady-state batching allocates no new lists, and the number of
+ * buffers is bounded by the number of stripes plus {@code maxConcurrentBatches}.</p>
+ *
+ * <p>Failures are reported in submission order: the exception thrown is the one from
+ * the earliest submitted batch that failed, with failures of later batches attached
+ * as suppressed exceptions once all batches have completed.</p>
+ *
  * @param <T> The type of items to be processed in batches
  */
 public class ConcurrentBatchProcessor<T> implements AutoCloseable {
     private static final Logger logger = LogManager.getLogger(ConcurrentBatchProcessor.class);
-    
+
+    /**
+     * Handles one batch. The list is reused after the call returns and must not be kept.
+     */
     @FunctionalInterface
     public interface BatchHandler<T> {
         void handleBatch(List<T> batch) throws BatchProcessingException;
     }
 
     private final int batchSize;
-    private final List<T> currentBatch;
     private final BatchHandler<T> handler;
     private final ExecutorService executor;
     private final AtomicBoolean closed = new AtomicBoolean(false);
-    private final AtomicReference<BatchProcessingException> executionException = new AtomicReference<>(null);
-    private final List<CountDownLatch> pendingBatches = new CopyOnWriteArrayList<>();
+    private final ConcurrentSkipListMap<Long, BatchProcessingException> failures = new ConcurrentSkipListMap<>();
+    private volatile boolean failed;
+    private final AtomicLong submittedBatches = new AtomicLong();
     private final int maxConcurrentBatches;
+    private final Semaphore permits;
+    private final Queue<List<T>> freeBuffers = new ConcurrentLinkedQueue<>();
+    private final List<Stripe> stripes;
+    private final int stripeMask;
 
     /**
      * Creates a concurrent batch processor with the specified batch size and handler.
-     * 
+     *
      * @param batchSize Size of each batch
      * @param handler Function to process batches
      * @param maxConcurrentBatches Maximum number of batches to process concurrently
      */
     public ConcurrentBatchProcessor(int batchSize, BatchHandler<T> handler, int maxConcurrentBatches) {
+        if (batchSize < 1 || maxConcurrentBatches < 1) {
+            throw new IllegalArgumentException("Batch size and concurrency must be positive");
+        }
         this.batchSize = batchSize;
-        this.currentBatch = new ArrayList<>(batchSize);
         this.handler = handler;
         this.maxConcurrentBatches = maxConcurrentBatches;
-        
+        this.permits = new Semaphore(maxConcurrentBatches);
+        int stripeCount = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 2 - 1);
+        this.stripeMask = stripeCount - 1;
+        this.stripes = new ArrayList<>(stripeCount);
+        for (int i = 0; i < stripeCount; i++) {
+            stripes.add(new Stripe());
+        }
+
         // Use virtual threads (Project Loom) for efficient concurrency
         this.executor = Executors.newVirtualThreadPerTaskExecutor();
-        logger.debug("ConcurrentBatchProcessor initialized with batch size: {}, max concurrent batches: {}", 
+        logger.debug("ConcurrentBatchProcessor initialized with batch size: {}, max concurrent batches: {}",
             batchSize, maxConcurrentBatches);
     }
-    
+
     /**
      * Creates a concurrent batch processor with default concurrency limit.
      */
@@ -64,31 +96,33 @@ public class ConcurrentBatchProcessor<T> implements AutoCloseable {
     }
 
     /**
-     * Adds an item to the current batch. If the batch is full, it will be submitted
-     * for asynchronous processing.
-     * 
+     * Adds an item to the calling thread's stripe. If the stripe's batch is full, it
+     * will be submitted for asynchronous processing.
+     *
      * @param item Item to add
      * @throws BatchProcessingException If batch handling fails
      */
     public void add(T item) throws BatchProcessingException {
         checkForErrors();
-        
+
         if (closed.get()) {
             throw new IllegalStateException("Batch processor is closed");
         }
-        
-        synchronized (currentBatch) {
-            currentBatch.add(item);
-            if (currentBatch.size() >= batchSize) {
-                submitBatch(new ArrayList<>(currentBatch));
-                currentBatch.clear();
-            }
+
+        Stripe own = stripeOf(Thread.currentThread());
+        List<T> full;
+        synchronized (own) {
+            own.buffer.add(item);
+            full = own.buffer.size() >= batchSize ? own.swap() : null;
+        }
+        if (full != null) {
+            submitBatch(full);
         }
     }
 
     /**
      * Adds a list of items to be batched and processed.
-     * 
+     *
      * @param items Items to add
      * @throws BatchProcessingException If batch handling fails
      */
@@ -99,89 +133,112 @@ public class ConcurrentBatchProcessor<T> implements AutoCloseable {
     }
 
     /**
-     * Flushes any remaining items in the current batch.
-     * 
+     * Flushes any remaining items in the batches of all stripes.
+     *
      * @throws BatchProcessingException If batch handling fails
      */
     public void flush() throws BatchProcessingException {
         checkForErrors();
-        
-        List<T> batchToFlush;
-        synchronized (currentBatch) {
-            if (currentBatch.isEmpty()) {
-                return;
+
+        for (Stripe each : stripes) {
+            List<T> remaining;
+            synchronized (each) {
+                remaining = each.buffer.isEmpty() ? null : each.swap();
+            }
+            if (remaining != null) {
+                submitBatch(remaining);
             }
-            batchToFlush = new ArrayList<>(currentBatch);
-            currentBatch.clear();
         }
-        
-        submitBatch(batchToFlush);
     }
-    
+
     /**
      * Waits for all submitted batches to complete.
-     * 
+     *
      * @throws BatchProcessingException If any batch handling failed
      */
     public void awaitCompletion() throws BatchProcessingException {
-        logger.debug("Awaiting completion of {} pending batches", pendingBatches.size());
-        for (CountDownLatch latch : pendingBatches) {
-            try {
-                latch.await();
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                throw new BatchProcessingException("Batch processing interrupted while waiting for completion", e);
+        logger.debug("Awaiting completion of {} pending batches", maxConcurrentBatches - permits.availablePermits());
+        try {
+            // Permits are only returned when a batch finishes, so holding all of them means none is running
+            permits.acquire(maxConcurrentBatches);
+            permits.release(maxConcurrentBatches);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BatchProcessingException("Batch processing interrupted while waiting for completion", e);
+        }
+        if (!failures.isEmpty()) {
+            BatchProcessingException first = null;
+            for (BatchProcessingException failure : failures.values()) {
+                if (first == null) {
+                    first = failure;
+                } else if (!Arrays.asList(first.getSuppressed()).contains(failure)) {
+                    first.addSuppressed(failure);
+                }
             }
+            throw first;
         }
-        checkForErrors();
         logger.debug("All batches completed successfully");
     }
 
+    private Stripe stripeOf(Thread thread) {
+        long id = thread.threadId();
+        return stripes.get((int) (id ^ (id >>> 16)) & stripeMask);
+    }
+
+    private List<T> takeBuffer() {
+        List<T> buffer = freeBuffers.poll();
+        return buffer != null ? buffer : new ArrayList<>(batchSize);
+    }
+
     /**
-     * Submits a batch for asynchronous processing while respecting the concurrency limit.
+     * Submits a batch for asynchronous processing once a concurrency permit is free.
      */
     private void submitBatch(List<T> batch) throws BatchProcessingException {
-        // Ensure we don't exceed max concurrent batches
-        while (pendingBatches.size() >= maxConcurrentBatches) {
-            CountDownLatch oldestBatch = pendingBatches.get(0);
-            try {
-                oldestBatch.await();
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                throw new BatchProcessingException("Batch processing interrupted while waiting for batch slot", e);
-            }
-            pendingBatches.remove(oldestBatch);
-            checkForErrors();
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            batch.clear();
+            freeBuffers.add(batch);
+            throw new BatchProcessingException("Batch processing interrupted while waiting for batch slot", e);
         }
-        
-        CountDownLatch latch = new CountDownLatch(1);
-        pendingBatches.add(latch);
-        
+        long sequence = submittedBatches.getAndIncrement();
+
         executor.submit(() -> {
             try {
                 handler.handleBatch(batch);
             } catch (BatchProcessingException e) {
-                executionException.compareAndSet(null, e);
-                logger.error("Batch processing failed", e);
+                recordFailure(sequence, e);
+                logger.error("Batch {} processing failed", sequence, e);
             } catch (Exception e) {
                 // Convert non-BatchProcessingExceptions to BatchProcessingExceptions
                 BatchProcessingException batchException = new BatchProcessingException(
                     "Unexpected error during batch processing", e, batch.size(), -1);
-                executionException.compareAndSet(null, batchException);
-                logger.error("Batch processing failed with unexpected error", e);
+                recordFailure(sequence, batchException);
+                logger.error("Batch {} processing failed with unexpected error", sequence, e);
             } finally {
-                latch.countDown();
+                batch.clear();
+                freeBuffers.add(batch);
+                permits.release();
             }
         });
     }
-    
+
+    private void recordFailure(long sequence, BatchProcessingException e) {
+        failures.put(sequence, e);
+        failed = true;
+    }
+
     /**
-     * Checks if any batch processing has failed.
+     * Checks if any batch processing has failed, throwing the earliest failure seen so far.
      */
     private void checkForErrors() throws BatchProcessingException {
-        BatchProcessingException e = executionException.get();
-        if (e != null) {
-            throw e;
+        if (!failed) {
+            return;
+        }
+        Map.Entry<Long, BatchProcessingException> first = failures.firstEntry();
+        if (first != null) {
+            throw first.getValue();
         }
     }
 
@@ -189,12 +246,31 @@ public class ConcurrentBatchProcessor<T> implements AutoCloseable {
     public void close() throws BatchProcessingException {
         if (closed.compareAndSet(false, true)) {
             try {
-                flush();
-                awaitCompletion();
+                try {
+                    flush();
+                } finally {
+                    // Report the earliest failure once every running batch has finished
+                    awaitCompletion();
+                }
             } finally {
                 executor.close();
                 logger.debug("ConcurrentBatchProcessor closed");
             }
         }
     }
+
+    /**
+     * A batch being filled by the producers that hash to it. The lock only guards the
+     * buffer swap and is never held while waiting for a permit, which would pin a
+     * virtual thread to its carrier.
+     */
+    private final class Stripe {
+        List<T> buffer = takeBuffer();
+
+        List<T> swap() {
+            List<T> full = buffer;
+            buffer = takeBuffer();
+            return full;
+        }
+    }
 }
@@ -8,22 +8,21 @@ import java.io.IOException;
 import java.util.Map;
 
 
+/**
+ * Logs each row of a result set as it is read from the cursor.
+ */
 public class ConsoleOutputHandler implements ResultSetStreamer {
     private static final Logger logger = LogManager.getLogger(ConsoleOutputHandler.class);
-    private final ResultSetProcessor processor;
-    
-    public ConsoleOutputHandler() {
-        this.processor = new ResultSetProcessor();
-    }
     
     @Override
     public void stream(ResultSet rs, int batchSize) throws SQLException, IOException {
         BatchProcessor<Map<String, Object>> batchProcessor = new BatchProcessor<>(batchSize,
             batch -> batch.forEach(row -> logger.info("Row: {}", row)));
         
-        for (Map<String, Object> row : processor.processResultSet(rs)) {
-            batchProcessor.add(row);
+        CompiledRowMapper mapper = CompiledRowMapper.compile(rs);
+        while (rs.next()) {
+            batchProcessor.add(mapper.mapRow(rs));
         }
         batchProcessor.flush();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,83 @@
+package com.example.shelldemo.sqlhandling;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import com.example.shelldemo.spi.BulkLoadSource;
+import com.opencsv.CSVParserBuilder;
+import com.opencsv.CSVReader;
+import com.opencsv.CSVReaderBuilder;
+import com.opencsv.enums.CSVReaderNullFieldIndicator;
+import com.opencsv.exceptions.CsvValidationException;
+
+/**
+ * Reads the rows of a CSV file for bulk loading, as written by {@link CsvOutputHandler}.
+ *
+ * <p>The first line holds the column names. An empty unquoted field is SQL NULL and a
+ * quoted empty field is an empty string; all values are text. Files whose name ends
+ * in {@code .gz} are decompressed.</p>
+ */
+public class CsvBulkSource implements BulkLoadSource {
+    private static final int INPUT_BUFFER_SIZE = 1 << 20;
+
+    private final CSVReader reader;
+    private final List<Column> columns;
+
+    /**
+     * @throws IOException if the file cannot be opened or has no header line
+     */
+    public CsvBulkSource(Path file) throws IOException {
+        InputStream in = Files.newInputStream(file);
+        if (file.getFileName().toString().endsWith(".gz")) {
+            in = new GZIPInputStream(in, INPUT_BUFFER_SIZE);
+        }
+        this.reader = new CSVReaderBuilder(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), INPUT_BUFFER_SIZE))
+            .withCSVParser(new CSVParserBuilder()
+                .withFieldAsNull(CSVReaderNullFieldIndicator.EMPTY_SEPARATORS)
+                .build())
+            .build();
+        String[] header = readLine();
+        if (header == null) {
+            reader.close();
+            throw new IOException("CSV file has no header line: " + file);
+        }
+        this.columns = Arrays.stream(header).map(name -> new Column(name.trim(), Types.VARCHAR)).toList();
+    }
+
+    @Override
+    public List<Column> columns() {
+        return columns;
+    }
+
+    @Override
+    public Object[] nextRow() throws IOException {
+        String[] fields = readLine();
+        if (fields != null && fields.length != columns.size()) {
+            throw new IOException(String.format("CSV line %d has %d fields, expected %d",
+                reader.getLinesRead(), fields.length, columns.size()));
+        }
+        return fields;
+    }
+
+    private String[] readLine() throws IOException {
+        try {
+            return reader.readNext();
+        } catch (CsvValidationException e) {
+            throw new IOException("Invalid CSV line " + reader.getLinesRead(), e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
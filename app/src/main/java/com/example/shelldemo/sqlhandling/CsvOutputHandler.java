@@ -0,0 +1,288 @@
+package com.example.shelldemo.sqlhandling;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Writes result sets to a CSV file straight from the cursor.
+ *
+ * <p>Each column is read with a getter chosen once from the result set metadata and
+ * written directly into a large output buffer, so no row maps are built and primitive
+ * columns are never boxed. Fields are quoted only when
+ * they contain a delimiter, quote or line break. SQL NULL is written as an empty
+ * field and an empty string as a quoted empty field, so the two can be told apart
+ * when the file is read back, e.g. by {@link CsvBulkSource}. Files whose name ends in {@code .gz} are gzip-compressed.</p>
+ *
+ * <p>Every result set streamed to the handler is appended to the same file with its
+ * own header line. The handler must be closed to flush the file.</p>
+ */
+public class CsvOutputHandler implements ResultSetStreamer, Closeable {
+    private static final Logger logger = LogManager.getLogger(CsvOutputHandler.class);
+
+    /** Size of the character buffer in front of the file, in chars. */
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+
+    private static final int COMPRESSION_BUFFER_SIZE = 64 * 1024;
+    private static final char DELIMITER = ',';
+    private static final char QUOTE = '"';
+    private static final char LINE_END = '\n';
+
+    private enum ColumnKind { STRING, INTEGER, DECIMAL, FLOATING, BOOLEAN, DATE, TIME, TIMESTAMP, BINARY, OBJECT }
+
+    private final Writer writer;
+    private final HexFormat hex = HexFormat.of();
+
+    /**
+     * Opens a CSV file for writing, replacing any existing file.
+     *
+     * @param file the output file; gzip-compressed if its name ends in {@code .gz}
+     * @throws IOException if the file cannot be created
+     */
+    public CsvOutputHandler(Path file) throws IOException {
+        this(open(file));
+        logger.info("Writing query results as CSV to {}", file);
+    }
+
+    /**
+     * Writes CSV to an existing writer, which is closed with this handler.
+     */
+    public CsvOutputHandler(Writer writer) {
+        this.writer = writer;
+    }
+
+    private static Writer open(Path file) throws IOException {
+        OutputStream out = Files.newOutputStream(file);
+        if (file.getFileName().toString().endsWith(".gz")) {
+            out = new GZIPOutputStream(out, COMPRESSION_BUFFER_SIZE);
+        }
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), DEFAULT_BUFFER_SIZE);
+    }
+
+    @Override
+    public void stream(ResultSet rs, int batchSize) throws SQLException, IOException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        ColumnKind[] kinds = new ColumnKind[columnCount];
+        for (int i = 1; i <= columnCount; i++) {
+            String label = metaData.getColumnLabel(i);
+            if (label == null || label.isEmpty()) {
+                label = metaData.getColumnName(i);
+            }
+            if (i > 1) {
+                writer.write(DELIMITER);
+            }
+            writeText(label);
+            kinds[i - 1] = kindOf(metaData.getColumnType(i));
+        }
+        writer.write(LINE_END);
+
+        long rows = 0;
+        while (rs.next()) {
+            for (int i = 1; i <= columnCount; i++) {
+                if (i > 1) {
+                    writer.write(DELIMITER);
+                }
+                writeValue(rs, i, kinds[i - 1]);
+            }
+            writer.write(LINE_END);
+            if (++rows % Math.max(batchSize, 1) == 0) {
+                logger.debug("Exported {} rows", rows);
+            }
+        }
+        writer.flush();
+        logger.info("Exported {} rows to CSV", rows);
+    }
+
+    /**
+     * CSV text with a header line written by the database itself.
+     */
+    @FunctionalInterface
+    public interface NativeExport {
+        /**
+         * @return the number of rows written, or -1 without writing anything if the
+         *         database has no native export
+         */
+        long writeTo(Writer writer) throws SQLException, IOException;
+    }
+
+    /**
+     * Appends CSV produced by the database instead of reading a result set.
+     *
+     * @return the number of rows written, or -1 if the database had no native export
+     */
+    public long append(NativeExport export) throws SQLException, IOException {
+        long rows = export.writeTo(writer);
+        if (rows >= 0) {
+            writer.flush();
+            logger.info("Exported {} rows to CSV natively", rows);
+        }
+        return rows;
+    }
+
+    /**
+     * Appends the rows of an uncompressed CSV file written by another handler, leaving
+     * out its header line if {@code skipHeader} is set.
+     */
+    public void appendFile(Path file, boolean skipHeader) throws IOException {
+        try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            if (skipHeader) {
+                skipLine(in);
+            }
+            in.transferTo(writer);
+        }
+        writer.flush();
+    }
+
+    /**
+     * Reads past the first line, which may hold line breaks inside quoted fields.
+     */
+    private static void skipLine(Reader in) throws IOException {
+        boolean quoted = false;
+        int c;
+        while ((c = in.read()) != -1 && (c != LINE_END || quoted)) {
+            if (c == QUOTE) {
+                quoted = !quoted;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private static ColumnKind kindOf(int sqlType) {
+        return switch (sqlType) {
+            case Types.CHAR, Types.VARCHAR, Types.LONGVARCHAR, Types.NCHAR, Types.NVARCHAR,
+                 Types.LONGNVARCHAR, Types.CLOB, Types.NCLOB -> ColumnKind.STRING;
+            case Types.TINYINT, Types.SMALLINT, Types.INTEGER, Types.BIGINT -> ColumnKind.INTEGER;
+            case Types.DECIMAL, Types.NUMERIC -> ColumnKind.DECIMAL;
+            case Types.FLOAT, Types.REAL, Types.DOUBLE -> ColumnKind.FLOATING;
+            case Types.BIT, Types.BOOLEAN -> ColumnKind.BOOLEAN;
+            case Types.DATE -> ColumnKind.DATE;
+            case Types.TIME -> ColumnKind.TIME;
+            case Types.TIMESTAMP -> ColumnKind.TIMESTAMP;
+            case Types.BINARY, Types.VARBINARY, Types.LONGVARBINARY, Types.BLOB -> ColumnKind.BINARY;
+            default -> ColumnKind.OBJECT;
+        };
+    }
+
+    private void writeValue(ResultSet rs, int column, ColumnKind kind) throws SQLException, IOException {
+        switch (kind) {
+            case INTEGER -> {
+                long value = rs.getLong(column);
+                if (!rs.wasNull()) {
+                    writer.write(Long.toString(value));
+                }
+            }
+            case DECIMAL -> {
+                BigDecimal value = rs.getBigDecimal(column);
+                if (value != null) {
+                    writer.write(value.toPlainString());
+                }
+            }
+            case FLOATING -> {
+                double value = rs.getDouble(column);
+                if (!rs.wasNull()) {
+                    writer.write(Double.toString(value));
+                }
+            }
+            case BOOLEAN -> {
+                boolean value = rs.getBoolean(column);
+                if (!rs.wasNull()) {
+                    writer.write(value ? "true" : "false");
+                }
+            }
+            case DATE -> {
+                java.sql.Date value = rs.getDate(column);
+                if (value != null) {
+                    writer.write(value.toString());
+                }
+            }
+            case TIME -> {
+                java.sql.Time value = rs.getTime(column);
+                if (value != null) {
+                    writer.write(value.toString());
+                }
+            }
+            case TIMESTAMP -> {
+                Timestamp value = rs.getTimestamp(column);
+                if (value != null) {
+                    DateTimeFormatter.ISO_LOCAL_DATE_TIME.formatTo(value.toLocalDateTime(), writer);
+                }
+            }
+            case BINARY -> {
+                byte[] value = rs.getBytes(column);
+                if (value != null) {
+                    hex.formatHex(writer, value);
+                }
+            }
+            case STRING -> writeText(rs.getString(column));
+            case OBJECT -> {
+                Object value = rs.getObject(column);
+                if (value != null) {
+                    writeText(value.toString());
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes a text field, quoting it only if it is empty or contains a delimiter, quote
+     * or line break.
+     */
+    private void writeText(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        int length = value.length();
+        if (length == 0) {
+            writer.write(QUOTE);
+            writer.write(QUOTE);
+            return;
+        }
+        int special = 0;
+        while (special < length && !needsQuoting(value.charAt(special))) {
+            special++;
+        }
+        if (special == length) {
+            writer.write(value);
+            return;
+        }
+        writer.write(QUOTE);
+        int start = 0;
+        for (int i = special; i < length; i++) {
+            if (value.charAt(i) == QUOTE) {
+                writer.write(value, start, i + 1 - start);
+                writer.write(QUOTE);
+                start = i + 1;
+            }
+        }
+        writer.write(value, start, length - start);
+        writer.write(QUOTE);
+    }
+
+    private static boolean needsQuoting(char c) {
+        return c == DELIMITER || c == QUOTE || c == '\n' || c == '\r';
+    }
+}
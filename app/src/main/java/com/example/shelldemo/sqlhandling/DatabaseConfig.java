@@ -1,5 +1,7 @@
 package com.example.shelldemo.sqlhandling;
 
+import com.example.shelldemo.connection.ConnectionPool;
+
 public class DatabaseConfig {
     private String dbType;
     private String host;
@@ -8,6 +10,14 @@ public class DatabaseConfig {
     private String password;
     private String database;
     private String connectionType;
+    private int fetchSize;
+    private int statementCacheSize;
+    private boolean nativeExport;
+    private boolean partitionFiles;
+    private boolean consistentSnapshot;
+    private String csvOutputFile;
+    private String columnarOutputFile;
+    private ConnectionPool connectionPool;
 
     // Getters and setters
     public String getDbType() { return dbType; }
@@ -24,6 +34,22 @@ public class DatabaseConfig {
     public void setDatabase(String database) { this.database = database; }
     public String getConnectionType() { return connectionType; }
     public void setConnectionType(String connectionType) { this.connectionType = connectionType; }
+    public int getFetchSize() { return fetchSize; }
+    public void setFetchSize(int fetchSize) { this.fetchSize = fetchSize; }
+    public int getStatementCacheSize() { return statementCacheSize; }
+    public void setStatementCacheSize(int statementCacheSize) { this.statementCacheSize = statementCacheSize; }
+    public boolean isNativeExport() { return nativeExport; }
+    public void setNativeExport(boolean nativeExport) { this.nativeExport = nativeExport; }
+    public boolean isPartitionFiles() { return partitionFiles; }
+    public void setPartitionFiles(boolean partitionFiles) { this.partitionFiles = partitionFiles; }
+    public boolean isConsistentSnapshot() { return consistentSnapshot; }
+    public void setConsistentSnapshot(boolean consistentSnapshot) { this.consistentSnapshot = consistentSnapshot; }
+    public String getCsvOutputFile() { return csvOutputFile; }
+    public void setCsvOutputFile(String csvOutputFile) { this.csvOutputFile = csvOutputFile; }
+    public String getColumnarOutputFile() { return columnarOutputFile; }
+    public void setColumnarOutputFile(String columnarOutputFile) { this.columnarOutputFile = columnarOutputFile; }
+    public ConnectionPool getConnectionPool() { return connectionPool; }
+    public void setConnectionPool(ConnectionPool connectionPool) { this.connectionPool = connectionPool; }
     public void setServiceName(String serviceName) {
         this.database = serviceName;  // Assuming 'database' field exists
     }
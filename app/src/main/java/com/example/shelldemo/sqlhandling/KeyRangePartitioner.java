@@ -0,0 +1,184 @@
+package com.example.shelldemo.sqlhandling;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Cuts a query into contiguous ranges of a numeric or date split column, so its rows
+ * can be read by several range queries on separate connections.
+ *
+ * <p>The ranges are of equal width between the column's minimum and maximum, not of
+ * equal row count, so skewed keys give uneven partitions. Rows whose key is NULL are
+ * read by a last range of their own. Range queries wrap the original query in a
+ * derived table and filter on the split column, which the optimizer can push down to
+ * an index or partition key of the underlying table.</p>
+ */
+public class KeyRangePartitioner {
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][\\w$#]*|\"[^\"]+\"");
+    private static final String SOURCE_ALIAS = " partition_source";
+
+    /**
+     * One range of split column values, from {@code lower} inclusive to {@code upper}
+     * exclusive, or inclusive for the last range. Both bounds are null for the rows
+     * whose key is NULL.
+     */
+    public record KeyRange(Object lower, Object upper, boolean upperInclusive) {
+        static final KeyRange NULL_KEYS = new KeyRange(null, null, false);
+
+        public boolean isNullKeys() {
+            return lower == null;
+        }
+
+        /**
+         * The values bound to the parameters of {@link KeyRangePartitioner#rangeSql}.
+         */
+        public List<Object> parameters() {
+            return isNullKeys() ? List.of() : List.of(lower, upper);
+        }
+    }
+
+    private final String query;
+    private final String column;
+
+    /**
+     * @param query a single query without a trailing semicolon
+     * @param column a column of the query's result, plain or quoted
+     */
+    public KeyRangePartitioner(String query, String column) {
+        if (!IDENTIFIER.matcher(column).matches()) {
+            throw new IllegalArgumentException("Split column must be a plain or quoted column name: " + column);
+        }
+        this.query = query;
+        this.column = column;
+    }
+
+    /**
+     * The query reading the minimum and maximum of the split column.
+     */
+    public String boundsSql() {
+        return "SELECT MIN(" + column + "), MAX(" + column + ") FROM (" + query + ")" + SOURCE_ALIAS;
+    }
+
+    /**
+     * The query reading the rows of one range, with {@link KeyRange#parameters} to bind.
+     */
+    public String rangeSql(KeyRange range) {
+        String rows = "SELECT * FROM (" + query + ")" + SOURCE_ALIAS + " WHERE " + column;
+        if (range.isNullKeys()) {
+            return rows + " IS NULL";
+        }
+        return rows + " >= ? AND " + column + (range.upperInclusive() ? " <= ?" : " < ?");
+    }
+
+    /**
+     * Splits the values from {@code min} to {@code max} into at most {@code count}
+     * ranges, followed by the range of NULL keys. Bounds have the Java type of
+     * {@code min}, so they compare with the column without a conversion; integer keys
+     * get integer bounds, and ranges that would be empty after rounding are merged.
+     *
+     * @param min the smallest key, or null if the query has no non-NULL keys
+     * @param max the largest key
+     * @throws IllegalArgumentException if the keys are not numbers, dates or timestamps
+     */
+    public static List<KeyRange> split(Object min, Object max, int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Partition count must be positive");
+        }
+        List<KeyRange> ranges = new ArrayList<>();
+        if (min != null) {
+            List<Object> bounds = switch (min) {
+                case Timestamp low -> map(dateTimeBounds(low.toLocalDateTime(), ((Timestamp) max).toLocalDateTime(), count),
+                    Timestamp::valueOf);
+                case Date low -> map(dateBounds(low.toLocalDate(), ((Date) max).toLocalDate(), count), Date::valueOf);
+                case LocalDateTime low -> map(dateTimeBounds(low, (LocalDateTime) max, count), Function.identity());
+                case LocalDate low -> map(dateBounds(low, (LocalDate) max, count), Function.identity());
+                case Number low -> map(numberBounds(low, (Number) max, count), value -> toTypeOf(value, low));
+                default -> throw new IllegalArgumentException(
+                    "Split column must be numeric, a date or a timestamp, not " + min.getClass().getName());
+            };
+            if (bounds.size() == 1) {
+                ranges.add(new KeyRange(min, max, true));
+            }
+            for (int i = 0; i < bounds.size() - 1; i++) {
+                ranges.add(new KeyRange(bounds.get(i), bounds.get(i + 1), i == bounds.size() - 2));
+            }
+        }
+        ranges.add(KeyRange.NULL_KEYS);
+        return ranges;
+    }
+
+    private static List<BigDecimal> numberBounds(Number min, Number max, int count) {
+        BigDecimal low = new BigDecimal(min.toString());
+        BigDecimal high = new BigDecimal(max.toString());
+        boolean integral = low.stripTrailingZeros().scale() <= 0 && high.stripTrailingZeros().scale() <= 0;
+        BigDecimal width = high.subtract(low);
+        List<BigDecimal> bounds = new ArrayList<>();
+        bounds.add(low);
+        for (int i = 1; i < count; i++) {
+            BigDecimal step = width.multiply(BigDecimal.valueOf(i)).divide(BigDecimal.valueOf(count), MathContext.DECIMAL64);
+            BigDecimal bound = low.add(step);
+            addDistinct(bounds, integral ? bound.setScale(0, RoundingMode.CEILING) : bound);
+        }
+        addDistinct(bounds, high);
+        return bounds;
+    }
+
+    private static void addDistinct(List<BigDecimal> bounds, BigDecimal bound) {
+        if (bound.compareTo(bounds.getLast()) > 0) {
+            bounds.add(bound);
+        }
+    }
+
+    private static Object toTypeOf(BigDecimal value, Number like) {
+        return switch (like) {
+            case Long l -> value.longValue();
+            case Integer i -> value.intValue();
+            case Short s -> value.shortValue();
+            case Byte b -> value.byteValue();
+            case BigInteger b -> value.toBigInteger();
+            case Double d -> value.doubleValue();
+            case Float f -> value.floatValue();
+            default -> value;
+        };
+    }
+
+    private static List<LocalDate> dateBounds(LocalDate min, LocalDate max, int count) {
+        long days = ChronoUnit.DAYS.between(min, max);
+        List<LocalDate> bounds = new ArrayList<>();
+        for (int i = 0; i <= count; i++) {
+            LocalDate bound = min.plusDays(Math.ceilDiv(days * i, count));
+            if (bounds.isEmpty() || bound.isAfter(bounds.getLast())) {
+                bounds.add(bound);
+            }
+        }
+        return bounds;
+    }
+
+    private static List<LocalDateTime> dateTimeBounds(LocalDateTime min, LocalDateTime max, int count) {
+        Duration span = Duration.between(min, max);
+        List<LocalDateTime> bounds = new ArrayList<>();
+        for (int i = 0; i <= count; i++) {
+            LocalDateTime bound = min.plus(span.multipliedBy(i).dividedBy(count));
+            if (bounds.isEmpty() || bound.isAfter(bounds.getLast())) {
+                bounds.add(bound);
+            }
+        }
+        return bounds;
+    }
+
+    private static <T> List<Object> map(List<T> bounds, Function<T, ?> toKey) {
+        return bounds.stream().<Object>map(toKey).toList();
+    }
+}
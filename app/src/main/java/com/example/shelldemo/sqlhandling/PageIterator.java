@@ -0,0 +1,162 @@
+package com.example.shelldemo.sqlhandling;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.example.shelldemo.exception.DatabaseException;
+import com.example.shelldemo.exception.DatabaseException.ErrorType;
+import com.example.shelldemo.spi.DatabaseVendor;
+
+/**
+ * Walks the rows of a query one page at a time with keyset (seek) pagination.
+ *
+ * <p>Every page is a new query that orders by the key columns and starts after the last
+ * key of the previous page, {@code WHERE k1 > ? OR (k1 = ? AND k2 > ?)}, instead of
+ * skipping rows with an offset. With an index on the keys each page costs the same
+ * however far into the result it is. The row limit uses the vendor's syntax, see
+ * {@link DatabaseVendor#paginate}.</p>
+ *
+ * <p>The key columns must be in the select list, non-null and unique together; they
+ * are walked in ascending order. The query must not have its own ORDER BY or row
+ * limit. Rows inserted or deleted behind the current key while iterating are not
+ * seen or skipped, unlike with offsets where they shift later pages.</p>
+ */
+public class PageIterator implements Iterator<List<Map<String, Object>>> {
+    private static final Logger logger = LogManager.getLogger(PageIterator.class);
+
+    private final Connection connection;
+    private final List<String> keyColumns;
+    private final int pageSize;
+    private final Object[] params;
+    private final String firstPageSql;
+    private final String nextPageSql;
+    private Object[] lastKey;
+    private List<Map<String, Object>> nextPage;
+    private boolean exhausted;
+
+    /**
+     * @param connection the connection to query on; it must stay open while iterating
+     * @param vendor the vendor whose row limit syntax is used
+     * @param sql the query to page through
+     * @param keyColumns the ordered key, as labelled in the select list
+     * @param pageSize maximum rows per page
+     * @param params bind values of the query
+     */
+    public PageIterator(Connection connection, DatabaseVendor vendor, String sql, List<String> keyColumns,
+            int pageSize, Object... params) {
+        if (keyColumns.isEmpty() || pageSize < 1) {
+            throw new IllegalArgumentException("Keyset pagination needs at least one key column and a positive page size");
+        }
+        this.connection = connection;
+        this.keyColumns = List.copyOf(keyColumns);
+        this.pageSize = pageSize;
+        this.params = params.clone();
+        String source = "SELECT * FROM (" + sql + ") page_source";
+        String orderBy = " ORDER BY " + String.join(", ", keyColumns);
+        this.firstPageSql = vendor.paginate(source + orderBy, 0, pageSize);
+        this.nextPageSql = vendor.paginate(source + " WHERE " + seekCondition(keyColumns) + orderBy, 0, pageSize);
+    }
+
+    /**
+     * Builds {@code k1 > ? OR (k1 = ? AND k2 > ?) OR ...}, true for keys after the bound one.
+     */
+    private static String seekCondition(List<String> keyColumns) {
+        StringBuilder condition = new StringBuilder();
+        for (int i = 0; i < keyColumns.size(); i++) {
+            condition.append(i == 0 ? "(" : " OR (");
+            for (int j = 0; j < i; j++) {
+                condition.append(keyColumns.get(j)).append(" = ? AND ");
+            }
+            condition.append(keyColumns.get(i)).append(" > ?)");
+        }
+        return condition.toString();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextPage == null && !exhausted) {
+            try {
+                nextPage = fetchPage();
+            } catch (SQLException e) {
+                throw new DatabaseException("Failed to fetch the next page of rows", e, ErrorType.OP_QUERY);
+            }
+        }
+        return nextPage != null;
+    }
+
+    @Override
+    public List<Map<String, Object>> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        List<Map<String, Object>> page = nextPage;
+        nextPage = null;
+        return page;
+    }
+
+    /**
+     * Fetches the page after {@link #lastKey}, or null if there are no more rows.
+     */
+    private List<Map<String, Object>> fetchPage() throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(lastKey == null ? firstPageSql : nextPageSql,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            int index = 1;
+            for (Object param : params) {
+                stmt.setObject(index++, param);
+            }
+            if (lastKey != null) {
+                for (int i = 0; i < lastKey.length; i++) {
+                    for (int j = 0; j <= i; j++) {
+                        stmt.setObject(index++, lastKey[j]);
+                    }
+                }
+            }
+            stmt.setFetchSize(pageSize);
+
+            List<Map<String, Object>> page = new ArrayList<>(pageSize);
+            try (ResultSet rs = stmt.executeQuery()) {
+                CompiledRowMapper mapper = CompiledRowMapper.compile(rs);
+                int[] keyIndexes = keyIndexes(rs.getMetaData());
+                Object[] key = lastKey;
+                while (rs.next()) {
+                    page.add(mapper.mapRow(rs));
+                    key = new Object[keyIndexes.length];
+                    for (int i = 0; i < keyIndexes.length; i++) {
+                        key[i] = rs.getObject(keyIndexes[i]);
+                    }
+                }
+                lastKey = key;
+            }
+            logger.debug("Fetched page of {} rows", page.size());
+            // A short page is the last one, so no query is needed to find the end
+            exhausted = page.size() < pageSize;
+            return page.isEmpty() ? null : page;
+        }
+    }
+
+    private int[] keyIndexes(ResultSetMetaData metaData) throws SQLException {
+        int[] indexes = new int[keyColumns.size()];
+        for (int k = 0; k < indexes.length; k++) {
+            for (int i = 1; i <= metaData.getColumnCount() && indexes[k] == 0; i++) {
+                if (metaData.getColumnLabel(i).equalsIgnoreCase(keyColumns.get(k))) {
+                    indexes[k] = i;
+                }
+            }
+            if (indexes[k] == 0) {
+                throw new IllegalArgumentException("Key column not in the select list: " + keyColumns.get(k));
+            }
+        }
+        return indexes;
+    }
+}
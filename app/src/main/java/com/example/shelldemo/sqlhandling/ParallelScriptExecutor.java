@@ -0,0 +1,129 @@
+package com.example.shelldemo.sqlhandling;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.example.shelldemo.connection.ConnectionPool;
+import com.example.shelldemo.exception.DatabaseException;
+import com.example.shelldemo.exception.DatabaseException.ErrorType;
+import com.example.shelldemo.sqlhandling.StatementPipeline.StatementConsumer;
+
+/**
+ * Runs the statements of a {@link StatementGraph} on several pooled connections.
+ *
+ * <p>Each worker borrows one connection for the whole run and takes statements from a
+ * shared ready queue. A statement becomes ready when all statements it depends on have
+ * completed, so conflicting statements keep their script order while independent ones
+ * run concurrently. After the first failure no further statements are started.</p>
+ */
+public class ParallelScriptExecutor {
+    private static final Logger logger = LogManager.getLogger(ParallelScriptExecutor.class);
+
+    private static final int NO_MORE_WORK = -1;
+
+    /**
+     * Creates the statement consumer a worker uses on its connection.
+     */
+    @FunctionalInterface
+    public interface WorkerFactory {
+        StatementConsumer open(Connection connection) throws SQLException;
+    }
+
+    private final ConnectionPool pool;
+    private final int parallelism;
+
+    /**
+     * @param pool source of worker connections; should allow at least {@code parallelism} connections
+     * @param parallelism number of statements that may run at the same time
+     */
+    public ParallelScriptExecutor(ConnectionPool pool, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.pool = pool;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Executes every statement of the graph, returning once all have completed or one has failed.
+     *
+     * @param graph the statements and their dependencies
+     * @param workerFactory creates the per-connection statement consumer
+     * @return number of statements executed
+     * @throws SQLException if a statement or connection fails
+     */
+    public int execute(StatementGraph graph, WorkerFactory workerFactory) throws SQLException {
+        int size = graph.size();
+        if (size == 0) {
+            return 0;
+        }
+        AtomicIntegerArray remaining = new AtomicIntegerArray(size);
+        LinkedBlockingQueue<Integer> ready = new LinkedBlockingQueue<>();
+        for (int i = 0; i < size; i++) {
+            remaining.set(i, graph.getDependencyCount(i));
+            if (graph.getDependencyCount(i) == 0) {
+                ready.add(i);
+            }
+        }
+        AtomicInteger completed = new AtomicInteger();
+        AtomicReference<Exception> failure = new AtomicReference<>();
+
+        int workers = Math.min(parallelism, size);
+        logger.info("Executing {} statements on {} connections ({} initially ready)", size, workers, ready.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < workers; w++) {
+                executor.submit(() -> work(graph, workerFactory, remaining, ready, completed, failure));
+            }
+        }
+
+        Exception error = failure.get();
+        if (error instanceof SQLException sqlException) {
+            throw sqlException;
+        }
+        if (error instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (error != null) {
+            throw new DatabaseException("Parallel script execution failed", error, ErrorType.OP_QUERY);
+        }
+        return completed.get();
+    }
+
+    private void work(StatementGraph graph, WorkerFactory workerFactory, AtomicIntegerArray remaining,
+            LinkedBlockingQueue<Integer> ready, AtomicInteger completed, AtomicReference<Exception> failure) {
+        try (Connection connection = pool.borrow()) {
+            StatementConsumer consumer = workerFactory.open(connection);
+            while (true) {
+                int index = ready.take();
+                if (index == NO_MORE_WORK || failure.get() != null) {
+                    break;
+                }
+                consumer.accept(graph.getStatement(index));
+                if (completed.incrementAndGet() == graph.size()) {
+                    break;
+                }
+                for (int dependent : graph.getDependents(index)) {
+                    if (remaining.decrementAndGet(dependent) == 0) {
+                        ready.add(dependent);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure.compareAndSet(null, e);
+        } catch (SQLException | RuntimeException e) {
+            failure.compareAndSet(null, e);
+        }
+        // Wake up the other workers; each one passes the signal on as it stops
+        ready.add(NO_MORE_WORK);
+    }
+}
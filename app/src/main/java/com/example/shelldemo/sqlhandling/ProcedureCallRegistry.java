@@ -0,0 +1,81 @@
+package com.example.shelldemo.sqlhandling;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.example.shelldemo.exception.DatabaseException;
+import com.example.shelldemo.exception.DatabaseException.ErrorType;
+import com.example.shelldemo.parser.SqlScriptParser;
+
+/**
+ * Resolves procedure references to JDBC call strings, once per procedure and arity.
+ *
+ * <p>A reference is either a plain, optionally qualified name such as
+ * {@code hr.payroll.close_month} or a {@code CREATE PROCEDURE} / {@code CREATE FUNCTION}
+ * definition, whose name is used. The call string comes from the vendor's procedure
+ * template for single calls and from the standard {@code { call ... }} escape for
+ * batches, since a batched call cannot return a value. Resolved strings are kept for
+ * the life of the registry, so repeated calls skip parsing and formatting and hit the
+ * same cached {@link java.sql.CallableStatement}.</p>
+ */
+public class ProcedureCallRegistry {
+    private static final Logger logger = LogManager.getLogger(ProcedureCallRegistry.class);
+    private static final String CALL_ESCAPE = "{ call %s(%s) }";
+    private static final Pattern PROCEDURE_NAME = Pattern.compile("[\\w$#]+(\\.[\\w$#]+)*|\"[^\"]+\"(\\.\"[^\"]+\")*");
+
+    private record CallKey(String procedure, int paramCount, boolean batch) {}
+
+    private final String template;
+    private final Map<CallKey, String> callStrings = new ConcurrentHashMap<>();
+
+    /**
+     * @param template the vendor procedure template, with the name and the placeholders
+     *        as its two {@code %s} arguments, or null to use the standard call escape
+     */
+    public ProcedureCallRegistry(String template) {
+        this.template = template != null ? template : CALL_ESCAPE;
+    }
+
+    /**
+     * Returns the call string for a single call with the vendor template.
+     *
+     * @throws DatabaseException if the reference is neither a name nor a definition
+     */
+    public String callString(String procedure, int paramCount) {
+        return callStrings.computeIfAbsent(new CallKey(procedure, paramCount, false), this::resolve);
+    }
+
+    /**
+     * Returns the call string for a batched call, which has no return value.
+     *
+     * @throws DatabaseException if the reference is neither a name nor a definition
+     */
+    public String batchCallString(String procedure, int paramCount) {
+        return callStrings.computeIfAbsent(new CallKey(procedure, paramCount, true), this::resolve);
+    }
+
+    private String resolve(CallKey key) {
+        String name = resolveName(key.procedure());
+        String placeholders = String.join(",", Collections.nCopies(key.paramCount(), "?"));
+        String callString = String.format(key.batch() ? CALL_ESCAPE : template, name, placeholders);
+        logger.debug("Resolved procedure call: {}", callString);
+        return callString;
+    }
+
+    private static String resolveName(String procedure) {
+        String trimmed = procedure != null ? procedure.trim() : "";
+        if (PROCEDURE_NAME.matcher(trimmed).matches()) {
+            return trimmed;
+        }
+        try {
+            return SqlScriptParser.parseStoredProcedure(trimmed).name();
+        } catch (IllegalArgumentException e) {
+            throw new DatabaseException("Failed to parse stored procedure: " + procedure, e, ErrorType.PARSE_PROCEDURE);
+        }
+    }
+}
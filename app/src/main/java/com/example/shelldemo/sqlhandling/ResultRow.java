@@ -0,0 +1,121 @@
+package com.example.shelldemo.sqlhandling;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Read-only row of a query result.
+ *
+ * <p>All rows of a result set share one {@link Columns} instance holding the column
+ * labels and their positions; a row itself is only an array of values. It behaves as
+ * an insertion-ordered {@code Map} of column label to value, so it can be used
+ * wherever a {@code LinkedHashMap} row was used before.</p>
+ */
+public final class ResultRow extends AbstractMap<String, Object> {
+    private final Columns columns;
+    private final Object[] values;
+
+    ResultRow(Columns columns, Object[] values) {
+        this.columns = columns;
+        this.values = values;
+    }
+
+    /**
+     * Column labels shared by every row of one result set.
+     *
+     * <p>When several columns have the same label, the label keeps its first position
+     * and maps to the value of the last such column, as a {@code LinkedHashMap} would.</p>
+     */
+    static final class Columns {
+        private final String[] labels;
+        private final int[] valueIndexes;
+        private final Map<String, Integer> positions;
+
+        Columns(String[] columnLabels) {
+            Map<String, Integer> byLabel = new HashMap<>(columnLabels.length * 2);
+            String[] unique = new String[columnLabels.length];
+            int[] indexes = new int[columnLabels.length];
+            int count = 0;
+            for (int i = 0; i < columnLabels.length; i++) {
+                Integer position = byLabel.get(columnLabels[i]);
+                if (position == null) {
+                    byLabel.put(columnLabels[i], count);
+                    unique[count] = columnLabels[i];
+                    indexes[count] = i;
+                    count++;
+                } else {
+                    indexes[position] = i;
+                }
+            }
+            this.labels = Arrays.copyOf(unique, count);
+            this.valueIndexes = Arrays.copyOf(indexes, count);
+            this.positions = byLabel;
+        }
+
+        int size() {
+            return labels.length;
+        }
+    }
+
+    /**
+     * Returns the value of the column at the given 0-based position in the row.
+     */
+    public Object getValue(int position) {
+        return values[columns.valueIndexes[position]];
+    }
+
+    @Override
+    public Object get(Object key) {
+        Integer position = columns.positions.get(key);
+        return position == null ? null : values[columns.valueIndexes[position]];
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return columns.positions.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return columns.size();
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new Iterator<>() {
+                    private int position;
+
+                    @Override
+                    public boolean hasNext() {
+                        return position < columns.size();
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        if (position >= columns.size()) {
+                            throw new NoSuchElementException();
+                        }
+                        String label = columns.labels[position];
+                        Object value = getValue(position);
+                        position++;
+                        return new SimpleImmutableEntry<>(label, value);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return columns.size();
+            }
+        };
+    }
+}
@@ -1,15 +1,20 @@
 package com.example.shelldemo.sqlhandling;
 
 import java.sql.ResultSet;
-import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
-import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
  * Utility class to map ResultSet rows to Map objects.
+ *
+ * <p>The column layout is compiled once per result set with {@link CompiledRowMapper}
+ * and reused for every following row of the same result set.</p>
  */
 public class ResultSetMapper {
+
+    private record CachedMapper(ResultSet resultSet, CompiledRowMapper mapper) {}
+
+    private volatile CachedMapper cached;
     
     /**
      * Maps the current row of a ResultSet to a Map.
@@ -20,19 +25,24 @@ public class ResultSetMapper {
      * @throws SQLException if database access error occurs
      */
     public Map<String, Object> mapRow(ResultSet rs) throws SQLException {
-        ResultSetMetaData metaData = rs.getMetaData();
-        int columnCount = metaData.getColumnCount();
-        Map<String, Object> row = new LinkedHashMap<>();
-        
-        for (int i = 1; i <= columnCount; i++) {
-            String columnName = metaData.getColumnLabel(i);
-            if (columnName == null || columnName.isEmpty()) {
-                columnName = metaData.getColumnName(i);
-            }
-            Object value = rs.getObject(i);
-            row.put(columnName, value);
+        return compile(rs).mapRow(rs);
+    }
+
+    /**
+     * Returns the compiled mapper for a result set, reusing it while the same
+     * result set is being read.
+     * 
+     * @param rs the result set to map
+     * @return mapper for the rows of {@code rs}
+     * @throws SQLException if the metadata cannot be read
+     */
+    public CompiledRowMapper compile(ResultSet rs) throws SQLException {
+        CachedMapper current = cached;
+        if (current != null && current.resultSet() == rs) {
+            return current.mapper();
         }
-        
-        return row;
+        CompiledRowMapper mapper = CompiledRowMapper.compile(rs);
+        cached = new CachedMapper(rs, mapper);
+        return mapper;
     }
 }
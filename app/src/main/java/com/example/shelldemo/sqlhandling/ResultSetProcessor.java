@@ -40,8 +40,9 @@ public class ResultSetProcessor {
      */
     public List<Map<String, Object>> processResultSet(ResultSet rs) throws SQLException {
         List<Map<String, Object>> results = new ArrayList<>();
+        CompiledRowMapper rowMapper = mapper.compile(rs);
         while (rs.next()) {
-            results.add(mapper.mapRow(rs));
+            results.add(rowMapper.mapRow(rs));
         }
         return results;
     }
@@ -0,0 +1,68 @@
+package com.example.shelldemo.sqlhandling;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Formats query results as a fixed-width text table for console output.
+ *
+ * <p>Tables can be built in one call with {@link #format(List)} or incrementally with
+ * {@link #appendHeader(StringBuilder, String[])} and
+ * {@link #appendRow(StringBuilder, Map, String[])} while rows are streamed.</p>
+ */
+public class ResultTableFormatter {
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    /**
+     * Formats rows as a table with one 20-character column per key of the first row.
+     *
+     * @param results rows to format, all sharing the same columns
+     * @return the table text surrounded by blank lines, or an empty string if there are no rows
+     */
+    public String format(List<Map<String, Object>> results) {
+        if (results.isEmpty()) {
+            return "";
+        }
+        StringBuilder output = new StringBuilder();
+        String[] headers = headersOf(results.get(0));
+        output.append(LINE_SEPARATOR);
+        appendHeader(output, headers);
+        for (Map<String, Object> row : results) {
+            appendRow(output, row, headers);
+        }
+        output.append(LINE_SEPARATOR);
+        return output.toString();
+    }
+
+    /**
+     * Returns the column headers of a row, in column order.
+     */
+    public String[] headersOf(Map<String, Object> row) {
+        return row.keySet().toArray(new String[0]);
+    }
+
+    /**
+     * Appends the header line and the separator line below it.
+     */
+    public void appendHeader(StringBuilder output, String[] headers) {
+        for (String header : headers) {
+            output.append(String.format("%-20s", header));
+        }
+        output.append(LINE_SEPARATOR);
+        for (int i = 0; i < headers.length; i++) {
+            output.append("--------------------");
+        }
+        output.append(LINE_SEPARATOR);
+    }
+
+    /**
+     * Appends one table line for a row.
+     */
+    public void appendRow(StringBuilder output, Map<String, Object> row, String[] headers) {
+        for (String header : headers) {
+            Object value = row.get(header);
+            output.append(String.format("%-20s", value != null ? value.toString() : "(null)"));
+        }
+        output.append(LINE_SEPARATOR);
+    }
+}
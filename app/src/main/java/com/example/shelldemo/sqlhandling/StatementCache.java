@@ -0,0 +1,120 @@
+package com.example.shelldemo.sqlhandling;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Least-recently-used cache of the prepared and callable statements of one connection,
+ * keyed by SQL text.
+ *
+ * <p>A statement handed out stays open and is returned again, with its parameters
+ * cleared, the next time the same text is prepared. Callers must not close it and must
+ * be done with it, including closing its result set, before preparing the same text
+ * again. When the cache is full the least recently used statement is closed.</p>
+ *
+ * <p>This complements driver-level caches such as Oracle's implicit statement cache:
+ * a hit skips the driver call and its lookup entirely. Like its connection, a cache is
+ * used by one thread at a time.</p>
+ */
+public class StatementCache implements AutoCloseable {
+    private static final Logger logger = LogManager.getLogger(StatementCache.class);
+
+    private final Connection connection;
+    private final Map<String, PreparedStatement> statements;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * @param connection the connection to prepare statements on
+     * @param capacity maximum number of open statements kept
+     */
+    public StatementCache(Connection connection, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Statement cache capacity must be positive");
+        }
+        this.connection = connection;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() <= capacity) {
+                    return false;
+                }
+                evictions++;
+                closeQuietly(eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached statement for {@code sql}, or prepares and caches a new one.
+     */
+    public PreparedStatement prepare(String sql) throws SQLException {
+        PreparedStatement cached = statements.get(sql);
+        if (cached != null && !cached.isClosed()) {
+            hits++;
+            cached.clearParameters();
+            return cached;
+        }
+        misses++;
+        PreparedStatement statement = connection.prepareStatement(sql);
+        statements.put(sql, statement);
+        return statement;
+    }
+
+    /**
+     * Returns the cached callable statement for {@code sql}, or prepares and caches a new one.
+     */
+    public CallableStatement prepareCall(String sql) throws SQLException {
+        if (statements.get(sql) instanceof CallableStatement cached && !cached.isClosed()) {
+            hits++;
+            cached.clearParameters();
+            return cached;
+        }
+        misses++;
+        CallableStatement statement = connection.prepareCall(sql);
+        PreparedStatement replaced = statements.put(sql, statement);
+        if (replaced != null) {
+            closeQuietly(replaced);
+        }
+        return statement;
+    }
+
+    public long getHitCount() {
+        return hits;
+    }
+
+    public long getMissCount() {
+        return misses;
+    }
+
+    public long getEvictionCount() {
+        return evictions;
+    }
+
+    /**
+     * Closes every cached statement and logs the hit and miss counts.
+     */
+    @Override
+    public void close() {
+        statements.values().forEach(StatementCache::closeQuietly);
+        statements.clear();
+        logger.debug("Statement cache closed: {} hits, {} misses, {} evictions", hits, misses, evictions);
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            logger.warn("Failed to close cached statement", e);
+        }
+    }
+}
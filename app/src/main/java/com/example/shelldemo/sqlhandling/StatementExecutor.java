@@ -1,25 +1,55 @@
 package com.example.shelldemo.sqlhandling;
+import java.sql.CallableStatement;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.Statement;
 import java.sql.SQLException;
 import java.sql.ResultSet;
 import java.io.File;
-import java.util.Map;
+import java.util.Iterator;
+import java.util.stream.Stream;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.LogManager;
 import com.example.shelldemo.validate.DatabaserOperationValidator;
 import com.example.shelldemo.parser.SqlScriptParser;
+import com.example.shelldemo.parser.SqlStatement;
 import com.example.shelldemo.exception.DatabaseException;
 
 public class StatementExecutor {
     private static final Logger logger = LogManager.getLogger(StatementExecutor.class);
     private final Connection connection;
     private final DatabaserOperationValidator validator;
+    private final StatementCache statementCache;
+
+    /**
+     * Work done with a prepared statement, which must not be closed by it.
+     */
+    @FunctionalInterface
+    public interface PreparedStatementWork<T> {
+        T apply(PreparedStatement stmt) throws SQLException;
+    }
+
+    /**
+     * Work done with a callable statement, which must not be closed by it.
+     */
+    @FunctionalInterface
+    public interface CallableStatementWork<T> {
+        T apply(CallableStatement stmt) throws SQLException;
+    }
     
     public StatementExecutor(Connection connection, DatabaserOperationValidator validator) {
+        this(connection, validator, null);
+    }
+
+    /**
+     * @param statementCache cache of prepared statements on {@code connection}, or null to
+     *        prepare and close a statement for every execution
+     */
+    public StatementExecutor(Connection connection, DatabaserOperationValidator validator,
+            StatementCache statementCache) {
         this.connection = connection;
         this.validator = validator;
+        this.statementCache = statementCache;
         logger.debug("StatementExecutor initialized");
     }
     
@@ -49,10 +79,39 @@ public class StatementExecutor {
         }
     }
     
-    private void executeRegular(String sql, StatementHandler handler) throws SQLException {
-        logger.debug("Creating prepared statement for regular SQL execution");
+    /**
+     * Runs work on a prepared statement for {@code sql}, taken from the statement cache
+     * if there is one and otherwise closed afterwards.
+     */
+    public <T> T withPreparedStatement(String sql, PreparedStatementWork<T> work) throws SQLException {
+        if (statementCache != null) {
+            return work.apply(statementCache.prepare(sql));
+        }
         try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            handler.handle(stmt, sql);
+            return work.apply(stmt);
+        }
+    }
+
+    /**
+     * Runs {@code work} with a callable statement for {@code sql}, taken from the
+     * statement cache when there is one.
+     */
+    public <T> T withCallableStatement(String sql, CallableStatementWork<T> work) throws SQLException {
+        if (statementCache != null) {
+            return work.apply(statementCache.prepareCall(sql));
+        }
+        try (CallableStatement stmt = connection.prepareCall(sql)) {
+            return work.apply(stmt);
+        }
+    }
+    
+    private void executeRegular(String sql, StatementHandler handler) throws SQLException {
+        logger.debug("Preparing statement for regular SQL execution");
+        try {
+            withPreparedStatement(sql, stmt -> {
+                handler.handle(stmt, sql);
+                return null;
+            });
             logger.debug("Regular SQL statement executed successfully");
         } catch (SQLException e) {
             // Extract Oracle error code and message
@@ -89,20 +148,23 @@ public class StatementExecutor {
 
     public void validateScript(String scriptPath, boolean showExplainPlan) throws SQLException {
         logger.debug("Validating script: {}", scriptPath);
-        Map<Integer, String> statements = SqlScriptParser.parseSqlFile(new File(scriptPath));
-        
-        for (Map.Entry<Integer, String> entry : statements.entrySet()) {
-            String sql = entry.getValue();
-            logger.debug("Validating statement #{}: {}", entry.getKey(), sql);
-            
-            if (showExplainPlan) {
-                String plan = getExplainPlan(sql);
-                logger.info("Explain plan for statement #{}: \n{}", entry.getKey(), plan);
-            }
-            
-            // Try to prepare the statement to validate syntax
-            try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-                logger.debug("Statement #{} validated successfully", entry.getKey());
+        try (Stream<SqlStatement> statements = SqlScriptParser.streamSqlFile(new File(scriptPath))) {
+            Iterator<SqlStatement> iterator = statements.iterator();
+            int statementNumber = 0;
+            while (iterator.hasNext()) {
+                String sql = iterator.next().getText();
+                statementNumber++;
+                logger.debug("Validating statement #{}: {}", statementNumber, sql);
+                
+                if (showExplainPlan) {
+                    String plan = getExplainPlan(sql);
+                    logger.info("Explain plan for statement #{}: \n{}", statementNumber, plan);
+                }
+                
+                // Try to prepare the statement to validate syntax
+                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    logger.debug("Statement #{} validated successfully", statementNumber);
+                }
             }
         }
         logger.info("Script validation completed successfully");
@@ -0,0 +1,131 @@
+package com.example.shelldemo.sqlhandling;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.example.shelldemo.parser.SqlStatement;
+import com.example.shelldemo.parser.SqlStatementList;
+import com.example.shelldemo.parser.TableAccess;
+
+/**
+ * Dependency graph of the statements of a script.
+ *
+ * <p>A statement depends on every earlier statement it conflicts with according to
+ * {@link TableAccess}: a write depends on the previous writer and all readers since
+ * then of each table, a read depends on the previous writer, and a barrier depends on
+ * everything since the previous barrier and is a dependency of everything after it.
+ * Statements with no path between them may run in any order.</p>
+ */
+public final class StatementGraph {
+    private final SqlStatementList statements;
+    private final int[] dependencyCounts;
+    private final int[][] dependents;
+
+    private StatementGraph(SqlStatementList statements, int[] dependencyCounts, int[][] dependents) {
+        this.statements = statements;
+        this.dependencyCounts = dependencyCounts;
+        this.dependents = dependents;
+    }
+
+    /**
+     * Builds the graph in one pass over the script, tracking the last writer and the
+     * readers since then of each table.
+     */
+    public static StatementGraph build(SqlStatementList statements) {
+        int size = statements.size();
+        List<Set<Integer>> dependencies = new ArrayList<>(size);
+        Map<String, Integer> lastWriter = new HashMap<>();
+        Map<String, List<Integer>> readers = new HashMap<>();
+        List<Integer> sinceBarrier = new ArrayList<>();
+        int lastBarrier = -1;
+
+        for (int i = 0; i < size; i++) {
+            TableAccess access = TableAccess.of(statements.get(i));
+            Set<Integer> dependsOn = new LinkedHashSet<>();
+            if (access.barrier()) {
+                dependsOn.addAll(sinceBarrier);
+                if (sinceBarrier.isEmpty() && lastBarrier >= 0) {
+                    dependsOn.add(lastBarrier);
+                }
+                lastBarrier = i;
+                lastWriter.clear();
+                readers.clear();
+                sinceBarrier.clear();
+            } else {
+                if (lastBarrier >= 0) {
+                    dependsOn.add(lastBarrier);
+                }
+                for (String table : access.reads()) {
+                    Integer writer = lastWriter.get(table);
+                    if (writer != null) {
+                        dependsOn.add(writer);
+                    }
+                }
+                for (String table : access.writes()) {
+                    Integer writer = lastWriter.get(table);
+                    if (writer != null) {
+                        dependsOn.add(writer);
+                    }
+                    dependsOn.addAll(readers.getOrDefault(table, List.of()));
+                }
+                for (String table : access.reads()) {
+                    readers.computeIfAbsent(table, t -> new ArrayList<>()).add(i);
+                }
+                for (String table : access.writes()) {
+                    lastWriter.put(table, i);
+                    readers.remove(table);
+                }
+                sinceBarrier.add(i);
+            }
+            dependsOn.remove(i);
+            dependencies.add(dependsOn);
+        }
+
+        int[] dependencyCounts = new int[size];
+        int[] dependentCounts = new int[size];
+        for (int i = 0; i < size; i++) {
+            dependencyCounts[i] = dependencies.get(i).size();
+            for (int dependency : dependencies.get(i)) {
+                dependentCounts[dependency]++;
+            }
+        }
+        int[][] dependents = new int[size][];
+        for (int i = 0; i < size; i++) {
+            dependents[i] = new int[dependentCounts[i]];
+            dependentCounts[i] = 0;
+        }
+        for (int i = 0; i < size; i++) {
+            for (int dependency : dependencies.get(i)) {
+                dependents[dependency][dependentCounts[dependency]++] = i;
+            }
+        }
+        return new StatementGraph(statements, dependencyCounts, dependents);
+    }
+
+    public int size() {
+        return statements.size();
+    }
+
+    public SqlStatement getStatement(int index) {
+        return statements.get(index);
+    }
+
+    /**
+     * Returns how many statements must complete before the statement at {@code index} may start.
+     */
+    public int getDependencyCount(int index) {
+        return dependencyCounts[index];
+    }
+
+    /**
+     * Returns the indexes of statements that directly depend on the statement at {@code index},
+     * in script order.
+     */
+    public int[] getDependents(int index) {
+        return dependents[index];
+    }
+}
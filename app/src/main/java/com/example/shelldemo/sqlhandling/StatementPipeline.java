@@ -0,0 +1,130 @@
+package com.example.shelldemo.sqlhandling;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.example.shelldemo.exception.DatabaseException;
+import com.example.shelldemo.exception.DatabaseException.ErrorType;
+import com.example.shelldemo.parser.SqlStatement;
+import com.example.shelldemo.parser.SqlStatementReader;
+
+/**
+ * Producer/consumer pipeline that overlaps script parsing with statement execution.
+ *
+ * <p>A virtual thread parses the script and feeds a bounded queue while the calling
+ * thread drains it and executes each statement in script order. The first statement
+ * reaches the database as soon as it has been parsed, and the queue capacity bounds
+ * how far parsing can run ahead of execution.</p>
+ */
+public class StatementPipeline {
+    private static final Logger logger = LogManager.getLogger(StatementPipeline.class);
+
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private static final SqlStatement END_OF_SCRIPT = new SqlStatement.RegularStatement("");
+    private static final long OFFER_TIMEOUT_MS = 100;
+
+    @FunctionalInterface
+    public interface StatementConsumer {
+        void accept(SqlStatement statement) throws SQLException;
+    }
+
+    private final int capacity;
+
+    public StatementPipeline() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public StatementPipeline(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Pipeline capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Parses the script on a background thread and hands each statement to the consumer
+     * on the calling thread, in script order.
+     *
+     * @param reader the statement source; it is closed when the pipeline finishes
+     * @param consumer executes each statement
+     * @return number of statements consumed
+     * @throws SQLException if the consumer fails
+     */
+    public int run(SqlStatementReader reader, StatementConsumer consumer) throws SQLException {
+        BlockingQueue<SqlStatement> queue = new ArrayBlockingQueue<>(capacity);
+        AtomicBoolean cancelled = new AtomicBoolean(false);
+        AtomicReference<RuntimeException> parseFailure = new AtomicReference<>();
+        int consumed = 0;
+
+        try (ExecutorService producer = Executors.newVirtualThreadPerTaskExecutor()) {
+            producer.submit(() -> produce(reader, queue, cancelled, parseFailure));
+            try {
+                SqlStatement statement;
+                while ((statement = queue.take()) != END_OF_SCRIPT) {
+                    consumer.accept(statement);
+                    consumed++;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new DatabaseException("Script pipeline was interrupted", e, ErrorType.OP_QUERY);
+            } finally {
+                cancelled.set(true);
+                queue.clear();
+            }
+        }
+
+        RuntimeException failure = parseFailure.get();
+        if (failure != null) {
+            throw failure;
+        }
+        logger.debug("Pipeline executed {} statements", consumed);
+        return consumed;
+    }
+
+    private void produce(SqlStatementReader reader, BlockingQueue<SqlStatement> queue,
+            AtomicBoolean cancelled, AtomicReference<RuntimeException> parseFailure) {
+        try (reader) {
+            while (!cancelled.get() && reader.hasNext()) {
+                if (!enqueue(queue, reader.next(), cancelled)) {
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            parseFailure.set(e);
+        } catch (IOException e) {
+            logger.warn("Failed to close script reader", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            enqueue(queue, END_OF_SCRIPT, cancelled);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Offers with a timeout so the producer notices when the consumer has given up.
+     */
+    private boolean enqueue(BlockingQueue<SqlStatement> queue, SqlStatement statement, AtomicBoolean cancelled)
+            throws InterruptedException {
+        while (!queue.offer(statement, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+            if (cancelled.get()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
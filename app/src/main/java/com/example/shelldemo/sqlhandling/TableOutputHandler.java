@@ -0,0 +1,62 @@
+package com.example.shelldemo.sqlhandling;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Streams a result set to a logger as a fixed-width text table.
+ *
+ * <p>Rows are read from the cursor one at a time and written in chunks of
+ * {@code batchSize} lines, so memory use does not depend on the number of rows.</p>
+ */
+public class TableOutputHandler implements ResultSetStreamer {
+    private static final Logger logger = LogManager.getLogger(TableOutputHandler.class);
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final Logger output;
+    private final ResultTableFormatter formatter;
+
+    /**
+     * @param output logger receiving the table text
+     */
+    public TableOutputHandler(Logger output) {
+        this.output = output;
+        this.formatter = new ResultTableFormatter();
+    }
+
+    @Override
+    public void stream(ResultSet rs, int batchSize) throws SQLException {
+        CompiledRowMapper mapper = CompiledRowMapper.compile(rs);
+        StringBuilder chunk = new StringBuilder();
+        String[] headers = null;
+        long rows = 0;
+        int linesInChunk = 0;
+
+        while (rs.next()) {
+            ResultRow row = mapper.mapRow(rs);
+            if (headers == null) {
+                headers = formatter.headersOf(row);
+                chunk.append(LINE_SEPARATOR);
+                formatter.appendHeader(chunk, headers);
+            }
+            formatter.appendRow(chunk, row, headers);
+            rows++;
+            if (++linesInChunk >= batchSize) {
+                output.info(chunk.toString());
+                chunk.setLength(0);
+                linesInChunk = 0;
+            }
+        }
+
+        if (rows == 0) {
+            logger.info("No results.");
+            return;
+        }
+        chunk.append(LINE_SEPARATOR);
+        output.info(chunk.toString());
+        logger.debug("Streamed {} rows", rows);
+    }
+}
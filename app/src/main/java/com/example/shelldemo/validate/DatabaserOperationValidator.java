@@ -1,7 +1,7 @@
 package com.example.shelldemo.validate;
 
 
-import com.example.shelldemo.parser.SqlScriptParser;
+import com.example.shelldemo.parser.SqlStatementReader;
 import com.example.shelldemo.exception.DatabaseException;
 import com.example.shelldemo.exception.DatabaseException.ErrorType;
 import com.example.shelldemo.exception.ValidationException;
@@ -27,12 +27,11 @@ public class DatabaserOperationValidator {
     public void validateScript(Connection conn, String scriptPath, boolean showExplainPlan) throws SQLException {
         logger.info("Starting validation of script: {}", scriptPath);
         try {
-            java.util.Map<Integer, String> parsedStatements = SqlScriptParser.parseSqlFile(new File(scriptPath));
-            java.util.List<String> statements = new java.util.ArrayList<>(parsedStatements.values());
-            
             DatabaseOperationValidationContext context = new DatabaseOperationValidationContext(conn, showExplainPlan);
-            for (String statement : statements) {
-                validateStatement(statement.trim(), context);
+            try (SqlStatementReader statements = SqlStatementReader.open(new File(scriptPath))) {
+                while (statements.hasNext()) {
+                    validateStatement(statements.next().getText().trim(), context);
+                }
             }
             
             logger.info("Validation completed successfully. {} statements validated.", 
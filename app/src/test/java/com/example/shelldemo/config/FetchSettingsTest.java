@@ -0,0 +1,42 @@
+package com.example.shelldemo.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Fetch Settings Tests")
+class FetchSettingsTest {
+
+    private static ResultSetMetaData columns(int[] types, int[] displaySizes) {
+        return (ResultSetMetaData) Proxy.newProxyInstance(FetchSettingsTest.class.getClassLoader(),
+            new Class<?>[] {ResultSetMetaData.class}, (proxy, method, args) -> switch (method.getName()) {
+                case "getColumnCount" -> types.length;
+                case "getColumnType" -> types[(Integer) args[0] - 1];
+                case "getColumnDisplaySize" -> displaySizes[(Integer) args[0] - 1];
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+    }
+
+    @Test
+    @DisplayName("Should size fetches from the row width within the configured bounds")
+    void testFetchSizeFor() throws SQLException {
+        FetchSettings settings = new FetchSettings(100, 0, true, 5000, 100_000);
+
+        // 10 + 40 bytes per row: 2000 rows fit the target
+        assertEquals(2000, settings.fetchSizeFor(columns(new int[] {Types.INTEGER, Types.VARCHAR}, new int[] {10, 40})));
+        // Narrow rows are capped at the maximum
+        assertEquals(5000, settings.fetchSizeFor(columns(new int[] {Types.INTEGER}, new int[] {1})));
+        // Unbounded text counts as 4000 bytes and never drops below the configured size
+        assertEquals(100, settings.fetchSizeFor(columns(new int[] {Types.LONGVARCHAR}, new int[] {Integer.MAX_VALUE})));
+        // LOBs count as their locator, or as their prefetch size when one is set
+        assertEquals(1000, settings.withFetchSize(10).fetchSizeFor(columns(new int[] {Types.CLOB}, new int[] {0})));
+        assertEquals(500, new FetchSettings(100, 150, true, 5000, 100_000)
+            .fetchSizeFor(columns(new int[] {Types.CLOB, Types.CHAR}, new int[] {0, 50})));
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.shelldemo.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.shelldemo.exception.DatabaseException;
+import com.example.shelldemo.exception.DatabaseException.ErrorType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
+@DisplayName("Vendor Config Tests")
+class VendorConfigTest {
+
+    @Test
+    @DisplayName("Should bind templates, defaults and error mappings once")
+    void testBind() {
+        VendorConfig config = VendorConfig.bind("oracle", Map.of(
+            "defaultPort", 1521,
+            "defaults", Map.of("connection-type", "thin"),
+            "templates", Map.of(
+                "jdbc", Map.of("defaultTemplate", "jdbc:oracle:thin:@//%s:%d/%s"),
+                "ldap", Map.of("servers", List.of("oid1", "oid2"), "context", "cn=OracleContext"),
+                "sql", Map.of("procedure", "{ ? = call %s(%s) }", "validation", Map.of("sql", "SELECT 1 FROM DUAL"))),
+            "error", Map.of(
+                "pattern", "ORA-(\\d+)",
+                "mappings", Map.of("1017", "ORACLE_INVALID_USER", "12154", "NOT_A_TYPE"))));
+
+        assertEquals(1521, config.defaultPort());
+        assertEquals("thin", config.defaultConnectionType());
+        assertEquals("jdbc:oracle:thin:@//%s:%d/%s", config.jdbcTemplate("thin"));
+        assertEquals(new VendorConfig.LdapConfig(List.of("oid1", "oid2"), "cn=OracleContext", 389), config.ldap());
+        assertEquals("{ ? = call %s(%s) }", config.sqlTemplate("procedure"));
+        assertEquals("SELECT 1 FROM DUAL", config.sqlTemplate("validation.sql"));
+        assertEquals(FetchSettings.DEFAULTS, config.fetch());
+
+        // Codes match with or without leading zeros; unknown error types are skipped
+        String code = config.extractErrorCode("ORA-01017: invalid username/password; logon denied");
+        assertEquals("01017", code);
+        assertEquals(ErrorType.ORACLE_INVALID_USER, config.errorType(code));
+        assertNull(config.errorType("12154"));
+    }
+
+    @Test
+    @DisplayName("Should bind every error mapping of the shipped configuration to an error type")
+    @SuppressWarnings("unchecked")
+    void testShippedErrorMappings() throws IOException, URISyntaxException {
+        // The test resources shadow the shipped file on the class path, so read it next to the main classes
+        Path classes = Path.of(VendorConfig.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        Map<String, Object> yaml;
+        try (InputStream in = Files.newInputStream(classes.resolve("application.yaml"))) {
+            yaml = new ObjectMapper(new YAMLFactory()).readValue(in, Map.class);
+        }
+        Map<String, Object> types = (Map<String, Object>) ((Map<String, Object>) yaml.get("databases")).get("types");
+
+        assertFalse(types.isEmpty());
+        types.forEach((name, type) -> {
+            Map<String, Object> error = (Map<String, Object>) ((Map<String, Object>) type).get("error");
+            Map<String, Object> mappings = (Map<String, Object>) error.get("mappings");
+            VendorConfig config = VendorConfig.bind(name, (Map<String, Object>) type);
+
+            // Unknown error types are skipped when binding, so compare against the raw entries
+            mappings.forEach((code, errorType) -> assertEquals(errorType, String.valueOf(config.errorType(code)),
+                name + " error " + code));
+            assertEquals(mappings.size(), config.errorMappings().size(), name);
+        });
+    }
+
+    @Test
+    @DisplayName("Should reject values of the wrong type when binding")
+    void testBindInvalid() {
+        DatabaseException e = assertThrows(DatabaseException.class,
+            () -> VendorConfig.bind("mysql", Map.of("defaults", Map.of("port", "not a port"))));
+        assertEquals(ErrorType.CONFIG_INVALID, e.getErrorType());
+    }
+}
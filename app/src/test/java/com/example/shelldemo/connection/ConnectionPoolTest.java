@@ -0,0 +1,128 @@
+package com.example.shelldemo.connection;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.shelldemo.testutil.RecordingConnection;
+
+@DisplayName("Connection Pool Tests")
+class ConnectionPoolTest {
+
+    private final AtomicInteger initialized = new AtomicInteger();
+    private final List<RecordingConnection> opened = new ArrayList<>();
+
+    private Connection connect() {
+        RecordingConnection connection = new RecordingConnection();
+        opened.add(connection);
+        return connection.connection();
+    }
+
+    private ConnectionPool.Builder pool() {
+        return ConnectionPool.builder()
+            .name("test")
+            .connectionSource(this::connect)
+            .sessionInitializer(connection -> initialized.incrementAndGet())
+            .housekeepingPeriod(Duration.ZERO);
+    }
+
+    @Test
+    @DisplayName("Should reuse physical connections and initialize each session once")
+    void testReuseAndSessionInit() throws SQLException {
+        try (ConnectionPool pool = pool().minSize(1).maxSize(2).build()) {
+            assertEquals(1, pool.getIdleConnections());
+
+            for (int i = 0; i < 5; i++) {
+                try (Connection connection = pool.borrow()) {
+                    assertFalse(connection.isClosed());
+                    assertEquals(1, pool.getActiveConnections());
+                }
+            }
+
+            assertEquals(1, opened.size());
+            assertEquals(1, initialized.get());
+            assertEquals(1, pool.getIdleConnections());
+        }
+        assertTrue(opened.get(0).isClosed());
+    }
+
+    @Test
+    @DisplayName("Should roll back open transactions and reject use after return")
+    void testResetOnReturn() throws SQLException {
+        try (ConnectionPool pool = pool().build()) {
+            Connection connection = pool.borrow();
+            connection.setAutoCommit(false);
+            connection.close();
+
+            assertEquals(List.of("autoCommit false", "rollback", "autoCommit true"), opened.get(0).calls());
+            assertTrue(opened.get(0).getAutoCommit());
+            assertTrue(connection.isClosed());
+            assertThrows(SQLException.class, connection::getAutoCommit);
+            assertFalse(opened.get(0).isClosed());
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep housekeeping when the source throws unchecked exceptions")
+    void testUncheckedConnectFailure() throws SQLException {
+        AtomicInteger attempts = new AtomicInteger();
+        ConnectionPool.Builder failing = pool().minSize(1).connectionSource(() -> {
+            if (attempts.incrementAndGet() <= 2) {
+                throw new IllegalStateException("database unavailable");
+            }
+            return connect();
+        });
+
+        try (ConnectionPool pool = failing.build()) {
+            assertEquals(0, pool.getTotalConnections());
+            pool.housekeep();
+            assertEquals(0, pool.getTotalConnections());
+            pool.housekeep();
+            assertEquals(1, pool.getIdleConnections());
+        }
+    }
+
+    @Test
+    @DisplayName("Should time out when the pool is exhausted")
+    void testExhaustion() throws SQLException {
+        try (ConnectionPool pool = pool().maxSize(1).borrowTimeout(Duration.ofMillis(50)).build()) {
+            Connection first = pool.borrow();
+
+            assertThrows(SQLTimeoutException.class, pool::borrow);
+
+            first.close();
+            try (Connection second = pool.borrow()) {
+                assertEquals(1, opened.size());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should replace connections that fail validation and evict idle ones")
+    void testValidationAndEviction() throws SQLException, InterruptedException {
+        try (ConnectionPool pool = pool().maxSize(2).idleTimeout(Duration.ofMillis(1)).build()) {
+            pool.borrow().close();
+            opened.get(0).invalidate();
+            Thread.sleep(600);
+
+            try (Connection connection = pool.borrow()) {
+                assertTrue(opened.get(0).isClosed());
+                assertEquals(2, opened.size());
+            }
+
+            Thread.sleep(5);
+            pool.housekeep();
+            assertEquals(0, pool.getTotalConnections());
+            assertTrue(opened.get(1).isClosed());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.shelldemo.connection;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.shelldemo.spi.MySqlVendor;
+import com.example.shelldemo.spi.PostgreSqlVendor;
+import com.example.shelldemo.testutil.RecordingConnection;
+import com.example.shelldemo.testutil.ResultSets;
+
+@DisplayName("Snapshot Coordinator Tests")
+class SnapshotCoordinatorTest {
+
+    /** Calls made against the fake connections, prefixed with the connection number. */
+    private final List<String> calls = new ArrayList<>();
+    private int opened;
+
+    private Connection connect() {
+        return new RecordingConnection(String.valueOf(++opened), calls)
+            .returning(sql -> ResultSets.of(new String[] {"pg_export_snapshot"}, new int[] {Types.VARCHAR},
+                new Object[][] {{"00000003-0000001B-1"}}))
+            .connection();
+    }
+
+    private ConnectionPool pool() {
+        return ConnectionPool.builder()
+            .name("test")
+            .connectionSource(this::connect)
+            .maxSize(2)
+            .housekeepingPeriod(Duration.ZERO)
+            .build();
+    }
+
+    @Test
+    @DisplayName("Should share an exported PostgreSQL snapshot with every reader")
+    void testExportedSnapshot() throws SQLException {
+        try (ConnectionPool pool = pool()) {
+            try (SnapshotCoordinator coordinator = new SnapshotCoordinator(pool, new PostgreSqlVendor())) {
+                try (Connection reader = coordinator.borrow()) {
+                    assertFalse(reader.getAutoCommit());
+                }
+                assertEquals(2, opened);
+            }
+        }
+        assertEquals(List.of(
+            "1 autoCommit false",
+            "1 execute SET TRANSACTION ISOLATION LEVEL REPEATABLE READ",
+            "1 query SELECT pg_export_snapshot()",
+            "2 autoCommit false",
+            "2 execute SET TRANSACTION ISOLATION LEVEL REPEATABLE READ",
+            "2 execute SET TRANSACTION SNAPSHOT '00000003-0000001B-1'",
+            "2 rollback",
+            "2 autoCommit true",
+            "1 rollback",
+            "1 autoCommit true"), calls);
+    }
+
+    @Test
+    @DisplayName("Should return the coordinating connection when the vendor cannot share snapshots")
+    void testUnsupported() {
+        try (ConnectionPool pool = pool()) {
+            assertThrows(SQLFeatureNotSupportedException.class, () -> new SnapshotCoordinator(pool, new MySqlVendor()));
+            assertEquals(0, pool.getActiveConnections());
+        }
+    }
+}
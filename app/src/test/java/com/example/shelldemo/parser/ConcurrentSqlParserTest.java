@@ -40,7 +40,7 @@ class ConcurrentSqlParserTest {
 
         // Create a latch to wait for async processing
         CountDownLatch latch = new CountDownLatch(1);
-        AtomicReference<Map<String, Map<Integer, String>>> resultRef = new AtomicReference<>();
+        AtomicReference<Map<String, SqlStatementList>> resultRef = new AtomicReference<>();
 
         // Parse files concurrently and wait for completion
         ConcurrentSqlParser.parseFilesAsync(sqlFiles, result -> {
@@ -53,7 +53,7 @@ class ConcurrentSqlParserTest {
         assertTrue(completed, "Concurrent parsing timed out");
 
         // Verify results
-        Map<String, Map<Integer, String>> results = resultRef.get();
+        Map<String, SqlStatementList> results = resultRef.get();
         assertNotNull(results, "Results should not be null");
         assertTrue(results.size() > 0, "Should have parsed at least one file");
 
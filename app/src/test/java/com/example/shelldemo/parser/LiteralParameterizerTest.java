@@ -0,0 +1,78 @@
+package com.example.shelldemo.parser;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.shelldemo.parser.LiteralParameterizer.ParameterizedSql;
+
+@DisplayName("Literal Parameterizer Tests")
+class LiteralParameterizerTest {
+
+    @Test
+    @DisplayName("Should replace string and numeric literals with bind markers")
+    void testLiterals() {
+        ParameterizedSql result = LiteralParameterizer.parameterize(
+            "INSERT INTO t1 (id, name, price, note) VALUES (42, 'O''Brien', -1.50, NULL)");
+
+        assertEquals("INSERT INTO t1 (id, name, price, note) VALUES (?, ?, -?, NULL)", result.sql());
+        assertEquals(List.of(42L, "O'Brien", new BigDecimal("1.50")), result.parameters());
+    }
+
+    @Test
+    @DisplayName("Should produce the same shape for statements that differ only in values")
+    void testSameShape() {
+        ParameterizedSql first = LiteralParameterizer.parameterize("UPDATE emp SET sal = 100 WHERE id = 1");
+        ParameterizedSql second = LiteralParameterizer.parameterize("UPDATE emp SET sal = 2500.5 WHERE id = 77");
+
+        assertEquals(first.sql(), second.sql());
+        assertEquals(List.of(new BigDecimal("2500.5"), 77L), second.parameters());
+    }
+
+    @Test
+    @DisplayName("Should keep typed, prefixed and quoted literals and identifiers in place")
+    void testUnbindableLiterals() {
+        ParameterizedSql result = LiteralParameterizer.parameterize(
+            "INSERT INTO \"Tab 1\" (c1, d) VALUES (N'x', DATE '2024-01-01', q'[it's]', x.col2, 1e3)");
+
+        assertEquals("INSERT INTO \"Tab 1\" (c1, d) VALUES (N'x', DATE '2024-01-01', q'[it's]', x.col2, ?)",
+            result.sql());
+        assertEquals(List.of(new BigDecimal("1e3")), result.parameters());
+    }
+
+    @Test
+    @DisplayName("Should not rewrite statements with binds or that are not DML")
+    void testNotRewritten() {
+        assertNull(LiteralParameterizer.parameterize("SELECT 1 FROM dual"));
+        assertNull(LiteralParameterizer.parameterize("INSERT INTO t VALUES (?, 1)"));
+        assertNull(LiteralParameterizer.parameterize("INSERT INTO t VALUES (:id, 1)"));
+        assertNull(LiteralParameterizer.parameterize("INSERT INTO t VALUES ($1, 1)"));
+        assertEquals("UPDATE t SET v = v::int + ?",
+            LiteralParameterizer.parameterize("UPDATE t SET v = v::int + 1").sql());
+    }
+
+    @Test
+    @DisplayName("Should keep column positions in ORDER BY lists")
+    void testOrderByPositions() {
+        ParameterizedSql result = LiteralParameterizer.parameterize(
+            "INSERT INTO t SELECT a, b, 5 FROM s WHERE c > 3 ORDER BY 1, b + 7, 2 DESC FETCH FIRST 10 ROWS ONLY");
+
+        assertEquals("INSERT INTO t SELECT a, b, ? FROM s WHERE c > ? ORDER BY 1, b + ?, 2 DESC FETCH FIRST ? ROWS ONLY",
+            result.sql());
+        assertEquals(List.of(5L, 3L, 7L, 10L), result.parameters());
+    }
+
+    @Test
+    @DisplayName("Should keep column positions in GROUP BY lists")
+    void testGroupByPositions() {
+        ParameterizedSql result = LiteralParameterizer.parameterize(
+            "INSERT INTO t SELECT a, b, COUNT(*) FROM s GROUP BY 1, 2 HAVING COUNT(*) > 1");
+
+        assertEquals("INSERT INTO t SELECT a, b, COUNT(*) FROM s GROUP BY 1, 2 HAVING COUNT(*) > ?", result.sql());
+        assertEquals(List.of(1L), result.parameters());
+    }
+}
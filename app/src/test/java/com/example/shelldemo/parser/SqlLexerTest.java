@@ -0,0 +1,128 @@
+package com.example.shelldemo.parser;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("SQL Lexer Tests")
+class SqlLexerTest {
+
+    private record Boundary(String text, int line, long start, long end, boolean plsql) {}
+
+    private static List<Boundary> lex(String script) {
+        List<Boundary> statements = new ArrayList<>();
+        SqlLexer lexer = new SqlLexer((text, line, start, end, plsql) ->
+            statements.add(new Boundary(text.toString(), line, start, end, plsql)));
+        char[] chars = script.toCharArray();
+        // Feed one character at a time so every token straddles a chunk boundary
+        for (int i = 0; i < chars.length; i++) {
+            lexer.feed(chars, i, i + 1);
+        }
+        lexer.finish();
+        return statements;
+    }
+
+    private static List<String> texts(String script) {
+        return lex(script).stream().map(Boundary::text).toList();
+    }
+
+    @Test
+    @DisplayName("Should report statement boundaries as character offsets")
+    void testBoundaryOffsets() {
+        String script = "SELECT 1 FROM dual;\n  -- note\n  SELECT 2 FROM dual;";
+        List<Boundary> statements = lex(script);
+
+        assertEquals(2, statements.size());
+        assertEquals(new Boundary("SELECT 1 FROM dual;", 1, 0, 19, false), statements.get(0));
+        int second = script.indexOf("SELECT 2");
+        assertEquals(new Boundary("SELECT 2 FROM dual;", 3, second, script.length(), false), statements.get(1));
+    }
+
+    @Test
+    @DisplayName("Should ignore terminators and comment markers inside literals")
+    void testLiteralsAndQuotedIdentifiers() {
+        List<String> statements = texts(
+            "INSERT INTO \"odd;name\" VALUES ('it''s; -- not a comment', q'[a ' ; b]');\n"
+            + "SELECT '/* keep */' FROM dual;\n");
+
+        assertEquals(List.of(
+            "INSERT INTO \"odd;name\" VALUES ('it''s; -- not a comment', q'[a ' ; b]');",
+            "SELECT '/* keep */' FROM dual;"), statements);
+    }
+
+    @Test
+    @DisplayName("Should treat a dollar-quoted body as a single token")
+    void testDollarQuoting() {
+        List<Boundary> statements = lex(
+            "CREATE FUNCTION inc(i int) RETURNS int AS $body$\n"
+            + "BEGIN\n  RETURN i + 1; -- $$ is not a delimiter here\nEND;\n$body$ LANGUAGE plpgsql;\n"
+            + "SELECT v$session.sid, $1 FROM dual;\n");
+
+        assertEquals(2, statements.size());
+        assertTrue(statements.get(0).text().endsWith("$body$ LANGUAGE plpgsql;"));
+        assertTrue(statements.get(0).text().contains("-- $$ is not a delimiter here"));
+        assertTrue(statements.get(0).plsql());
+        assertEquals("SELECT v$session.sid, $1 FROM dual;", statements.get(1).text());
+    }
+
+    @Test
+    @DisplayName("Should end anonymous blocks at their outermost END")
+    void testAnonymousBlockDepth() {
+        List<Boundary> statements = lex(
+            "DECLARE\n  PROCEDURE p IS BEGIN NULL; END;\nBEGIN\n"
+            + "  IF 1 = 1 THEN p; END IF;\n  LOOP EXIT; END LOOP;\n"
+            + "  v := CASE WHEN 1 = 1 THEN 1 END;\nEND;\n"
+            + "BEGIN;\nCOMMIT;\n");
+
+        assertEquals(3, statements.size());
+        assertTrue(statements.get(0).plsql());
+        assertTrue(statements.get(0).text().endsWith("END;"));
+        assertEquals(new Boundary("BEGIN;", 8, statements.get(1).start(), statements.get(1).end(), false),
+            statements.get(1));
+        assertEquals("COMMIT;", statements.get(2).text());
+    }
+
+    @Test
+    @DisplayName("Should close a CASE statement at END CASE")
+    void testEndCase() {
+        List<String> statements = texts(
+            "BEGIN\n  CASE v WHEN 1 THEN NULL; ELSE NULL; END CASE;\nEND;\n"
+            + "SELECT 1 FROM dual;\nSELECT 2 FROM dual;\n");
+
+        assertEquals(List.of(
+            "BEGIN\nCASE v WHEN 1 THEN NULL; ELSE NULL; END CASE;\nEND;",
+            "SELECT 1 FROM dual;",
+            "SELECT 2 FROM dual;"), statements);
+    }
+
+    @Test
+    @DisplayName("Should not start a routine body at IS or AS outside the routine header")
+    void testTriggerWithoutBody() {
+        List<Boundary> statements = lex(
+            "CREATE TRIGGER t BEFORE UPDATE ON items FOR EACH ROW WHEN (NEW.x IS NOT NULL)\n"
+            + "  EXECUTE FUNCTION touch();\n"
+            + "CREATE FUNCTION f(a int DEFAULT 1) RETURNS int AS 'SELECT 1' LANGUAGE sql;\n"
+            + "SELECT 1;\n");
+
+        assertEquals(3, statements.size());
+        assertTrue(statements.get(0).text().endsWith("EXECUTE FUNCTION touch();"));
+        assertTrue(statements.get(1).text().endsWith("LANGUAGE sql;"));
+        assertEquals("SELECT 1;", statements.get(2).text());
+    }
+
+    @Test
+    @DisplayName("Should end program units and unterminated statements at a slash line")
+    void testSlashTerminator() {
+        List<String> statements = texts(
+            "CREATE OR REPLACE PACKAGE pkg AS\n  PROCEDURE p;\nEND pkg;\n/\n"
+            + "SELECT 10 / 2 FROM dual\n/\n");
+
+        assertEquals(List.of(
+            "CREATE OR REPLACE PACKAGE pkg AS\nPROCEDURE p;\nEND pkg;",
+            "SELECT 10 / 2 FROM dual"), statements);
+    }
+}
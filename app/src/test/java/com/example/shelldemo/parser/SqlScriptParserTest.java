@@ -10,8 +10,12 @@ import static org.junit.jupiter.api.Assertions.*;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
 
 import com.example.shelldemo.exception.DatabaseException;
 
@@ -96,26 +100,26 @@ class SqlScriptParserTest {
         @Test
         @DisplayName("Should parse PL/SQL blocks with forward slash delimiter")
         void testParsePLSQLBlocksWithForwardSlashDelimiter() {
-            Map<Integer, String> statements = SqlScriptParser.parseSqlFile(plsqlScriptFile);
+            SqlStatementList statements = SqlScriptParser.parseSqlFile(plsqlScriptFile);
             
             assertEquals(3, statements.size(), "Should parse 3 statements");
             
             // First statement should be the DROP FUNCTION block
-            String dropBlock = statements.get(1);
+            String dropBlock = statements.getText(0);
             assertTrue(dropBlock.contains("BEGIN") && 
                       dropBlock.contains("EXECUTE IMMEDIATE") && 
                       dropBlock.contains("END"),
                 "First statement should be the complete PL/SQL block for dropping function");
             
             // Second statement should be the CREATE FUNCTION block
-            String createBlock = statements.get(2);
+            String createBlock = statements.getText(1);
             assertTrue(createBlock.contains("CREATE OR REPLACE FUNCTION") && 
                       createBlock.contains("RETURN VARCHAR2") && 
                       createBlock.contains("END"),
                 "Second statement should be the complete PL/SQL block for creating function");
             
             // Third statement should be the GRANT
-            assertTrue(statements.get(3).contains("GRANT EXECUTE"),
+            assertTrue(statements.getText(2).contains("GRANT EXECUTE"),
                 "Third statement should be the GRANT statement");
         }
         
@@ -133,11 +137,11 @@ class SqlScriptParserTest {
                 writer.write("/\n");
             }
             
-            Map<Integer, String> statements = SqlScriptParser.parseSqlFile(nestedBlocksFile);
+            SqlStatementList statements = SqlScriptParser.parseSqlFile(nestedBlocksFile);
             assertEquals(1, statements.size(), "Should parse nested blocks as one statement");
-            assertTrue(statements.get(1).contains("BEGIN") && 
-                      statements.get(1).contains("END") && 
-                      statements.get(1).contains("NULL"),
+            assertTrue(statements.getText(0).contains("BEGIN") && 
+                      statements.getText(0).contains("END") && 
+                      statements.getText(0).contains("NULL"),
                 "Should preserve nested block structure");
         }
     }
@@ -148,25 +152,25 @@ class SqlScriptParserTest {
         @Test
         @DisplayName("Should parse mixed SQL and PL/SQL statements")
         void testParseMixedSqlAndPlsql() {
-            Map<Integer, String> statements = SqlScriptParser.parseSqlFile(mixedScriptFile);
+            SqlStatementList statements = SqlScriptParser.parseSqlFile(mixedScriptFile);
             
             assertEquals(4, statements.size(), "Should parse 4 statements");
             
             // Verify CREATE TABLE statement
-            assertTrue(statements.values().stream()
+            assertTrue(statements.texts().stream()
                 .anyMatch(stmt -> stmt.startsWith("CREATE TABLE employees")),
                 "Should have a CREATE TABLE statement");
             
             // Verify INSERT statements
-            assertTrue(statements.values().stream()
+            assertTrue(statements.texts().stream()
                 .anyMatch(stmt -> stmt.equals("INSERT INTO employees VALUES (1, 'John', 'Doe');")),
                 "Should have first INSERT statement");
-            assertTrue(statements.values().stream()
+            assertTrue(statements.texts().stream()
                 .anyMatch(stmt -> stmt.equals("INSERT INTO employees VALUES (2, 'Jane', 'Smith');")),
                 "Should have second INSERT statement");
             
             // Verify PL/SQL procedure
-            assertTrue(statements.values().stream()
+            assertTrue(statements.texts().stream()
                 .anyMatch(stmt -> stmt.contains("CREATE OR REPLACE PROCEDURE") && 
                                 stmt.contains("BEGIN") && 
                                 stmt.contains("END")),
@@ -197,12 +201,12 @@ class SqlScriptParserTest {
                 writer.write("INSERT INTO test_table VALUES (1, 'Test Name' /* comment */, 'Test Description');\n");
             }
             
-            Map<Integer, String> statements = SqlScriptParser.parseSqlFile(multiLineCommentFile);
+            SqlStatementList statements = SqlScriptParser.parseSqlFile(multiLineCommentFile);
             
             assertEquals(2, statements.size(), "Should parse 2 statements");
             
             // Verify CREATE TABLE statement
-            String createTableStmt = statements.get(1);
+            String createTableStmt = statements.getText(0);
             assertFalse(createTableStmt.contains("/*"), "Should not contain comment markers");
             assertFalse(createTableStmt.contains("*/"), "Should not contain comment markers");
             assertTrue(createTableStmt.contains("id NUMBER PRIMARY KEY"), 
@@ -213,7 +217,7 @@ class SqlScriptParserTest {
                 "Should preserve column definitions");
             
             // Verify INSERT statement
-            String insertStmt = statements.get(2);
+            String insertStmt = statements.getText(1);
             assertFalse(insertStmt.contains("/*"), "Should not contain comment markers");
             assertFalse(insertStmt.contains("*/"), "Should not contain comment markers");
             assertTrue(insertStmt.contains("INSERT INTO test_table VALUES"), 
@@ -228,13 +232,79 @@ class SqlScriptParserTest {
                 writer.write("/* Outer comment /* Inner comment */ still outer */ SELECT 1 FROM dual;");
             }
             
-            Map<Integer, String> statements = SqlScriptParser.parseSqlFile(nestedCommentsFile);
+            SqlStatementList statements = SqlScriptParser.parseSqlFile(nestedCommentsFile);
             assertEquals(1, statements.size(), "Should parse one statement");
-            assertEquals("SELECT 1 FROM dual;", statements.get(1).trim(), 
+            assertEquals("SELECT 1 FROM dual;", statements.getText(0).trim(), 
                 "Should remove all nested comments");
         }
     }
 
+    @Nested
+    @DisplayName("Streaming Tests")
+    class StreamingTests {
+        @Test
+        @DisplayName("Should stream the same statements as parseSqlFile")
+        void testStreamMatchesParse() {
+            SqlStatementList parsed = SqlScriptParser.parseSqlFile(mixedScriptFile);
+            try (Stream<SqlStatement> stream = SqlScriptParser.streamSqlFile(mixedScriptFile)) {
+                List<String> streamed = stream.map(SqlStatement::getText).toList();
+                assertEquals(parsed.texts(), streamed, "Streamed statements should match parsed statements");
+            }
+        }
+
+        @Test
+        @DisplayName("Should parse correctly when tokens straddle the buffer window")
+        void testTinyBufferWindow() throws IOException {
+            String script = Files.readString(plsqlScriptFile.toPath());
+            List<SqlStatement> statements = new ArrayList<>();
+            try (SqlStatementReader reader = new SqlStatementReader(new StringReader(script), 2)) {
+                reader.forEachRemaining(statements::add);
+            }
+
+            assertEquals(3, statements.size(), "Should parse 3 statements");
+            assertInstanceOf(SqlStatement.PlSqlBlock.class, statements.get(0));
+            assertInstanceOf(SqlStatement.PlSqlBlock.class, statements.get(1));
+            assertInstanceOf(SqlStatement.RegularStatement.class, statements.get(2));
+            assertEquals(SqlScriptParser.parseSqlFile(plsqlScriptFile).getText(1), statements.get(1).getText());
+        }
+
+        @Test
+        @DisplayName("Should not open a block comment inside a line comment")
+        void testBlockCommentMarkerInLineComment() throws IOException {
+            String script = "-- see /* the docs\nSELECT 1 FROM dual;\nSELECT 2 FROM dual;\n";
+            List<String> statements = new ArrayList<>();
+            try (SqlStatementReader reader = new SqlStatementReader(new StringReader(script))) {
+                reader.forEachRemaining(statement -> statements.add(statement.getText()));
+            }
+
+            assertEquals(List.of("SELECT 1 FROM dual;", "SELECT 2 FROM dual;"), statements);
+        }
+
+        @Test
+        @DisplayName("Should keep statements in script order with their source positions")
+        void testOrderAndPositions() throws IOException {
+            File orderedFile = tempDir.resolve("ordered.sql").toFile();
+            StringBuilder script = new StringBuilder("-- header\n");
+            for (int i = 1; i <= 20; i++) {
+                script.append("SELECT ").append(i).append(" FROM dual;\n");
+            }
+            script.append("BEGIN\n  NULL;\nEND;\n/\n");
+            Files.writeString(orderedFile.toPath(), script.toString());
+
+            SqlStatementList statements = SqlScriptParser.parseSqlFile(orderedFile);
+
+            assertEquals(21, statements.size());
+            for (int i = 0; i < 20; i++) {
+                assertEquals("SELECT " + (i + 1) + " FROM dual;", statements.getText(i));
+                assertEquals(i + 2, statements.getLine(i));
+                assertFalse(statements.isPlSqlBlock(i));
+            }
+            assertEquals("-- header\n".length(), statements.getOffset(0));
+            assertTrue(statements.isPlSqlBlock(20));
+            assertEquals(22, statements.getLine(20));
+        }
+    }
+
     @Nested
     @DisplayName("Error Handling Tests")
     class ErrorHandlingTests {
@@ -264,7 +334,7 @@ class SqlScriptParserTest {
                 writer.write("SELECT * FROM table;\n");
             }
             
-            Map<Integer, String> statements = SqlScriptParser.parseSqlFile(unclosedCommentFile);
+            SqlStatementList statements = SqlScriptParser.parseSqlFile(unclosedCommentFile);
             assertTrue(statements.isEmpty(), "Should handle unclosed comments gracefully");
         }
     }
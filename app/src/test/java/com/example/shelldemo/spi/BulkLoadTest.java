@@ -0,0 +1,84 @@
+package com.example.shelldemo.spi;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.shelldemo.sqlhandling.CsvBulkSource;
+import com.example.shelldemo.testutil.RecordingConnection;
+
+@DisplayName("Bulk Load Tests")
+class BulkLoadTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static BulkLoadSource rows(List<BulkLoadSource.Column> columns, List<Object[]> rows) {
+        Iterator<Object[]> iterator = rows.iterator();
+        return new BulkLoadSource() {
+            @Override
+            public List<Column> columns() {
+                return columns;
+            }
+
+            @Override
+            public Object[] nextRow() {
+                return iterator.hasNext() ? iterator.next() : null;
+            }
+
+            @Override
+            public void close() {
+                // Nothing to release
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Should load CSV rows in batches with a direct-path insert on Oracle")
+    void testOracleBatchInsert() throws IOException, SQLException {
+        Path file = tempDir.resolve("jobs.csv");
+        Files.writeString(file, "id,title\n1,Clerk\n2,\n3,\"\"\n", StandardCharsets.UTF_8);
+
+        RecordingConnection connection = new RecordingConnection();
+        try (CsvBulkSource source = new CsvBulkSource(file)) {
+            assertEquals(3, new OracleVendor().bulkLoad(connection.connection(), "hr.jobs", source, 2));
+        }
+        assertEquals(List.of(
+            "prepare INSERT /*+ APPEND_VALUES */ INTO hr.jobs (id, title) VALUES (?, ?)",
+            "bind 1", "bind Clerk", "bind 2", "bind null", "executeBatch 2",
+            "bind 3", "bind ", "executeBatch 1"), connection.calls());
+    }
+
+    @Test
+    @DisplayName("Should render rows as quoted CSV for COPY and LOAD DATA")
+    void testCsvRowStream() throws IOException {
+        BulkLoadSource source = rows(
+            List.of(new BulkLoadSource.Column("id", Types.BIGINT), new BulkLoadSource.Column("note", Types.VARCHAR),
+                new BulkLoadSource.Column("data", Types.VARBINARY)),
+            List.of(new Object[] {1L, "say \"hi\"", new byte[] {1, (byte) 0xab}}, new Object[] {2L, null, null}));
+
+        String csv = new String(new BulkLoads.CsvRowStream(source, "NULL", "\\x").readAllBytes(), StandardCharsets.UTF_8);
+        assertEquals("\"1\",\"say \"\"hi\"\"\",\"\\x01ab\"\n\"2\",NULL,NULL\n", csv);
+    }
+
+    @Test
+    @DisplayName("Should reject table and column names that are not identifiers")
+    void testIdentifiers() {
+        BulkLoadSource source = rows(List.of(new BulkLoadSource.Column("id) SELECT 1 --", Types.VARCHAR)), List.of());
+        assertThrows(IllegalArgumentException.class, () -> new OracleVendor().bulkInsertSql("jobs", source.columns()));
+        assertThrows(IllegalArgumentException.class, () -> BulkLoads.identifier("jobs; DROP TABLE jobs", true));
+        assertEquals("\"Hr\".jobs", BulkLoads.identifier("\"Hr\".jobs", true));
+        assertEquals("\"my.schema\".jobs", BulkLoads.identifier("\"my.schema\".jobs", true));
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.shelldemo.spi;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.shelldemo.testutil.RecordingConnection;
+import com.example.shelldemo.testutil.ResultSets;
+
+@DisplayName("Physical Chunk Tests")
+class PhysicalChunkTest {
+
+    @Test
+    @DisplayName("Should encode extended ROWIDs as DBMS_ROWID does")
+    void testRowid() {
+        // The example of the Oracle Database Concepts guide
+        assertEquals("AAAPecAAFAAAABSAAA", OracleVendor.rowid(63388, 5, 82, 0));
+        assertEquals("AAAPecAAFAAAABSH//", OracleVendor.rowid(63388, 5, 82, 32767));
+    }
+
+    @Test
+    @DisplayName("Should cut extents into ROWID ranges of even size that stay within one segment")
+    void testRowidChunks() {
+        List<OracleVendor.Extent> extents = List.of(
+            new OracleVendor.Extent(100, 4, 128, 8), new OracleVendor.Extent(100, 4, 256, 8),
+            new OracleVendor.Extent(101, 4, 512, 4));
+
+        assertEquals(List.of(
+            rowidRange(100, 4, 128, 4, 257),
+            rowidRange(100, 4, 258, 4, 263),
+            rowidRange(101, 4, 512, 4, 515)), OracleVendor.rowidChunks(extents, 2));
+
+        // A large extent is cut at block boundaries
+        assertEquals(List.of(rowidRange(100, 4, 128, 4, 131), rowidRange(100, 4, 132, 4, 135)),
+            OracleVendor.rowidChunks(List.of(new OracleVendor.Extent(100, 4, 128, 8)), 2));
+
+        assertEquals(List.of(new PhysicalChunk("1 = 1", List.of())), OracleVendor.rowidChunks(List.of(), 4));
+    }
+
+    @Test
+    @DisplayName("Should look up extents by dictionary name, splitting only at dots outside quotes")
+    void testOracleTableName() throws SQLException {
+        assertEquals(List.of("\"my.schema\"", "\"T\""), BulkLoads.nameParts("\"my.schema\".\"T\""));
+        assertEquals(List.of("hr", "jobs"), BulkLoads.nameParts("hr.jobs"));
+        assertEquals("my.schema", OracleVendor.dictionaryName("\"my.schema\""));
+        assertEquals("JOBS", OracleVendor.dictionaryName("jobs"));
+
+        RecordingConnection connection = new RecordingConnection()
+            .returning(sql -> ResultSets.of(new String[0], new int[0], new Object[0][]));
+        assertEquals(List.of(new PhysicalChunk("1 = 1", List.of())),
+            new OracleVendor().physicalChunks(connection.connection(), "\"my.schema\".\"T\"", 4));
+        assertEquals(List.of("bind my.schema", "bind T", "query"), connection.calls().subList(1, 4));
+
+        assertThrows(IllegalArgumentException.class,
+            () -> new OracleVendor().physicalChunks(connection.connection(), "a.b.c", 4));
+    }
+
+    @Test
+    @DisplayName("Should cut the PostgreSQL heap into ctid ranges with an open last range")
+    void testCtidChunks() {
+        assertEquals(List.of(
+            new PhysicalChunk("ctid >= CAST(? AS tid) AND ctid < CAST(? AS tid)", List.of("(0,0)", "(4,0)")),
+            new PhysicalChunk("ctid >= CAST(? AS tid) AND ctid < CAST(? AS tid)", List.of("(4,0)", "(8,0)")),
+            new PhysicalChunk("ctid >= CAST(? AS tid)", List.of("(8,0)"))), PostgreSqlVendor.ctidChunks(10, 3));
+
+        assertEquals(List.of(new PhysicalChunk("ctid >= CAST(? AS tid)", List.of("(0,0)"))),
+            PostgreSqlVendor.ctidChunks(0, 3));
+    }
+
+    @Test
+    @DisplayName("Should refuse physical chunking where the vendor has none")
+    void testUnsupported() {
+        assertThrows(SQLFeatureNotSupportedException.class,
+            () -> new MySqlVendor().physicalChunks(null, "orders", 4));
+    }
+
+    private static PhysicalChunk rowidRange(long object, long file, long firstBlock, long lastFile, long lastBlock) {
+        return new PhysicalChunk("ROWID BETWEEN CHARTOROWID(?) AND CHARTOROWID(?)",
+            List.of(OracleVendor.rowid(object, file, firstBlock, 0), OracleVendor.rowid(object, lastFile, lastBlock, 32767)));
+    }
+}
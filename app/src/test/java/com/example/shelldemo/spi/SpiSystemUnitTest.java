@@ -2,12 +2,19 @@ package com.example.shelldemo.spi;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 import org.junit.jupiter.api.Test;
 
+import oracle.jdbc.OraclePreparedStatement;
+
 /**
  * Tests for the SPI system with sealed interface hierarchy and service loading
  */
@@ -89,4 +96,49 @@ class SpiSystemUnitTest {
         
         assertEquals("Open Source PostgreSQL Database", vendorCategory);
     }
+
+    @Test
+    void testOracleBindsStringLiteralsAsFixedChar() throws SQLException {
+        List<String> calls = new ArrayList<>();
+        PreparedStatement statement = (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[] {OraclePreparedStatement.class}, (proxy, method, args) -> switch (method.getName()) {
+                case "isWrapperFor" -> ((Class<?>) args[0]).isInstance(proxy);
+                case "unwrap" -> proxy;
+                default -> {
+                    calls.add(method.getName() + "(" + args[0] + ", " + args[1] + ")");
+                    yield null;
+                }
+            });
+
+        new OracleVendor().bindStringLiteral(statement, 2, "A");
+
+        assertEquals(List.of("setFixedCHAR(2, A)"), calls);
+    }
+
+    @Test
+    void testSqlServerPaginationKeepsTopLevelOrdering() {
+        SqlServerVendor vendor = new SqlServerVendor();
+
+        assertEquals("SELECT id FROM t ORDER BY id OFFSET 20 ROWS FETCH NEXT 10 ROWS ONLY",
+            vendor.paginate("SELECT id FROM t ORDER BY id", 20, 10));
+        assertEquals("WITH c AS (SELECT id FROM t) SELECT id FROM c ORDER BY (SELECT NULL) OFFSET 0 ROWS FETCH NEXT 5 ROWS ONLY",
+            vendor.paginate("WITH c AS (SELECT id FROM t) SELECT id FROM c", 0, 5));
+    }
+
+    @Test
+    void testSqlServerPaginationWrapsNestedOrdering() {
+        SqlServerVendor vendor = new SqlServerVendor();
+
+        String windowed = "SELECT id, ROW_NUMBER() OVER (ORDER BY id) rn FROM t";
+        assertEquals("SELECT * FROM (" + windowed + ") q ORDER BY (SELECT NULL) OFFSET 0 ROWS FETCH NEXT 10 ROWS ONLY",
+            vendor.paginate(windowed, 0, 10));
+
+        String subquery = "SELECT * FROM (SELECT TOP 5 id FROM t ORDER BY id) x";
+        assertEquals("SELECT * FROM (" + subquery + ") q ORDER BY (SELECT NULL) OFFSET 0 ROWS FETCH NEXT 10 ROWS ONLY",
+            vendor.paginate(subquery, 0, 10));
+
+        String quoted = "SELECT id FROM t WHERE note = 'order by' /* ORDER BY id */";
+        assertEquals("SELECT * FROM (" + quoted + ") q ORDER BY (SELECT NULL) OFFSET 0 ROWS FETCH NEXT 10 ROWS ONLY",
+            vendor.paginate(quoted, 0, 10));
+    }
 }
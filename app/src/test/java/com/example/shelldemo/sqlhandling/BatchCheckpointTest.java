@@ -0,0 +1,63 @@
+package com.example.shelldemo.sqlhandling;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.shelldemo.exception.DatabaseException;
+
+@DisplayName("Batch Checkpoint Tests")
+class BatchCheckpointTest {
+
+    private static final List<String> SCRIPT = List.of("INSERT INTO a VALUES (1)", "INSERT INTO a VALUES (2)");
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("Should resume from the saved index and start over once deleted")
+    void testSaveAndResume() {
+        Path file = dir.resolve("load.checkpoint");
+        BatchCheckpoint checkpoint = BatchCheckpoint.open(file, SCRIPT);
+        assertEquals(0, checkpoint.resumeIndex());
+
+        checkpoint.save(1);
+        assertEquals(1, BatchCheckpoint.open(file, SCRIPT).resumeIndex());
+
+        checkpoint.delete();
+        assertFalse(Files.exists(file));
+        assertEquals(0, checkpoint.resumeIndex());
+    }
+
+    @Test
+    @DisplayName("Should remove the temporary file when the checkpoint cannot be replaced")
+    void testFailedSave() throws IOException {
+        // A non-empty directory in place of the checkpoint makes the move fail
+        Path file = dir.resolve("load.checkpoint");
+        Files.createDirectories(file.resolve("blocked"));
+        BatchCheckpoint checkpoint = BatchCheckpoint.open(file, SCRIPT);
+
+        assertThrows(DatabaseException.class, () -> checkpoint.save(1));
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(List.of(file), files.toList());
+        }
+    }
+
+    @Test
+    @DisplayName("Should refuse a checkpoint written for a different script")
+    void testDifferentScript() {
+        Path file = dir.resolve("load.checkpoint");
+        BatchCheckpoint.open(file, SCRIPT).save(1);
+
+        BatchCheckpoint other = BatchCheckpoint.open(file, List.of("INSERT INTO a VALUES (1)", "INSERT INTO a VALUES (3)"));
+        assertThrows(IllegalStateException.class, other::resumeIndex);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.shelldemo.sqlhandling;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.shelldemo.testutil.RecordingConnection;
+
+@DisplayName("Batch Executor Tests")
+class BatchExecutorTest {
+
+    private final RecordingConnection connection = new RecordingConnection();
+
+    @Test
+    @DisplayName("Should batch consecutive statements of the same shape in one prepared statement")
+    void testGroupsByShape() throws SQLException {
+        BatchExecutor executor = new BatchExecutor(connection.connection(), null, 2);
+
+        int executed = executor.executeBatch(List.of(
+            "INSERT INTO a VALUES (1, 'x')",
+            "INSERT INTO a VALUES (2, 'y')",
+            "INSERT INTO a VALUES (3, 'z')",
+            "INSERT INTO b VALUES (1)",
+            "INSERT INTO b VALUES (:v)"), false);
+
+        assertEquals(5, executed);
+        assertEquals(List.of(
+            "prepare INSERT INTO a VALUES (?, ?)",
+            "bind 1", "bind x", "bind 2", "bind y", "executeBatch 2",
+            "bind 3", "bind z", "executeBatch 1",
+            "prepare INSERT INTO b VALUES (?)",
+            "bind 1", "executeBatch 1",
+            "addBatch INSERT INTO b VALUES (:v)", "executeBatch 1"), connection.calls());
+    }
+
+    @Test
+    @DisplayName("Should split batches by size and commit in chunks from the resume index")
+    void testCommittedChunks() throws SQLException {
+        BatchExecutor executor = new BatchExecutor(connection.connection(), null, 10, 40);
+        List<Integer> checkpoints = new ArrayList<>();
+
+        int executed = executor.executeCommitted(List.of(
+            "DELETE FROM a WHERE id = 0",
+            "DELETE FROM a WHERE id = 1",
+            "DELETE FROM a WHERE id = 2",
+            "DELETE FROM a WHERE id = 3",
+            "DELETE FROM a WHERE id = 4",
+            "DELETE FROM a WHERE id = 5"), 1, 3, 0, false, checkpoints::add);
+
+        assertEquals(5, executed);
+        assertEquals(List.of(4, 6), checkpoints);
+        assertEquals(List.of(
+            "prepare DELETE FROM a WHERE id = ?",
+            "bind 1", "bind 2", "executeBatch 2",
+            "bind 3", "executeBatch 1", "commit",
+            "bind 4", "bind 5", "executeBatch 2", "commit"), connection.calls());
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.shelldemo.sqlhandling;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.shelldemo.testutil.ResultSets;
+
+@DisplayName("Columnar Output Handler Tests")
+class ColumnarOutputHandlerTest {
+
+    /**
+     * Builds a result set over fixed rows whose columns are ID (BIGINT) and STATUS (VARCHAR).
+     */
+    private static ResultSet resultSet(Object[][] rows) {
+        return ResultSets.of(new String[] {"ID", "STATUS"}, new int[] {Types.BIGINT, Types.VARCHAR}, rows);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return new String(in.readNBytes(in.readInt()), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("Should write typed column chunks with null bitmaps, stats and dictionaries")
+    void testChunkLayout() throws SQLException, IOException {
+        ResultSet rs = resultSet(new Object[][] {
+            {5L, "OPEN"}, {null, "OPEN"}, {-2L, "CLOSED"}, {9L, "OPEN"}, {1L, "CLOSED"}
+        });
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (ColumnarOutputHandler handler = new ColumnarOutputHandler(bytes)) {
+            handler.stream(rs, 4);
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        assertEquals("DBSC", new String(in.readNBytes(4), StandardCharsets.US_ASCII));
+        assertEquals(1, in.readByte());
+        assertEquals(2, in.readInt());
+        assertEquals("ID", readString(in));
+        assertEquals(Types.BIGINT, in.readInt());
+        assertEquals(ColumnarOutputHandler.INT64, in.readByte());
+        assertEquals("STATUS", readString(in));
+        assertEquals(Types.VARCHAR, in.readInt());
+        assertEquals(ColumnarOutputHandler.STRING, in.readByte());
+
+        // First chunk of four rows: ID has one null at row 1
+        assertEquals(4, in.readInt());
+        assertEquals(ColumnarOutputHandler.PLAIN, in.readByte());
+        assertEquals(1, in.readInt());
+        assertEquals(0b0010, in.readByte());
+        assertTrue(in.readBoolean());
+        assertEquals(-2L, in.readLong());
+        assertEquals(9L, in.readLong());
+        assertArrayEquals(new long[] {5L, -2L, 9L}, new long[] {in.readLong(), in.readLong(), in.readLong()});
+
+        // STATUS has two distinct values in four rows and is dictionary-encoded
+        assertEquals(ColumnarOutputHandler.DICTIONARY, in.readByte());
+        assertEquals(0, in.readInt());
+        assertTrue(in.readBoolean());
+        assertEquals("CLOSED", readString(in));
+        assertEquals("OPEN", readString(in));
+        assertEquals(2, in.readInt());
+        assertEquals("OPEN", readString(in));
+        assertEquals("CLOSED", readString(in));
+        assertArrayEquals(new byte[] {0, 0, 1, 0}, in.readNBytes(4));
+
+        // Second chunk holds the remaining row
+        assertEquals(1, in.readInt());
+        assertEquals(ColumnarOutputHandler.PLAIN, in.readByte());
+        assertEquals(0, in.readInt());
+        assertTrue(in.readBoolean());
+        in.readNBytes(3 * Long.BYTES);
+        assertEquals(ColumnarOutputHandler.PLAIN, in.readByte());
+        assertEquals(0, in.readInt());
+        assertTrue(in.readBoolean());
+        assertEquals("CLOSED", readString(in));
+        assertEquals("CLOSED", readString(in));
+        assertEquals("CLOSED", readString(in));
+
+        assertEquals(0, in.readInt());
+        assertEquals(5L, in.readLong());
+        assertEquals(-1, in.readInt());
+        assertEquals("DBSC", new String(in.readNBytes(4), StandardCharsets.US_ASCII));
+        assertEquals(-1, in.read());
+    }
+
+    @Test
+    @DisplayName("Should read back every column type, nulls and multiple chunks and result sets")
+    void testRoundTrip() throws SQLException, IOException {
+        String[] labels = {"I", "D", "F", "B", "S", "X", "N", "DT", "TM", "TS"};
+        int[] types = {Types.INTEGER, Types.DATE, Types.DOUBLE, Types.BOOLEAN, Types.VARCHAR, Types.VARBINARY,
+            Types.NUMERIC, Types.DATE, Types.TIME, Types.TIMESTAMP};
+        Object[][] rows = {
+            {1, Date.valueOf("2024-02-29"), 1.5, true, "a", new byte[] {1, 2}, new BigDecimal("-12.345"),
+                Date.valueOf("1969-12-31"), Time.valueOf("23:59:58"), Timestamp.valueOf("1969-12-31 23:59:59.5")},
+            {null, null, null, null, null, null, null, null, null, null},
+            {-7, Date.valueOf("2000-01-01"), -0.25, false, "b", new byte[0], new BigDecimal("1E+10"),
+                Date.valueOf("2000-01-01"), Time.valueOf("00:00:00"), Timestamp.valueOf("2024-05-01 10:15:00.123456")},
+            {3, null, 2.0, true, "a", new byte[] {-1}, BigDecimal.ZERO, null, null, null},
+            {4, Date.valueOf("1999-12-31"), null, false, "a", null, new BigDecimal("0.10"), null, null, null}
+        };
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (ColumnarOutputHandler handler = new ColumnarOutputHandler(bytes)) {
+            handler.stream(ResultSets.of(labels, types, rows), 2);
+            handler.stream(resultSet(new Object[][] {{1L, "OPEN"}, {2L, "OPEN"}, {3L, "OPEN"}}), 10);
+        }
+
+        try (ColumnarFileReader reader = new ColumnarFileReader(new ByteArrayInputStream(bytes.toByteArray()))) {
+            List<ColumnarFileReader.Column> columns = reader.nextResultSet();
+            assertEquals(new ColumnarFileReader.Column("TS", Types.TIMESTAMP, ColumnarOutputHandler.INT64),
+                columns.get(9));
+            List<Object[]> read = new ArrayList<>();
+            List<Integer> chunkSizes = new ArrayList<>();
+            for (List<Object[]> chunk = reader.nextChunk(); chunk != null; chunk = reader.nextChunk()) {
+                chunkSizes.add(chunk.size());
+                read.addAll(chunk);
+            }
+            assertEquals(List.of(2, 2, 1), chunkSizes);
+            assertEquals(5, reader.getRowCount());
+
+            assertArrayEquals(new Object[] {1L, LocalDate.of(2024, 2, 29), 1.5, true, "a", null,
+                new BigDecimal("-12.345"), LocalDate.of(1969, 12, 31), LocalTime.of(23, 59, 58),
+                LocalDateTime.of(1969, 12, 31, 23, 59, 59, 500_000_000)}, withoutBytes(read.get(0)));
+            assertArrayEquals(new byte[] {1, 2}, (byte[]) read.get(0)[5]);
+            assertArrayEquals(new Object[10], read.get(1));
+            assertArrayEquals(new Object[] {-7L, LocalDate.of(2000, 1, 1), -0.25, false, "b", null,
+                new BigDecimal("1E+10"), LocalDate.of(2000, 1, 1), LocalTime.MIDNIGHT,
+                LocalDateTime.of(2024, 5, 1, 10, 15, 0, 123_456_000)}, withoutBytes(read.get(2)));
+            assertArrayEquals(new byte[0], (byte[]) read.get(2)[5]);
+            assertArrayEquals(new byte[] {-1}, (byte[]) read.get(3)[5]);
+            assertArrayEquals(new Object[] {4L, LocalDate.of(1999, 12, 31), null, false, "a", null,
+                new BigDecimal("0.10"), null, null, null}, read.get(4));
+
+            assertEquals(List.of("ID", "STATUS"),
+                reader.nextResultSet().stream().map(ColumnarFileReader.Column::label).toList());
+            List<Object[]> dictionary = reader.nextChunk();
+            assertEquals(List.of("OPEN", "OPEN", "OPEN"), dictionary.stream().map(row -> row[1]).toList());
+            assertNull(reader.nextChunk());
+            assertNull(reader.nextResultSet());
+        }
+    }
+
+    private static Object[] withoutBytes(Object[] row) {
+        Object[] copy = row.clone();
+        copy[5] = null;
+        return copy;
+    }
+}
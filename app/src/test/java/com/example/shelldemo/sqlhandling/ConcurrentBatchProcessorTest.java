@@ -0,0 +1,85 @@
+package com.example.shelldemo.sqlhandling;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.shelldemo.exception.BatchProcessingException;
+
+@DisplayName("Concurrent Batch Processor Tests")
+class ConcurrentBatchProcessorTest {
+
+    @Test
+    @DisplayName("Should process every batch and report failures in submission order")
+    void testOrderedFailures() {
+        List<Integer> processed = Collections.synchronizedList(new ArrayList<>());
+
+        BatchProcessingException failure = assertThrows(BatchProcessingException.class, () -> {
+            ConcurrentBatchProcessor<Integer> processor = new ConcurrentBatchProcessor<>(2, batch -> {
+                int first = batch.get(0);
+                if (first == 2) {
+                    // Fail after the later batch has already failed
+                    sleep(100);
+                }
+                processed.addAll(batch);
+                if (first == 2 || first == 6) {
+                    throw new BatchProcessingException("batch at " + first);
+                }
+            }, 4);
+            try {
+                for (int i = 0; i < 8; i++) {
+                    processor.add(i);
+                }
+            } finally {
+                processor.close();
+            }
+        });
+
+        assertTrue(failure.getMessage().startsWith("batch at 2"));
+        assertEquals(1, failure.getSuppressed().length);
+        assertTrue(failure.getSuppressed()[0].getMessage().startsWith("batch at 6"));
+        assertEquals(8, processed.size());
+    }
+
+    @Test
+    @DisplayName("Should batch items from several producer threads without losing any")
+    void testProducers() throws Exception {
+        AtomicLong sum = new AtomicLong();
+        AtomicInteger largest = new AtomicInteger();
+        ConcurrentBatchProcessor<Integer> processor = new ConcurrentBatchProcessor<>(64, batch -> {
+            largest.accumulateAndGet(batch.size(), Math::max);
+            batch.forEach(sum::addAndGet);
+        }, 2);
+
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < 4; p++) {
+            producers.add(Thread.ofVirtual().start(() -> {
+                for (int i = 1; i <= 1000; i++) {
+                    processor.add(i);
+                }
+            }));
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        processor.close();
+
+        assertEquals(4 * 500_500L, sum.get());
+        assertEquals(64, largest.get());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
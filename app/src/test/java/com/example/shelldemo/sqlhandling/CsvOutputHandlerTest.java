@@ -0,0 +1,104 @@
+package com.example.shelldemo.sqlhandling;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.shelldemo.testutil.ResultSets;
+
+@DisplayName("CSV Output Handler Tests")
+class CsvOutputHandlerTest {
+
+    private static final String[] LABELS = {"ID", "NAME", "AMOUNT", "CREATED"};
+    private static final int[] TYPES = {Types.BIGINT, Types.VARCHAR, Types.DECIMAL, Types.TIMESTAMP};
+
+    @TempDir
+    Path tempDir;
+
+    private static ResultSet resultSet(Object[][] rows) {
+        return ResultSets.of(LABELS, TYPES, rows);
+    }
+
+    @Test
+    @DisplayName("Should format values by column type and quote only when needed")
+    void testTypeAwareFormatting() throws SQLException, IOException {
+        ResultSet rs = resultSet(new Object[][] {
+            {1L, "plain", new BigDecimal("1E+3"), Timestamp.valueOf("2024-05-01 10:15:00")},
+            {null, "say \"hi\", bye", null, null},
+            {3L, "two\nlines", new BigDecimal("0.50"), null}
+        });
+        StringWriter out = new StringWriter();
+
+        try (CsvOutputHandler handler = new CsvOutputHandler(out)) {
+            handler.stream(rs, 2);
+        }
+
+        assertEquals("ID,NAME,AMOUNT,CREATED\n"
+            + "1,plain,1000,2024-05-01T10:15:00\n"
+            + ",\"say \"\"hi\"\", bye\",,\n"
+            + "3,\"two\nlines\",0.50,\n", out.toString());
+    }
+
+    @Test
+    @DisplayName("Should read back NULL and empty strings as written")
+    void testRoundTripThroughBulkSource() throws SQLException, IOException {
+        Path file = tempDir.resolve("notes.csv");
+        ResultSet rs = ResultSets.of(new String[] {"ID", "NOTE"}, new int[] {Types.BIGINT, Types.VARCHAR},
+            new Object[][] {{1L, null}, {2L, ""}, {3L, "x"}});
+
+        try (CsvOutputHandler handler = new CsvOutputHandler(file)) {
+            handler.stream(rs, 1000);
+        }
+
+        assertEquals("ID,NOTE\n1,\n2,\"\"\n3,x\n", Files.readString(file, StandardCharsets.UTF_8));
+        try (CsvBulkSource source = new CsvBulkSource(file)) {
+            assertArrayEquals(new Object[] {"1", null}, source.nextRow());
+            assertArrayEquals(new Object[] {"2", ""}, source.nextRow());
+            assertArrayEquals(new Object[] {"3", "x"}, source.nextRow());
+            assertNull(source.nextRow());
+        }
+    }
+
+    @Test
+    @DisplayName("Should gzip the output when the file name ends in .gz")
+    void testGzipOutput() throws SQLException, IOException {
+        Path file = tempDir.resolve("results.csv.gz");
+
+        try (CsvOutputHandler handler = new CsvOutputHandler(file)) {
+            handler.stream(resultSet(new Object[][] {{7L, "x", BigDecimal.ONE, null}}), 1000);
+        }
+
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            assertEquals("ID,NAME,AMOUNT,CREATED\n7,x,1,\n", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    @DisplayName("Should append natively exported CSV and write nothing when there is no native export")
+    void testNativeExport() throws SQLException, IOException {
+        StringWriter out = new StringWriter();
+        try (CsvOutputHandler handler = new CsvOutputHandler(out)) {
+            assertEquals(-1, handler.append(writer -> -1));
+            assertEquals(2, handler.append(writer -> {
+                writer.write("id,active\n1,t\n2,f\n");
+                return 2;
+            }));
+        }
+        assertEquals("id,active\n1,t\n2,f\n", out.toString());
+    }
+}
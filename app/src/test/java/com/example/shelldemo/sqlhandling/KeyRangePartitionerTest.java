@@ -0,0 +1,69 @@
+package com.example.shelldemo.sqlhandling;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.shelldemo.sqlhandling.KeyRangePartitioner.KeyRange;
+
+@DisplayName("Key Range Partitioner Tests")
+class KeyRangePartitionerTest {
+
+    @Test
+    @DisplayName("Should cut integer keys into contiguous ranges of their own type")
+    void testIntegerRanges() {
+        assertEquals(List.of(
+            new KeyRange(1L, 4L, false), new KeyRange(4L, 7L, false), new KeyRange(7L, 10L, true),
+            new KeyRange(null, null, false)), KeyRangePartitioner.split(1L, 10L, 3));
+
+        // Oracle returns NUMBER keys as BigDecimal; ranges narrower than one key are merged
+        assertEquals(List.of(
+            new KeyRange(BigDecimal.ONE, BigDecimal.TWO, false), new KeyRange(BigDecimal.TWO, new BigDecimal(3), true),
+            new KeyRange(null, null, false)), KeyRangePartitioner.split(BigDecimal.ONE, new BigDecimal(3), 8));
+
+        assertEquals(List.of(new KeyRange(5, 5, true), new KeyRange(null, null, false)),
+            KeyRangePartitioner.split(5, 5, 4));
+        assertEquals(List.of(new KeyRange(null, null, false)), KeyRangePartitioner.split(null, null, 4));
+    }
+
+    @Test
+    @DisplayName("Should cut dates and timestamps into ranges of equal length")
+    void testTemporalRanges() {
+        assertEquals(List.of(
+            new KeyRange(Date.valueOf("2024-01-01"), Date.valueOf("2024-01-06"), false),
+            new KeyRange(Date.valueOf("2024-01-06"), Date.valueOf("2024-01-11"), true),
+            new KeyRange(null, null, false)),
+            KeyRangePartitioner.split(Date.valueOf("2024-01-01"), Date.valueOf("2024-01-11"), 2));
+
+        List<KeyRange> ranges = KeyRangePartitioner.split(
+            Timestamp.valueOf("2024-01-01 00:00:00"), Timestamp.valueOf("2024-01-01 06:00:00"), 3);
+        assertEquals(Timestamp.valueOf("2024-01-01 02:00:00"), ranges.get(0).upper());
+        assertEquals(Timestamp.valueOf("2024-01-01 06:00:00"), ranges.get(2).upper());
+
+        assertThrows(IllegalArgumentException.class, () -> KeyRangePartitioner.split("a", "z", 2));
+    }
+
+    @Test
+    @DisplayName("Should wrap the query in bounds and range queries on the split column")
+    void testRangeSql() {
+        KeyRangePartitioner partitioner = new KeyRangePartitioner("SELECT id, total FROM orders", "id");
+
+        assertEquals("SELECT MIN(id), MAX(id) FROM (SELECT id, total FROM orders) partition_source",
+            partitioner.boundsSql());
+        assertEquals("SELECT * FROM (SELECT id, total FROM orders) partition_source WHERE id >= ? AND id < ?",
+            partitioner.rangeSql(new KeyRange(1L, 4L, false)));
+        assertEquals("SELECT * FROM (SELECT id, total FROM orders) partition_source WHERE id >= ? AND id <= ?",
+            partitioner.rangeSql(new KeyRange(4L, 7L, true)));
+        assertEquals("SELECT * FROM (SELECT id, total FROM orders) partition_source WHERE id IS NULL",
+            partitioner.rangeSql(new KeyRange(null, null, false)));
+
+        assertThrows(IllegalArgumentException.class,
+            () -> new KeyRangePartitioner("SELECT id FROM orders", "id) x WHERE 1 = 1 --"));
+    }
+}
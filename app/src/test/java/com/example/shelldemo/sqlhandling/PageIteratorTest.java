@@ -0,0 +1,78 @@
+package com.example.shelldemo.sqlhandling;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Types;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.shelldemo.spi.OracleVendor;
+import com.example.shelldemo.spi.PostgreSqlVendor;
+import com.example.shelldemo.testutil.RecordingConnection;
+import com.example.shelldemo.testutil.ResultSets;
+
+@DisplayName("Page Iterator Tests")
+class PageIteratorTest {
+
+    private static final String[] LABELS = {"ID", "NAME"};
+    private static final int[] TYPES = {Types.BIGINT, Types.VARCHAR};
+
+    private static RecordingConnection connection(Deque<Object[][]> pages) {
+        return new RecordingConnection().returning(sql -> ResultSets.of(LABELS, TYPES, pages.remove()));
+    }
+
+    @Test
+    @DisplayName("Should seek past the last key of each page and stop after a short page")
+    void testPages() {
+        Deque<Object[][]> pages = new ArrayDeque<>(List.of(
+            new Object[][] {{1L, "a"}, {2L, "b"}},
+            new Object[][] {{3L, "c"}, {4L, "d"}},
+            new Object[][] {{5L, "e"}}));
+        RecordingConnection connection = connection(pages);
+        PageIterator iterator = new PageIterator(connection.connection(), new PostgreSqlVendor(),
+            "SELECT id, name FROM t WHERE g = ?", List.of("id"), 2, 7);
+
+        List<Object> ids = new ArrayList<>();
+        while (iterator.hasNext()) {
+            for (Map<String, Object> row : iterator.next()) {
+                ids.add(row.get("ID"));
+            }
+        }
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), ids);
+        assertTrue(pages.isEmpty());
+        assertEquals(List.of(
+            "prepare SELECT * FROM (SELECT id, name FROM t WHERE g = ?) page_source ORDER BY id LIMIT 2",
+            "bind 7", "query",
+            "prepare SELECT * FROM (SELECT id, name FROM t WHERE g = ?) page_source WHERE (id > ?) ORDER BY id LIMIT 2",
+            "bind 7", "bind 2", "query",
+            "prepare SELECT * FROM (SELECT id, name FROM t WHERE g = ?) page_source WHERE (id > ?) ORDER BY id LIMIT 2",
+            "bind 7", "bind 4", "query"), connection.calls());
+    }
+
+    @Test
+    @DisplayName("Should compare composite keys column by column in the vendor's row limit syntax")
+    void testCompositeKey() {
+        Deque<Object[][]> pages = new ArrayDeque<>(List.of(
+            new Object[][] {{1L, "a"}, {1L, "b"}},
+            new Object[][] {}));
+        RecordingConnection connection = connection(pages);
+        PageIterator iterator = new PageIterator(connection.connection(), new OracleVendor(),
+            "SELECT id, name FROM t", List.of("id", "name"), 2);
+
+        assertEquals(2, iterator.next().size());
+        assertFalse(iterator.hasNext());
+        assertEquals(List.of(
+            "prepare SELECT * FROM (SELECT id, name FROM t) page_source ORDER BY id, name FETCH NEXT 2 ROWS ONLY",
+            "query",
+            "prepare SELECT * FROM (SELECT id, name FROM t) page_source WHERE (id > ?) OR (id = ? AND name > ?)"
+                + " ORDER BY id, name FETCH NEXT 2 ROWS ONLY",
+            "bind 1", "bind 1", "bind b", "query"), connection.calls());
+    }
+}
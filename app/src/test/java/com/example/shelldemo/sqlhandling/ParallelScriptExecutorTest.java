@@ -0,0 +1,128 @@
+package com.example.shelldemo.sqlhandling;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.shelldemo.connection.ConnectionPool;
+import com.example.shelldemo.parser.SqlStatement;
+import com.example.shelldemo.parser.SqlStatementList;
+import com.example.shelldemo.parser.TableAccess;
+import com.example.shelldemo.testutil.RecordingConnection;
+
+@DisplayName("Parallel Script Executor Tests")
+class ParallelScriptExecutorTest {
+
+    private static SqlStatementList script(String... statements) {
+        SqlStatementList list = new SqlStatementList();
+        for (String sql : statements) {
+            list.add(new SqlStatement.RegularStatement(sql));
+        }
+        return list;
+    }
+
+    private static List<Integer> dependents(StatementGraph graph, int index) {
+        return java.util.Arrays.stream(graph.getDependents(index)).boxed().toList();
+    }
+
+    private static ConnectionPool pool(int size) {
+        return ConnectionPool.builder()
+            .connectionSource(() -> new RecordingConnection().connection())
+            .maxSize(size)
+            .housekeepingPeriod(Duration.ZERO)
+            .build();
+    }
+
+    @Test
+    @DisplayName("Should find table reads and writes and treat DDL and function calls as barriers")
+    void testTableAccess() {
+        assertEquals(new TableAccess(Set.of("ORDERS", "CUSTOMERS"), Set.of("ARCHIVE"), false),
+            TableAccess.of("INSERT INTO hr.archive (id) SELECT o.id FROM orders o, \"CUSTOMERS\" c WHERE o.c = c.id"));
+        assertEquals(new TableAccess(Set.of("ITEMS", "PRICES"), Set.of("ITEMS"), false),
+            TableAccess.of("UPDATE items SET p = (SELECT p FROM prices JOIN x.items ON 1 = 1) WHERE n = 'FROM t'"));
+        assertEquals(new TableAccess(Set.of("STAGE"), Set.of("TARGET"), false),
+            TableAccess.of("MERGE INTO target t USING stage s ON (t.id = s.id) WHEN MATCHED THEN UPDATE SET t.v = s.v"));
+        assertTrue(TableAccess.of("CREATE TABLE t (id INT)").barrier());
+        assertTrue(TableAccess.of(new SqlStatement.PlSqlBlock("BEGIN NULL; END;")).barrier());
+        assertTrue(TableAccess.of("INSERT INTO a SELECT audit_pkg.log_row(id) FROM b").barrier());
+        assertFalse(TableAccess.of("INSERT INTO a (n) SELECT COUNT(*) FROM b WHERE x IN (1, 2)").barrier());
+    }
+
+    @Test
+    @DisplayName("Should order conflicting statements and leave independent ones unordered")
+    void testGraph() {
+        StatementGraph graph = StatementGraph.build(script(
+            "INSERT INTO a VALUES (1)",
+            "INSERT INTO b VALUES (1)",
+            "SELECT * FROM a",
+            "INSERT INTO a VALUES (2)",
+            "CREATE INDEX i ON b (id)",
+            "DELETE FROM c"));
+
+        assertEquals(0, graph.getDependencyCount(0));
+        assertEquals(0, graph.getDependencyCount(1));
+        assertEquals(List.of(2, 3, 4), dependents(graph, 0));
+        assertEquals(List.of(4), dependents(graph, 1));
+        assertEquals(List.of(3, 4), dependents(graph, 2));
+        assertEquals(4, graph.getDependencyCount(4));
+        assertEquals(List.of(5), dependents(graph, 4));
+    }
+
+    @Test
+    @DisplayName("Should run independent statements concurrently and respect dependencies")
+    void testExecution() throws SQLException {
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        StatementGraph graph = StatementGraph.build(script(
+            "INSERT INTO a VALUES (1)", "INSERT INTO b VALUES (1)", "INSERT INTO c VALUES (1)",
+            "INSERT INTO d VALUES (1)", "TRUNCATE TABLE a", "INSERT INTO a VALUES (2)"));
+
+        try (ConnectionPool pool = pool(4)) {
+            int executed = new ParallelScriptExecutor(pool, 4).execute(graph, connection -> statement -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                order.add(statement.getText());
+                running.decrementAndGet();
+            });
+
+            assertEquals(6, executed);
+        }
+        assertTrue(maxRunning.get() > 1);
+        assertEquals(List.of("TRUNCATE TABLE a", "INSERT INTO a VALUES (2)"), order.subList(4, 6));
+    }
+
+    @Test
+    @DisplayName("Should stop scheduling after a failure")
+    void testFailure() {
+        StatementGraph graph = StatementGraph.build(script(
+            "INSERT INTO a VALUES (1)", "INSERT INTO a VALUES (2)", "INSERT INTO a VALUES (3)"));
+        List<String> executed = Collections.synchronizedList(new ArrayList<>());
+
+        try (ConnectionPool pool = pool(2)) {
+            SQLException failure = assertThrows(SQLException.class,
+                () -> new ParallelScriptExecutor(pool, 2).execute(graph, connection -> statement -> {
+                    executed.add(statement.getText());
+                    if (statement.getText().endsWith("(2)")) {
+                        throw new SQLException("boom");
+                    }
+                }));
+
+            assertEquals("boom", failure.getMessage());
+        }
+        assertEquals(List.of("INSERT INTO a VALUES (1)", "INSERT INTO a VALUES (2)"), executed);
+    }
+}
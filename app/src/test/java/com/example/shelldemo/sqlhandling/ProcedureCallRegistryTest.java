@@ -0,0 +1,32 @@
+package com.example.shelldemo.sqlhandling;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.shelldemo.exception.DatabaseException;
+import com.example.shelldemo.exception.DatabaseException.ErrorType;
+
+@DisplayName("Procedure Call Registry Tests")
+class ProcedureCallRegistryTest {
+
+    @Test
+    @DisplayName("Should resolve names and definitions to call strings once")
+    void testCallStrings() {
+        ProcedureCallRegistry registry = new ProcedureCallRegistry("{ ? = call %s(%s) }");
+
+        String call = registry.callString("hr.payroll.close_month", 2);
+        assertEquals("{ ? = call hr.payroll.close_month(?,?) }", call);
+        assertSame(call, registry.callString("hr.payroll.close_month", 2));
+        assertEquals("{ ? = call add_job() }",
+            registry.callString("CREATE OR REPLACE PROCEDURE add_job(p_id IN NUMBER)", 0));
+
+        // Batches cannot return a value, so they use the plain call escape
+        assertEquals("{ call close_month(?) }", registry.batchCallString("close_month", 1));
+
+        DatabaseException e = assertThrows(DatabaseException.class,
+            () -> registry.callString("close_month; DROP TABLE jobs", 0));
+        assertEquals(ErrorType.PARSE_PROCEDURE, e.getErrorType());
+    }
+}
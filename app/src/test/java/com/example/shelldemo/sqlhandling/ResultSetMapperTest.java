@@ -0,0 +1,67 @@
+package com.example.shelldemo.sqlhandling;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.shelldemo.testutil.ResultSets;
+
+@DisplayName("Result Set Mapper Tests")
+class ResultSetMapperTest {
+
+    private final AtomicInteger metaDataCalls = new AtomicInteger();
+
+    /**
+     * Builds a result set over fixed rows whose columns are ID (INTEGER), NAME (VARCHAR) and ID again.
+     */
+    private ResultSet resultSet(Object[][] rows) {
+        return ResultSets.of(new String[] {"ID", "NAME", "ID"},
+            new int[] {Types.INTEGER, Types.VARCHAR, Types.INTEGER}, rows, metaDataCalls);
+    }
+
+    @Test
+    @DisplayName("Should read metadata once per result set")
+    void testMetadataReadOnce() throws SQLException {
+        ResultSet rs = resultSet(new Object[][] {{1, "a", 10}, {2, "b", 20}, {3, "c", 30}});
+
+        List<Map<String, Object>> rows = new ResultSetProcessor().processResultSet(rs);
+
+        assertEquals(3, rows.size());
+        assertEquals(1, metaDataCalls.get());
+    }
+
+    @Test
+    @DisplayName("Should map rows like an insertion-ordered map")
+    void testRowMapSemantics() throws SQLException {
+        ResultSet rs = resultSet(new Object[][] {{1, null, 10}, {null, "b", 20}});
+        ResultSetMapper mapper = new ResultSetMapper();
+
+        assertTrue(rs.next());
+        Map<String, Object> first = mapper.mapRow(rs);
+        assertTrue(rs.next());
+        Map<String, Object> second = mapper.mapRow(rs);
+
+        Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("ID", 1);
+        expected.put("NAME", null);
+        expected.put("ID", 10);
+        assertEquals(expected, first);
+        assertEquals(List.of("ID", "NAME"), List.copyOf(first.keySet()));
+        assertEquals(expected.hashCode(), first.hashCode());
+        assertTrue(first.containsKey("NAME"));
+        assertNull(first.get("NAME"));
+        assertEquals("b", second.get("NAME"));
+        assertEquals(20, second.get("ID"));
+        assertEquals(1, metaDataCalls.get());
+        assertThrows(UnsupportedOperationException.class, () -> first.put("ID", 2));
+    }
+}
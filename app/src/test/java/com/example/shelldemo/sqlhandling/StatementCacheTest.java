@@ -0,0 +1,40 @@
+package com.example.shelldemo.sqlhandling;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.shelldemo.testutil.RecordingConnection;
+
+@DisplayName("Statement Cache Tests")
+class StatementCacheTest {
+
+    @Test
+    @DisplayName("Should reuse statements by SQL text and close the least recently used one when full")
+    void testLru() throws SQLException {
+        RecordingConnection connection = new RecordingConnection();
+        PreparedStatement a;
+        PreparedStatement b;
+        PreparedStatement c;
+        try (StatementCache cache = new StatementCache(connection.connection(), 2)) {
+            a = cache.prepare("A");
+            b = cache.prepare("B");
+            assertSame(a, cache.prepare("A"));
+            c = cache.prepare("C");
+            cache.prepare("A");
+
+            assertEquals(List.of("prepare A", "prepare B", "prepare C"), connection.calls());
+            assertTrue(b.isClosed());
+            assertFalse(a.isClosed() || c.isClosed());
+            assertEquals(2, cache.getHitCount());
+            assertEquals(3, cache.getMissCount());
+            assertEquals(1, cache.getEvictionCount());
+        }
+        assertTrue(a.isClosed() && c.isClosed());
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.shelldemo.sqlhandling;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.shelldemo.exception.DatabaseException;
+import com.example.shelldemo.exception.DatabaseException.ErrorType;
+import com.example.shelldemo.parser.SqlStatementReader;
+
+@DisplayName("Statement Pipeline Tests")
+class StatementPipelineTest {
+
+    private static SqlStatementReader readerFor(int statementCount) {
+        StringBuilder script = new StringBuilder();
+        for (int i = 1; i <= statementCount; i++) {
+            script.append("INSERT INTO t VALUES (").append(i).append(");\n");
+        }
+        return new SqlStatementReader(new StringReader(script.toString()));
+    }
+
+    @Test
+    @DisplayName("Should deliver statements in script order through a small queue")
+    void testOrderPreserved() throws SQLException {
+        List<String> executed = new ArrayList<>();
+        int count = new StatementPipeline(2).run(readerFor(500), statement -> executed.add(statement.getText()));
+
+        assertEquals(500, count);
+        assertEquals(500, executed.size());
+        for (int i = 0; i < executed.size(); i++) {
+            assertEquals("INSERT INTO t VALUES (" + (i + 1) + ");", executed.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Should fail with the parse error when the script cannot be read to the end")
+    void testReaderFailurePropagates() {
+        StringBuilder script = new StringBuilder();
+        for (int i = 1; i <= 1000; i++) {
+            script.append("INSERT INTO t VALUES (").append(i).append(");\n");
+        }
+        // The script breaks off partway, as when a file on a network share goes away
+        Reader failing = new FilterReader(new StringReader(script.toString())) {
+            private int remaining = 2000;
+
+            @Override
+            public int read(char[] buffer, int offset, int length) throws IOException {
+                if (remaining <= 0) {
+                    throw new IOException("read failed");
+                }
+                int read = super.read(buffer, offset, Math.min(length, remaining));
+                remaining -= read;
+                return read;
+            }
+        };
+        List<String> executed = new ArrayList<>();
+
+        DatabaseException failure = assertTimeoutPreemptively(Duration.ofSeconds(10), () -> assertThrows(
+            DatabaseException.class,
+            () -> new StatementPipeline(2).run(new SqlStatementReader(failing), statement -> executed.add(statement.getText()))));
+
+        assertEquals(ErrorType.PARSE_SQL, failure.getErrorType());
+        assertInstanceOf(IOException.class, failure.getCause());
+        assertTrue(!executed.isEmpty() && executed.size() < 1000);
+        for (int i = 0; i < executed.size(); i++) {
+            assertEquals("INSERT INTO t VALUES (" + (i + 1) + ");", executed.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Should stop the parser when execution fails")
+    void testConsumerFailureStopsPipeline() {
+        List<String> executed = new ArrayList<>();
+        StatementPipeline pipeline = new StatementPipeline(4);
+
+        SQLException failure = assertThrows(SQLException.class, () -> pipeline.run(readerFor(10_000), statement -> {
+            executed.add(statement.getText());
+            if (executed.size() == 3) {
+                throw new SQLException("boom");
+            }
+        }));
+
+        assertEquals("boom", failure.getMessage());
+        assertEquals(3, executed.size());
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.shelldemo.testutil;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A fake {@link Connection} for unit tests that records the calls made on it and on the
+ * statements it creates.
+ *
+ * <p>Calls are appended to a log, which several connections may share, as
+ * {@code prepare <sql>}, {@code autoCommit <value>}, {@code commit} and {@code rollback}
+ * on the connection and {@code bind <value>}, {@code addBatch <sql>},
+ * {@code executeBatch <statements>}, {@code execute <sql>} and {@code query [<sql>]} on
+ * its statements. Closing is not logged but shows in {@code isClosed()}. Batches count
+ * one row per statement and queries return the result set given by {@link #returning}.
+ * Any other method throws {@link UnsupportedOperationException}.</p>
+ */
+public final class RecordingConnection {
+    private static final ClassLoader LOADER = RecordingConnection.class.getClassLoader();
+
+    private final String prefix;
+    private final List<String> calls;
+    private final Connection connection;
+    private Function<String, ResultSet> results = sql -> {
+        throw new UnsupportedOperationException("executeQuery " + sql);
+    };
+    private boolean valid = true;
+    private boolean closed;
+    private boolean autoCommit = true;
+
+    public RecordingConnection() {
+        this(null, new ArrayList<>());
+    }
+
+    /**
+     * @param name prefixed to every call this connection logs, or {@code null} for none
+     * @param calls the log to append to
+     */
+    public RecordingConnection(String name, List<String> calls) {
+        this.prefix = name == null ? "" : name + " ";
+        this.calls = calls;
+        this.connection = (Connection) Proxy.newProxyInstance(LOADER, new Class<?>[] {Connection.class},
+            (proxy, method, args) -> onConnection(method, args));
+    }
+
+    /**
+     * Answers queries with the result set for their SQL text.
+     */
+    public RecordingConnection returning(Function<String, ResultSet> results) {
+        this.results = results;
+        return this;
+    }
+
+    public Connection connection() {
+        return connection;
+    }
+
+    public List<String> calls() {
+        return calls;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public boolean getAutoCommit() {
+        return autoCommit;
+    }
+
+    /**
+     * Fails validation from now on, as a connection the server has dropped.
+     */
+    public void invalidate() {
+        valid = false;
+    }
+
+    private Object onConnection(Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "isValid" -> valid;
+            case "isClosed" -> closed;
+            case "close" -> {
+                closed = true;
+                yield null;
+            }
+            case "getAutoCommit" -> autoCommit;
+            case "setAutoCommit" -> {
+                autoCommit = (Boolean) args[0];
+                yield record("autoCommit " + args[0]);
+            }
+            case "commit", "rollback" -> record(method.getName());
+            case "prepareStatement" -> {
+                record("prepare " + args[0]);
+                yield statement(PreparedStatement.class, (String) args[0]);
+            }
+            case "createStatement" -> statement(Statement.class, null);
+            default -> throw new UnsupportedOperationException(method.getName());
+        };
+    }
+
+    private Statement statement(Class<? extends Statement> type, String sql) {
+        int[] pending = {0};
+        boolean[] statementClosed = {false};
+        return (Statement) Proxy.newProxyInstance(LOADER, new Class<?>[] {type}, (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length == 2 && args[0] instanceof Integer) {
+                return record("bind " + (name.equals("setNull") ? null : args[1]));
+            }
+            return switch (name) {
+                case "setFetchSize", "clearParameters" -> null;
+                case "isClosed" -> statementClosed[0];
+                case "close" -> {
+                    statementClosed[0] = true;
+                    yield null;
+                }
+                case "addBatch" -> {
+                    pending[0]++;
+                    yield args == null ? null : record("addBatch " + args[0]);
+                }
+                case "executeBatch" -> {
+                    record("executeBatch " + pending[0]);
+                    int[] counts = new int[pending[0]];
+                    Arrays.fill(counts, 1);
+                    pending[0] = 0;
+                    yield counts;
+                }
+                case "execute" -> {
+                    record("execute " + args[0]);
+                    yield false;
+                }
+                case "executeQuery" -> {
+                    record(args == null ? "query" : "query " + args[0]);
+                    yield results.apply(args == null ? sql : (String) args[0]);
+                }
+                default -> throw new UnsupportedOperationException(name);
+            };
+        });
+    }
+
+    private Object record(String call) {
+        calls.add(prefix + call);
+        return null;
+    }
+}
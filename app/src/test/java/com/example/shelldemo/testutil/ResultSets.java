@@ -0,0 +1,69 @@
+package com.example.shelldemo.testutil;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Builds forward-only {@link ResultSet} fakes over fixed rows for unit tests.
+ *
+ * <p>Getters return the stored value of the current row; primitive getters return
+ * zero or false for {@code null} and {@code wasNull()} reports the last value read.
+ * Any other method throws {@link UnsupportedOperationException}.</p>
+ */
+public final class ResultSets {
+
+    private ResultSets() {
+        // Utility class
+    }
+
+    public static ResultSet of(String[] labels, int[] types, Object[][] rows) {
+        return of(labels, types, rows, new AtomicInteger());
+    }
+
+    /**
+     * @param metaDataCalls incremented on every {@code getMetaData()} call
+     */
+    public static ResultSet of(String[] labels, int[] types, Object[][] rows, AtomicInteger metaDataCalls) {
+        ClassLoader loader = ResultSets.class.getClassLoader();
+        ResultSetMetaData metaData = (ResultSetMetaData) Proxy.newProxyInstance(loader,
+            new Class<?>[] {ResultSetMetaData.class}, (proxy, method, args) -> switch (method.getName()) {
+                case "getColumnCount" -> labels.length;
+                case "getColumnLabel", "getColumnName" -> labels[(Integer) args[0] - 1];
+                case "getColumnType" -> types[(Integer) args[0] - 1];
+                case "isSigned" -> true;
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+        int[] row = {0};
+        Object[] lastValue = {null};
+        return (ResultSet) Proxy.newProxyInstance(loader,
+            new Class<?>[] {ResultSet.class}, (proxy, method, args) -> {
+                if (method.getName().equals("next")) {
+                    return ++row[0] <= rows.length;
+                }
+                if (method.getName().equals("getMetaData")) {
+                    metaDataCalls.incrementAndGet();
+                    return metaData;
+                }
+                if (method.getName().equals("close")) {
+                    return null;
+                }
+                if (method.getName().equals("wasNull")) {
+                    return lastValue[0] == null;
+                }
+                if (!method.getName().startsWith("get") || args == null || !(args[0] instanceof Integer column)) {
+                    throw new UnsupportedOperationException(method.getName());
+                }
+                Object value = rows[row[0] - 1][column - 1];
+                lastValue[0] = value;
+                return switch (method.getName()) {
+                    case "getInt" -> value == null ? 0 : ((Number) value).intValue();
+                    case "getLong" -> value == null ? 0L : ((Number) value).longValue();
+                    case "getDouble" -> value == null ? 0.0 : ((Number) value).doubleValue();
+                    case "getBoolean" -> value != null && (Boolean) value;
+                    default -> value;
+                };
+            });
+    }
+}
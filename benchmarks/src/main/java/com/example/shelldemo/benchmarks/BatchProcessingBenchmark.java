@@ -0,0 +1,71 @@
+package com.example.shelldemo.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.example.shelldemo.exception.BatchProcessingException;
+import com.example.shelldemo.sqlhandling.BatchProcessor;
+import com.example.shelldemo.sqlhandling.ConcurrentBatchProcessor;
+
+/**
+ * Item throughput of the sequential and concurrent batch processors.
+ *
+ * <p>Scores are items per second. {@code handlerWork} is the simulated cost of
+ * handling one item, in {@link Blackhole#consumeCPU(long)} tokens.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class BatchProcessingBenchmark {
+    private static final int ITEMS = 100_000;
+
+    @Param({"100", "1000"})
+    public int batchSize;
+
+    @Param({"0", "100"})
+    public long handlerWork;
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void batchProcessor(Blackhole blackhole) throws IOException {
+        BatchProcessor<Integer> processor = new BatchProcessor<>(batchSize, batch -> handle(batch.size(), blackhole));
+        for (int i = 0; i < ITEMS; i++) {
+            processor.add(i);
+        }
+        processor.flush();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void concurrentBatchProcessor(Blackhole blackhole) throws BatchProcessingException {
+        try (ConcurrentBatchProcessor<Integer> processor =
+                new ConcurrentBatchProcessor<>(batchSize, batch -> handle(batch.size(), blackhole))) {
+            for (int i = 0; i < ITEMS; i++) {
+                processor.add(i);
+            }
+        }
+    }
+
+    private void handle(int items, Blackhole blackhole) {
+        if (handlerWork > 0) {
+            Blackhole.consumeCPU(handlerWork * items);
+        }
+        blackhole.consume(items);
+    }
+}
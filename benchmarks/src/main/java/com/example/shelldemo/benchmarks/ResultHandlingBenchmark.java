@@ -0,0 +1,88 @@
+package com.example.shelldemo.benchmarks;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.example.shelldemo.sqlhandling.CompiledRowMapper;
+import com.example.shelldemo.sqlhandling.ResultSetMapper;
+import com.example.shelldemo.sqlhandling.ResultSetProcessor;
+import com.example.shelldemo.sqlhandling.ResultTableFormatter;
+
+/**
+ * Row mapping and console formatting of query results.
+ *
+ * <p>Scores are result sets per second; divide by {@code rows} for rows per second.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ResultHandlingBenchmark {
+
+    @Param({"1000"})
+    public int rows;
+
+    @Param({"5", "50"})
+    public int columns;
+
+    private ResultSet resultSet;
+    private List<Map<String, Object>> mappedRows;
+    private final ResultSetMapper mapper = new ResultSetMapper();
+    private final ResultSetProcessor processor = new ResultSetProcessor();
+    private final ResultTableFormatter formatter = new ResultTableFormatter();
+
+    @Setup
+    public void setUp() throws SQLException {
+        resultSet = SyntheticResultSet.create(rows, columns);
+        mappedRows = processor.processResultSet(resultSet);
+    }
+
+    @Setup(Level.Invocation)
+    public void rewind() {
+        SyntheticResultSet.rewind(resultSet);
+    }
+
+    @Benchmark
+    public void mapRow(Blackhole blackhole) throws SQLException {
+        while (resultSet.next()) {
+            blackhole.consume(mapper.mapRow(resultSet));
+        }
+    }
+
+    @Benchmark
+    public void compiledRowMapper(Blackhole blackhole) throws SQLException {
+        CompiledRowMapper rowMapper = CompiledRowMapper.compile(resultSet);
+        while (resultSet.next()) {
+            blackhole.consume(rowMapper.mapRow(resultSet));
+        }
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> processResultSet() throws SQLException {
+        return processor.processResultSet(resultSet);
+    }
+
+    @Benchmark
+    public String printQueryResults() {
+        return formatter.format(mappedRows);
+    }
+}
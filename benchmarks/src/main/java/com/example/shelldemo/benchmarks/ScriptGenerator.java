@@ -0,0 +1,68 @@
+package com.example.shelldemo.benchmarks;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Builds synthetic SQL scripts with a realistic mix of DDL, DML, comments and PL/SQL.
+ */
+final class ScriptGenerator {
+    private static final int WRITE_CHUNK = 64 * 1024;
+
+    private ScriptGenerator() {
+        throw new AssertionError("Utility class - do not instantiate");
+    }
+
+    /**
+     * Generates a script of at least {@code targetChars} characters.
+     */
+    static String generate(int targetChars) {
+        StringBuilder script = new StringBuilder(targetChars + 1024);
+        for (int i = 0; script.length() < targetChars; i++) {
+            appendStatement(script, i);
+        }
+        return script.toString();
+    }
+
+    /**
+     * Writes a script of at least {@code targetBytes} bytes without holding it in memory.
+     */
+    static void write(Path file, long targetBytes) throws IOException {
+        StringBuilder chunk = new StringBuilder(WRITE_CHUNK + 1024);
+        long written = 0;
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; written < targetBytes; i++) {
+                appendStatement(chunk, i);
+                if (chunk.length() >= WRITE_CHUNK) {
+                    writer.append(chunk);
+                    written += chunk.length();
+                    chunk.setLength(0);
+                }
+            }
+            writer.append(chunk);
+        }
+    }
+
+    private static void appendStatement(StringBuilder script, int i) {
+        switch (i % 8) {
+            case 0 -> script.append("-- Batch ").append(i).append('\n')
+                .append("CREATE TABLE bench_").append(i).append(" (\n")
+                .append("    id NUMBER PRIMARY KEY, /* surrogate key */\n")
+                .append("    name VARCHAR2(100),\n")
+                .append("    note VARCHAR2(400)\n")
+                .append(");\n\n");
+            case 7 -> script.append("BEGIN\n")
+                .append("    FOR r IN (SELECT id FROM bench_").append(i - 7).append(") LOOP\n")
+                .append("        IF MOD(r.id, 2) = 0 THEN\n")
+                .append("            UPDATE bench_").append(i - 7).append(" SET note = 'even; ok' WHERE id = r.id;\n")
+                .append("        END IF;\n")
+                .append("    END LOOP;\n")
+                .append("END;\n/\n\n");
+            default -> script.append("INSERT INTO bench_").append(i - i % 8).append(" VALUES (")
+                .append(i).append(", 'name ").append(i).append("', 'it''s -- not a comment /* nor this */');\n");
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.shelldemo.benchmarks;
+
+import java.io.CharArrayReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.shelldemo.parser.SqlLexer;
+import com.example.shelldemo.parser.SqlScriptParser;
+import com.example.shelldemo.parser.SqlStatement;
+import com.example.shelldemo.parser.SqlStatementReader;
+
+/**
+ * Script parsing throughput.
+ *
+ * <p>The {@code megabytes} secondary result is the parse rate in MB/s; the primary
+ * ops/s score is whole scripts per second. {@code parseSqlFile} materializes every
+ * statement, so its sizes stop at 64 MB; {@code streamSqlFile} runs in bounded
+ * memory and goes up to 1 GB.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SqlParserBenchmark {
+
+    /**
+     * Accumulates the megabytes parsed; JMH reports it as a rate alongside the score.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Throughput {
+        public double megabytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            megabytes = 0;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ScriptText {
+        @Param({"1", "1024", "16384"})
+        public int scriptKb;
+
+        char[] chars;
+        double megabytes;
+
+        @Setup
+        public void setUp() {
+            chars = ScriptGenerator.generate(scriptKb * 1024).toCharArray();
+            megabytes = chars.length / (1024.0 * 1024.0);
+        }
+    }
+
+    /**
+     * A generated script on disk; removed when the trial ends.
+     */
+    public abstract static class ScriptFile {
+        File file;
+        double megabytes;
+
+        void create(long kilobytes) throws IOException {
+            Path path = Files.createTempFile("bench-script-", ".sql");
+            ScriptGenerator.write(path, kilobytes * 1024);
+            file = path.toFile();
+            megabytes = Files.size(path) / (1024.0 * 1024.0);
+        }
+
+        @TearDown
+        public void delete() throws IOException {
+            Files.deleteIfExists(file.toPath());
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ParsedFile extends ScriptFile {
+        @Param({"1", "1024", "65536"})
+        public long fileKb;
+
+        @Setup
+        public void setUp() throws IOException {
+            create(fileKb);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class StreamedFile extends ScriptFile {
+        @Param({"1", "1024", "65536", "1048576"})
+        public long streamKb;
+
+        @Setup
+        public void setUp() throws IOException {
+            create(streamKb);
+        }
+    }
+
+    @Benchmark
+    public long lexer(ScriptText script, Throughput throughput) {
+        long[] statements = new long[1];
+        SqlLexer lexer = new SqlLexer((text, line, start, end, plsql) -> statements[0]++);
+        lexer.feed(script.chars, 0, script.chars.length);
+        lexer.finish();
+        throughput.megabytes += script.megabytes;
+        return statements[0];
+    }
+
+    @Benchmark
+    public long reader(ScriptText script, Throughput throughput) throws IOException {
+        long statements = 0;
+        try (SqlStatementReader reader = new SqlStatementReader(new CharArrayReader(script.chars))) {
+            while (reader.hasNext()) {
+                reader.next();
+                statements++;
+            }
+        }
+        throughput.megabytes += script.megabytes;
+        return statements;
+    }
+
+    @Benchmark
+    public int parseSqlFile(ParsedFile script, Throughput throughput) {
+        int statements = SqlScriptParser.parseSqlFile(script.file).size();
+        throughput.megabytes += script.megabytes;
+        return statements;
+    }
+
+    @Benchmark
+    public long streamSqlFile(StreamedFile script, Throughput throughput) {
+        long statements;
+        try (Stream<SqlStatement> stream = SqlScriptParser.streamSqlFile(script.file)) {
+            statements = stream.count();
+        }
+        throughput.megabytes += script.megabytes;
+        return statements;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.shelldemo.benchmarks;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Timestamp;
+import java.sql.Types;
+
+/**
+ * In-memory {@link ResultSet} over generated rows, so mapping code can be measured
+ * without a database. Only the cursor, value and metadata accessors used by the
+ * result handling code are implemented.
+ */
+final class SyntheticResultSet implements InvocationHandler {
+    private final int rowCount;
+    private final int columnCount;
+    private final Object[][] values;
+    private final ResultSetMetaData metaData;
+    private int row;
+    private boolean lastWasNull;
+
+    private SyntheticResultSet(int rowCount, int columnCount) {
+        this.rowCount = rowCount;
+        this.columnCount = columnCount;
+        this.values = new Object[rowCount][columnCount];
+        for (int r = 0; r < rowCount; r++) {
+            for (int c = 0; c < columnCount; c++) {
+                values[r][c] = valueFor(r, c);
+            }
+        }
+        this.metaData = (ResultSetMetaData) Proxy.newProxyInstance(
+            ResultSetMetaData.class.getClassLoader(), new Class<?>[] {ResultSetMetaData.class}, this::metaData);
+    }
+
+    /**
+     * Creates a result set positioned before the first of {@code rows} rows.
+     */
+    static ResultSet create(int rows, int columns) {
+        return (ResultSet) Proxy.newProxyInstance(
+            ResultSet.class.getClassLoader(), new Class<?>[] {ResultSet.class}, new SyntheticResultSet(rows, columns));
+    }
+
+    /**
+     * Rewinds a result set created by {@link #create(int, int)} so it can be read again.
+     */
+    static void rewind(ResultSet rs) {
+        ((SyntheticResultSet) Proxy.getInvocationHandler(rs)).row = 0;
+    }
+
+    private static Object valueFor(int row, int column) {
+        return switch (column % 4) {
+            case 0 -> row;
+            case 1 -> "value " + row + "/" + column;
+            case 2 -> BigDecimal.valueOf(row * 100L + column, 2);
+            default -> row % 10 == 0 ? null : new Timestamp(1_700_000_000_000L + row * 1000L);
+        };
+    }
+
+    private static int typeFor(int column) {
+        return switch (column % 4) {
+            case 0 -> Types.INTEGER;
+            case 1 -> Types.VARCHAR;
+            case 2 -> Types.NUMERIC;
+            default -> Types.TIMESTAMP;
+        };
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "next" -> ++row <= rowCount;
+            case "getObject", "getString", "getInt", "getLong", "getBigDecimal", "getTimestamp" ->
+                value(method.getName(), (Integer) args[0]);
+            case "wasNull" -> lastWasNull;
+            case "getMetaData" -> metaData;
+            case "findColumn" -> findColumn((String) args[0]);
+            case "isClosed" -> false;
+            case "getFetchSize" -> 0;
+            case "close", "setFetchSize" -> null;
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            case "toString" -> "SyntheticResultSet[" + rowCount + "x" + columnCount + "]";
+            default -> throw new UnsupportedOperationException(method.getName());
+        };
+    }
+
+    private Object value(String accessor, int column) {
+        Object value = values[row - 1][column - 1];
+        lastWasNull = value == null;
+        return switch (accessor) {
+            case "getString" -> value == null ? null : value.toString();
+            case "getInt" -> value instanceof Number number ? number.intValue() : 0;
+            case "getLong" -> value instanceof Number number ? number.longValue() : 0L;
+            default -> value;
+        };
+    }
+
+    private int findColumn(String label) {
+        return Integer.parseInt(label.substring("COL_".length()));
+    }
+
+    private Object metaData(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "getColumnCount" -> columnCount;
+            case "getColumnLabel", "getColumnName" -> "COL_" + args[0];
+            case "getColumnType" -> typeFor((Integer) args[0] - 1);
+            case "getColumnTypeName" -> switch (typeFor((Integer) args[0] - 1)) {
+                case Types.INTEGER -> "INTEGER";
+                case Types.VARCHAR -> "VARCHAR";
+                case Types.NUMERIC -> "NUMERIC";
+                default -> "TIMESTAMP";
+            };
+            case "isNullable" -> ResultSetMetaData.columnNullable;
+            case "isSigned" -> true;
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            case "toString" -> "SyntheticResultSetMetaData[" + columnCount + "]";
+            default -> throw new UnsupportedOperationException(method.getName());
+        };
+    }
+}